@@ -13,7 +13,12 @@ import me.filoghost.holographicdisplays.api.placeholder.GlobalPlaceholderReplace
 import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholder;
 import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholderFactory;
 import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholderReplaceFunction;
+import me.filoghost.holographicdisplays.api.placeholder.PartitionKeyFunction;
+import me.filoghost.holographicdisplays.api.placeholder.PartitionedPlaceholderReplaceFunction;
 import me.filoghost.holographicdisplays.api.placeholder.Placeholder;
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderInvalidator;
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderRefreshMode;
+import me.filoghost.holographicdisplays.api.profiling.TickProfile;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
@@ -63,6 +68,20 @@ public interface HolographicDisplaysAPI {
         return HolographicDisplaysAPIProvider.getImplementation().getHolographicDisplaysAPI(plugin);
     }
 
+    /**
+     * Returns a snapshot of the time spent by Holographic Displays in the most recent ticks, including the time spent
+     * by the placeholders of all plugins. Unlike the other methods, the returned data is not limited to a specific
+     * plugin.
+     * <p>
+     * This method must be called from the main thread.
+     *
+     * @return a snapshot of the tick timings
+     * @since 1
+     */
+    static @NotNull TickProfile getTickProfile() {
+        return HolographicDisplaysAPIProvider.getImplementation().getTickProfile();
+    }
+
     /**
      * Creates a hologram.
      *
@@ -115,6 +134,23 @@ public interface HolographicDisplaysAPI {
             int refreshIntervalTicks,
             @NotNull GlobalPlaceholderReplaceFunction replaceFunction);
 
+    /**
+     * Same as {@link #registerGlobalPlaceholder(String, int, GlobalPlaceholderReplaceFunction)}, but also specifies on
+     * which thread the replace function is invoked.
+     *
+     * @param identifier the case-insensitive identifier of the placeholder
+     * @param refreshIntervalTicks the minimum interval in ticks between invocations of the replace function
+     *         (when the placeholder is in use), see {@link Placeholder#getRefreshIntervalTicks()}
+     * @param replaceFunction the callback function to provide the replacement text to display
+     * @param refreshMode the thread on which the replace function is invoked
+     * @since 1
+     */
+    void registerGlobalPlaceholder(
+            @NotNull String identifier,
+            int refreshIntervalTicks,
+            @NotNull GlobalPlaceholderReplaceFunction replaceFunction,
+            @NotNull PlaceholderRefreshMode refreshMode);
+
     /**
      * Registers a new global placeholder. Any previously registered element (global or individual) with the same
      * identifier is overwritten. See {@link GlobalPlaceholder} to know more about global placeholders.
@@ -125,6 +161,20 @@ public interface HolographicDisplaysAPI {
      */
     void registerGlobalPlaceholder(@NotNull String identifier, @NotNull GlobalPlaceholder placeholder);
 
+    /**
+     * Same as {@link #registerGlobalPlaceholder(String, GlobalPlaceholder)}, but also specifies on which thread the
+     * replacement callback is invoked.
+     *
+     * @param identifier the case-insensitive identifier of the placeholder
+     * @param placeholder the placeholder to register
+     * @param refreshMode the thread on which the replacement callback is invoked
+     * @since 1
+     */
+    void registerGlobalPlaceholder(
+            @NotNull String identifier,
+            @NotNull GlobalPlaceholder placeholder,
+            @NotNull PlaceholderRefreshMode refreshMode);
+
     /**
      * Registers a new global placeholder factory. Any previously registered element (global or individual) with the
      * same identifier is overwritten. See {@link GlobalPlaceholder} to know more about global placeholders.
@@ -142,6 +192,38 @@ public interface HolographicDisplaysAPI {
             @NotNull String identifier,
             @NotNull GlobalPlaceholderFactory placeholderFactory);
 
+    /**
+     * Same as {@link #registerGlobalPlaceholderFactory(String, GlobalPlaceholderFactory)}, but also specifies on which
+     * thread the replacement callback of the created placeholders is invoked. The factory itself is always invoked on
+     * the main thread.
+     *
+     * @param identifier the case-insensitive identifier of the placeholder factory
+     * @param placeholderFactory the placeholder factory to register
+     * @param refreshMode the thread on which the replacement callback of the created placeholders is invoked
+     * @since 1
+     */
+    void registerGlobalPlaceholderFactory(
+            @NotNull String identifier,
+            @NotNull GlobalPlaceholderFactory placeholderFactory,
+            @NotNull PlaceholderRefreshMode refreshMode);
+
+    /**
+     * Registers a new global push placeholder, which is refreshed only when invalidated through the returned handle
+     * instead of at a fixed refresh interval. Any previously registered element (global or individual) with the same
+     * identifier is overwritten. See {@link PlaceholderInvalidator} to know more about push placeholders.
+     * <p>
+     * Push placeholders should be used when the plugin knows exactly when the replacement changes (for example after
+     * an event), to avoid invoking the replace function at a short interval when nothing changed.
+     *
+     * @param identifier the case-insensitive identifier of the placeholder
+     * @param replaceFunction the callback function to provide the replacement text to display
+     * @return the handle to invalidate the replacement when it changes
+     * @since 1
+     */
+    @NotNull PlaceholderInvalidator registerGlobalPushPlaceholder(
+            @NotNull String identifier,
+            @NotNull GlobalPlaceholderReplaceFunction replaceFunction);
+
     /**
      * Registers a new individual placeholder. Any previously registered element (global or individual) with the
      * same identifier is overwritten. See {@link IndividualPlaceholder} to know more about individual placeholders.
@@ -161,6 +243,23 @@ public interface HolographicDisplaysAPI {
             int refreshIntervalTicks,
             @NotNull IndividualPlaceholderReplaceFunction replaceFunction);
 
+    /**
+     * Same as {@link #registerIndividualPlaceholder(String, int, IndividualPlaceholderReplaceFunction)}, but also
+     * specifies on which thread the replace function is invoked.
+     *
+     * @param identifier the case-insensitive identifier of the placeholder
+     * @param refreshIntervalTicks the minimum interval in ticks between invocations of the replace function for
+     *         each player (when the placeholder is in use), see {@link Placeholder#getRefreshIntervalTicks()}
+     * @param replaceFunction the callback function to provide the replacement text to display
+     * @param refreshMode the thread on which the replace function is invoked
+     * @since 1
+     */
+    void registerIndividualPlaceholder(
+            @NotNull String identifier,
+            int refreshIntervalTicks,
+            @NotNull IndividualPlaceholderReplaceFunction replaceFunction,
+            @NotNull PlaceholderRefreshMode refreshMode);
+
     /**
      * Registers a new individual placeholder. Any previously registered element (global or individual) with the same
      * identifier is overwritten. See {@link IndividualPlaceholder} to know more about individual placeholders.
@@ -171,6 +270,20 @@ public interface HolographicDisplaysAPI {
      */
     void registerIndividualPlaceholder(@NotNull String identifier, @NotNull IndividualPlaceholder placeholder);
 
+    /**
+     * Same as {@link #registerIndividualPlaceholder(String, IndividualPlaceholder)}, but also specifies on which thread
+     * the replacement callback is invoked.
+     *
+     * @param identifier the case-insensitive identifier of the placeholder
+     * @param placeholder the placeholder to register
+     * @param refreshMode the thread on which the replacement callback is invoked
+     * @since 1
+     */
+    void registerIndividualPlaceholder(
+            @NotNull String identifier,
+            @NotNull IndividualPlaceholder placeholder,
+            @NotNull PlaceholderRefreshMode refreshMode);
+
     /**
      * Registers a new individual placeholder factory. Any previously registered element (global or individual) with the
      * same identifier is overwritten. See {@link IndividualPlaceholder} to know more about individual placeholders.
@@ -188,6 +301,82 @@ public interface HolographicDisplaysAPI {
             @NotNull String identifier,
             @NotNull IndividualPlaceholderFactory placeholderFactory);
 
+    /**
+     * Same as {@link #registerIndividualPlaceholderFactory(String, IndividualPlaceholderFactory)}, but also specifies
+     * on which thread the replacement callback of the created placeholders is invoked. The factory itself is always
+     * invoked on the main thread.
+     *
+     * @param identifier the case-insensitive identifier of the placeholder factory
+     * @param placeholderFactory the placeholder factory to register
+     * @param refreshMode the thread on which the replacement callback of the created placeholders is invoked
+     * @since 1
+     */
+    void registerIndividualPlaceholderFactory(
+            @NotNull String identifier,
+            @NotNull IndividualPlaceholderFactory placeholderFactory,
+            @NotNull PlaceholderRefreshMode refreshMode);
+
+    /**
+     * Registers a new individual push placeholder, which is refreshed only when invalidated through the returned handle
+     * instead of at a fixed refresh interval. Any previously registered element (global or individual) with the same
+     * identifier is overwritten. See {@link PlaceholderInvalidator} to know more about push placeholders.
+     * <p>
+     * Push placeholders should be used when the plugin knows exactly when the replacement changes (for example after
+     * an event), to avoid invoking the replace function at a short interval when nothing changed.
+     *
+     * @param identifier the case-insensitive identifier of the placeholder
+     * @param replaceFunction the callback function to provide the replacement text to display
+     * @return the handle to invalidate the replacement when it changes, for all players or for a single player
+     * @since 1
+     */
+    @NotNull PlaceholderInvalidator registerIndividualPushPlaceholder(
+            @NotNull String identifier,
+            @NotNull IndividualPlaceholderReplaceFunction replaceFunction);
+
+    /**
+     * Registers a new partitioned placeholder, an individual placeholder whose replacement depends only on a partition
+     * key of the player (for example the locale, the group or the world). Any previously registered element (global or
+     * individual) with the same identifier is overwritten. See {@link PartitionKeyFunction} to know more about
+     * partitioned placeholders.
+     * <p>
+     * The replace function is invoked once for each distinct key instead of once for each player, which is much
+     * faster than an individual placeholder when many players share the same key.
+     *
+     * @param identifier the case-insensitive identifier of the placeholder
+     * @param refreshIntervalTicks the minimum interval in ticks between invocations of the replace function for
+     *         each partition key (when the placeholder is in use), see {@link Placeholder#getRefreshIntervalTicks()}
+     * @param keyFunction the callback function to provide the partition key of a player
+     * @param replaceFunction the callback function to provide the replacement text for a partition key
+     * @param <K> the type of the partition key
+     * @since 1
+     */
+    <K> void registerPartitionedPlaceholder(
+            @NotNull String identifier,
+            int refreshIntervalTicks,
+            @NotNull PartitionKeyFunction<K> keyFunction,
+            @NotNull PartitionedPlaceholderReplaceFunction<K> replaceFunction);
+
+    /**
+     * Same as {@link #registerPartitionedPlaceholder(String, int, PartitionKeyFunction,
+     * PartitionedPlaceholderReplaceFunction)}, but also specifies on which thread the replace function is invoked. The
+     * key function is always invoked on the main thread.
+     *
+     * @param identifier the case-insensitive identifier of the placeholder
+     * @param refreshIntervalTicks the minimum interval in ticks between invocations of the replace function for
+     *         each partition key (when the placeholder is in use), see {@link Placeholder#getRefreshIntervalTicks()}
+     * @param keyFunction the callback function to provide the partition key of a player
+     * @param replaceFunction the callback function to provide the replacement text for a partition key
+     * @param refreshMode the thread on which the replace function is invoked
+     * @param <K> the type of the partition key
+     * @since 1
+     */
+    <K> void registerPartitionedPlaceholder(
+            @NotNull String identifier,
+            int refreshIntervalTicks,
+            @NotNull PartitionKeyFunction<K> keyFunction,
+            @NotNull PartitionedPlaceholderReplaceFunction<K> replaceFunction,
+            @NotNull PlaceholderRefreshMode refreshMode);
+
     /**
      * Returns if a placeholder with a given identifier is registered.
      *
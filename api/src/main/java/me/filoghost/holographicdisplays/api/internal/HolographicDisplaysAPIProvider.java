@@ -7,6 +7,7 @@ package me.filoghost.holographicdisplays.api.internal;
 
 import me.filoghost.holographicdisplays.api.HolographicDisplaysAPI;
 import me.filoghost.holographicdisplays.api.Position;
+import me.filoghost.holographicdisplays.api.profiling.TickProfile;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.block.Block;
@@ -48,4 +49,6 @@ public abstract class HolographicDisplaysAPIProvider {
 
     public abstract Position getPosition(Block block);
 
+    public abstract TickProfile getTickProfile();
+
 }
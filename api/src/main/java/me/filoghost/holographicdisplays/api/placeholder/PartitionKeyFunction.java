@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.api.placeholder;
+
+import me.filoghost.holographicdisplays.api.HolographicDisplaysAPI;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The function that returns the partition key of a player for a partitioned placeholder, registered with
+ * {@link HolographicDisplaysAPI#registerPartitionedPlaceholder(String, int, PartitionKeyFunction,
+ * PartitionedPlaceholderReplaceFunction)}.
+ * <p>
+ * A partitioned placeholder is an individual placeholder whose replacement depends only on a key of the player (for
+ * example the locale, the group or the world), instead of the player itself. The replacement is computed once for
+ * each distinct key and shown to all the players with that key.
+ * <p>
+ * This function is invoked on the main thread when a player starts seeing the placeholder, when the replacement of the
+ * partition of the player is refreshed and when the player changes world, it should be fast and should not perform blocking
+ * operations. A change of the key is therefore noticed only with the following refresh. Keys are compared with
+ * {@link Object#equals(Object)}, null is a valid key.
+ *
+ * @param <K> the type of the partition key
+ * @since 1
+ */
+@FunctionalInterface
+public interface PartitionKeyFunction<K> {
+
+    /**
+     * Returns the partition key of the given player.
+     *
+     * @param player the player that will see the replacement
+     * @return the partition key of the player
+     * @since 1
+     */
+    @Nullable K getPartitionKey(@NotNull Player player);
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.api.placeholder;
+
+import me.filoghost.holographicdisplays.api.HolographicDisplaysAPI;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The function that provides the replacement of a partitioned placeholder for a given partition key, registered with
+ * {@link HolographicDisplaysAPI#registerPartitionedPlaceholder(String, int, PartitionKeyFunction,
+ * PartitionedPlaceholderReplaceFunction)}. See {@link PartitionKeyFunction} to know more about partitioned placeholders.
+ *
+ * @param <K> the type of the partition key
+ * @since 1
+ */
+@FunctionalInterface
+public interface PartitionedPlaceholderReplaceFunction<K> {
+
+    /**
+     * Callback for providing the replacement shown to all the players with the given partition key.
+     * <p>
+     * The same replacement is used for all the players with the given key, until the refresh interval elapses.
+     *
+     * @param partitionKey the partition key, as returned by the {@link PartitionKeyFunction}
+     * @param argument the optional placeholder argument, null if not specified
+     * @return the optional placeholder replacement, null to leave the placeholder unreplaced
+     * @since 1
+     */
+    @Nullable String getReplacement(@Nullable K partitionKey, @Nullable String argument);
+
+}
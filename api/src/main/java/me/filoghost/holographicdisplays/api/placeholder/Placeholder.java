@@ -54,4 +54,19 @@ public interface Placeholder {
      */
     int getRefreshIntervalTicks();
 
+    /**
+     * Returns the maximum interval in ticks between invocations of the replacement callback, to refresh less often
+     * the placeholders whose value rarely changes. While the replacement callback keeps returning the same value, the
+     * interval is doubled at each invocation, starting from {@link #getRefreshIntervalTicks()} up to this value. As
+     * soon as the value changes, the interval returns to {@link #getRefreshIntervalTicks()}.
+     * <p>
+     * By default it's the same as the refresh interval, which disables the adaptive refresh.
+     *
+     * @return the maximum refresh interval in ticks
+     * @since 1
+     */
+    default int getMaxRefreshIntervalTicks() {
+        return getRefreshIntervalTicks();
+    }
+
 }
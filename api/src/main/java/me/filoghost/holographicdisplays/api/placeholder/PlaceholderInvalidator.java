@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.api.placeholder;
+
+import me.filoghost.holographicdisplays.api.HolographicDisplaysAPI;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The handle to notify that the replacement of a push placeholder changed, returned when the placeholder is registered
+ * (for example with {@link HolographicDisplaysAPI#registerGlobalPushPlaceholder(String, GlobalPlaceholderReplaceFunction)}).
+ * <p>
+ * Push placeholders are not refreshed at a fixed interval: the replace function is invoked when the placeholder starts
+ * being displayed, and then only after it is invalidated. The new replacement is computed the next time the placeholder
+ * is displayed, multiple invalidations in the same tick cause a single refresh.
+ * <p>
+ * The methods of this interface can be invoked from any thread. The handle has no effect after the placeholder is
+ * unregistered or registered again.
+ *
+ * @since 1
+ */
+public interface PlaceholderInvalidator {
+
+    /**
+     * Invalidates the replacement of the placeholder for all the players and for all the arguments.
+     *
+     * @since 1
+     */
+    void invalidate();
+
+    /**
+     * Invalidates the replacement of the placeholder for a single player, for all the arguments. For global
+     * placeholders, the replacement is shown to all players and is invalidated for all of them.
+     *
+     * @param player the player whose replacement changed
+     * @since 1
+     */
+    void invalidate(@NotNull Player player);
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.api.placeholder;
+
+import me.filoghost.holographicdisplays.api.HolographicDisplaysAPI;
+
+/**
+ * The option to choose on which thread the replacement callback of a placeholder is invoked, specified when the
+ * placeholder is registered (for example with
+ * {@link HolographicDisplaysAPI#registerGlobalPlaceholder(String, GlobalPlaceholder, PlaceholderRefreshMode)}).
+ *
+ * @since 1
+ */
+public enum PlaceholderRefreshMode {
+
+    /**
+     * The replacement callback is invoked on the main server thread, while the holograms are updated. The new
+     * replacement is displayed immediately. This is the default mode.
+     *
+     * @since 1
+     */
+    MAIN_THREAD,
+
+    /**
+     * The replacement callback is invoked on a separate thread, so that a slow callback (for example querying a
+     * database) does not slow down the server. While a refresh is in progress the last computed replacement is
+     * displayed, and before the first refresh is completed the placeholder is displayed as an empty string.
+     * <p>
+     * <b>Warning</b>: the replacement callback must be thread-safe and must not use the parts of the Bukkit API which
+     * can only be accessed from the main thread.
+     *
+     * @since 1
+     */
+    ASYNC
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.api.profiling;
+
+/**
+ * The phases of the work done by Holographic Displays in each server tick, in the order they are executed. New phases
+ * may be added in future versions.
+ *
+ * @see TickProfile#getPhaseTimings(TickPhase)
+ * @since 1
+ */
+public enum TickPhase {
+
+    /**
+     * Removal of cached placeholders whose registration changed.
+     *
+     * @since 1
+     */
+    PLACEHOLDER_CLEANUP,
+
+    /**
+     * Replacement of the placeholders which are computed together in a single call, before the line tracking.
+     *
+     * @since 1
+     */
+    BATCHED_PLACEHOLDER_REFRESH,
+
+    /**
+     * Detection of the players who moved since the previous tick.
+     *
+     * @since 1
+     */
+    PLAYER_MOVEMENT,
+
+    /**
+     * Update of the hologram lines for nearby players, including placeholder replacement and packet creation.
+     *
+     * @since 1
+     */
+    LINE_TRACKING,
+
+    /**
+     * Sending of the packets created during the tick.
+     *
+     * @since 1
+     */
+    PACKET_FLUSH,
+
+    /**
+     * Removal of placeholders which are no longer displayed.
+     *
+     * @since 1
+     */
+    INACTIVE_PLACEHOLDER_CLEANUP,
+
+    /**
+     * Processing of the clicks on hologram lines.
+     *
+     * @since 1
+     */
+    CLICK_EVENTS
+
+}
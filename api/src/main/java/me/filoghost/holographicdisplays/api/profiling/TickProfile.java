@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.api.profiling;
+
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderRefreshMode;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Snapshot of the time spent by Holographic Displays in the most recent server ticks, useful to find out which part
+ * of the plugin (or which placeholder) is slowing down the server.
+ *
+ * @see me.filoghost.holographicdisplays.api.HolographicDisplaysAPI#getTickProfile()
+ * @since 1
+ */
+public interface TickProfile {
+
+    /**
+     * Returns the number of recent ticks used to compute the statistics, which is at most one minute of ticks.
+     *
+     * @return the number of sampled ticks
+     * @since 1
+     */
+    int getSampleTicks();
+
+    /**
+     * Returns the statistics about the total time spent in each tick.
+     *
+     * @return the total timings
+     * @since 1
+     */
+    @NotNull TimingStatistics getTotalTimings();
+
+    /**
+     * Returns the statistics about the time spent in a specific phase of each tick.
+     *
+     * @param phase the tick phase
+     * @return the timings of the phase
+     * @since 1
+     */
+    @NotNull TimingStatistics getPhaseTimings(@NotNull TickPhase phase);
+
+    /**
+     * Returns the statistics about the time spent computing placeholder replacements in each tick, grouped by the name
+     * of the plugin which registered the placeholders. This time is part of {@link TickPhase#LINE_TRACKING}.
+     * <p>
+     * Placeholders registered with {@link PlaceholderRefreshMode#ASYNC} are not included, since their replacements are
+     * computed on separate threads, outside the tick.
+     *
+     * @return an immutable map from plugin names to their placeholder timings
+     * @since 1
+     */
+    @NotNull Map<String, TimingStatistics> getPlaceholderTimingsByPlugin();
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.api.profiling;
+
+/**
+ * Statistics about the time spent on a task in each tick, computed from the most recent ticks (see
+ * {@link TickProfile#getSampleTicks()}). The values are in nanoseconds and are zero if no tick was recorded.
+ *
+ * @since 1
+ */
+public interface TimingStatistics {
+
+    /**
+     * Returns the average time spent in a tick.
+     *
+     * @return the average time in nanoseconds
+     * @since 1
+     */
+    long getAverageNanos();
+
+    /**
+     * Returns the 99th percentile of the time spent in a tick, that is the time which is exceeded only in 1% of the
+     * ticks. Useful to detect occasional spikes that the average would hide.
+     *
+     * @return the 99th percentile time in nanoseconds
+     * @since 1
+     */
+    long getPercentile99Nanos();
+
+    /**
+     * Returns the maximum time spent in a tick.
+     *
+     * @return the maximum time in nanoseconds
+     * @since 1
+     */
+    long getMaxNanos();
+
+}
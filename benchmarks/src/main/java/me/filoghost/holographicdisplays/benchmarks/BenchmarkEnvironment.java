@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.benchmarks;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/*
+ * Minimal Bukkit objects, implemented with dynamic proxies because the server is not running during benchmarks.
+ * Only the methods called by the benchmarked code paths are implemented, the others return default values.
+ */
+final class BenchmarkEnvironment {
+
+    static final String WORLD_NAME = "world";
+
+    private static World world;
+
+    private BenchmarkEnvironment() {
+    }
+
+    static synchronized World setup() {
+        if (world == null) {
+            world = newProxy(World.class, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getName":
+                        return WORLD_NAME;
+                    case "isChunkLoaded":
+                        return true;
+                    default:
+                        return null;
+                }
+            });
+
+            Logger logger = Logger.getLogger("Benchmark");
+            Bukkit.setServer(newProxy(Server.class, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getLogger":
+                        return logger;
+                    case "getName":
+                    case "getVersion":
+                    case "getBukkitVersion":
+                        return "Benchmark";
+                    case "getWorld":
+                        return args[0] instanceof String && WORLD_NAME.equalsIgnoreCase((String) args[0]) ? world : null;
+                    default:
+                        return null;
+                }
+            }));
+        }
+        return world;
+    }
+
+    static Plugin newPlugin(String name) {
+        return newProxy(Plugin.class, (proxy, method, args) -> {
+            if (method.getName().equals("getName")) {
+                return name;
+            }
+            return null;
+        });
+    }
+
+    static BenchmarkPlayer newPlayer(String name, Location location) {
+        BenchmarkPlayer benchmarkPlayer = new BenchmarkPlayer(location);
+        UUID uuid = UUID.nameUUIDFromBytes(name.getBytes());
+
+        benchmarkPlayer.bukkitPlayer = newProxy(Player.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getLocation":
+                    return benchmarkPlayer.location.clone();
+                case "getWorld":
+                    return benchmarkPlayer.location.getWorld();
+                case "getUniqueId":
+                    return uuid;
+                case "getName":
+                    return name;
+                case "isOnline":
+                    return true;
+                default:
+                    return null;
+            }
+        });
+        return benchmarkPlayer;
+    }
+
+    private static <T> T newProxy(Class<T> type, InvocationHandler handler) {
+        InvocationHandler objectMethodsHandler = (Object proxy, Method method, Object[] args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return args.length == 1 && proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                default:
+                    Object result = handler.invoke(proxy, method, args);
+                    if (result == null && method.getReturnType().isPrimitive()) {
+                        return getDefaultValue(method.getReturnType());
+                    }
+                    return result;
+            }
+        };
+
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, objectMethodsHandler));
+    }
+
+    private static Object getDefaultValue(Class<?> primitiveType) {
+        if (primitiveType == boolean.class) {
+            return false;
+        } else if (primitiveType == void.class) {
+            return null;
+        } else if (primitiveType == char.class) {
+            return '\0';
+        } else if (primitiveType == float.class) {
+            return 0f;
+        } else if (primitiveType == double.class) {
+            return 0d;
+        } else if (primitiveType == long.class) {
+            return 0L;
+        } else if (primitiveType == byte.class) {
+            return (byte) 0;
+        } else if (primitiveType == short.class) {
+            return (short) 0;
+        } else {
+            return 0;
+        }
+    }
+
+
+    static class BenchmarkPlayer {
+
+        private Player bukkitPlayer;
+        private Location location;
+
+        private BenchmarkPlayer(Location location) {
+            this.location = location;
+        }
+
+        Player getBukkitPlayer() {
+            return bukkitPlayer;
+        }
+
+        Location getLocation() {
+            return location;
+        }
+
+        void setLocation(Location location) {
+            this.location = location;
+        }
+
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.benchmarks;
+
+import me.filoghost.holographicdisplays.common.PositionCoordinates;
+import me.filoghost.holographicdisplays.nms.common.EntityID;
+import me.filoghost.holographicdisplays.nms.common.IndividualTextPacketGroup;
+import me.filoghost.holographicdisplays.nms.common.NMSManager;
+import me.filoghost.holographicdisplays.nms.common.PacketGroup;
+import me.filoghost.holographicdisplays.nms.common.PacketListener;
+import me.filoghost.holographicdisplays.nms.common.PacketSink;
+import me.filoghost.holographicdisplays.nms.common.entity.ClickableNMSPacketEntity;
+import me.filoghost.holographicdisplays.nms.common.entity.ItemNMSPacketEntity;
+import me.filoghost.holographicdisplays.nms.common.entity.TextNMSPacketEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * NMS manager which doesn't create nor send real packets, to measure only the work done by the plugin.
+ * The number of sent packets is counted, so that the JIT compiler cannot remove the calls.
+ */
+class BenchmarkNMSManager implements NMSManager {
+
+    private static final AtomicInteger ENTITY_ID_COUNTER = new AtomicInteger();
+
+    private final PacketGroup packet;
+    private long sentPackets;
+
+    BenchmarkNMSManager() {
+        this.packet = (PacketSink packetSink) -> sentPackets++;
+    }
+
+    long getSentPackets() {
+        return sentPackets;
+    }
+
+    @Override
+    public TextNMSPacketEntity newTextPacketEntity() {
+        return new BenchmarkTextPacketEntity();
+    }
+
+    @Override
+    public ItemNMSPacketEntity newItemPacketEntity() {
+        return new BenchmarkItemPacketEntity();
+    }
+
+    @Override
+    public ClickableNMSPacketEntity newClickablePacketEntity() {
+        return new BenchmarkClickablePacketEntity();
+    }
+
+    @Override
+    public PacketSink newPacketSink(Player player) {
+        return () -> { };
+    }
+
+    @Override
+    public void injectPacketListener(Player player, PacketListener packetListener) {
+
+    }
+
+    @Override
+    public void uninjectPacketListener(Player player) {
+
+    }
+
+
+    private class BenchmarkTextPacketEntity implements TextNMSPacketEntity {
+
+        @Override
+        public PacketGroup newSpawnPackets(PositionCoordinates position, String text) {
+            return packet;
+        }
+
+        @Override
+        public IndividualTextPacketGroup newSpawnPackets(PositionCoordinates position) {
+            return IndividualTextPacketGroup.of((String text) -> packet);
+        }
+
+        @Override
+        public PacketGroup newChangePackets(String text) {
+            return packet;
+        }
+
+        @Override
+        public IndividualTextPacketGroup newChangePackets() {
+            return IndividualTextPacketGroup.of((String text) -> packet);
+        }
+
+        @Override
+        public PacketGroup newTeleportPackets(PositionCoordinates position) {
+            return packet;
+        }
+
+        @Override
+        public PacketGroup newDestroyPackets() {
+            return packet;
+        }
+
+    }
+
+
+    private class BenchmarkItemPacketEntity implements ItemNMSPacketEntity {
+
+        @Override
+        public PacketGroup newSpawnPackets(PositionCoordinates position, ItemStack itemStack) {
+            return packet;
+        }
+
+        @Override
+        public PacketGroup newChangePackets(ItemStack itemStack) {
+            return packet;
+        }
+
+        @Override
+        public PacketGroup newTeleportPackets(PositionCoordinates position) {
+            return packet;
+        }
+
+        @Override
+        public PacketGroup newDestroyPackets() {
+            return packet;
+        }
+
+    }
+
+
+    private class BenchmarkClickablePacketEntity implements ClickableNMSPacketEntity {
+
+        private final EntityID id = new EntityID(ENTITY_ID_COUNTER::incrementAndGet);
+
+        @Override
+        public EntityID getID() {
+            return id;
+        }
+
+        @Override
+        public PacketGroup newSpawnPackets(PositionCoordinates position) {
+            return packet;
+        }
+
+        @Override
+        public PacketGroup newTeleportPackets(PositionCoordinates position) {
+            return packet;
+        }
+
+        @Override
+        public PacketGroup newDestroyPackets() {
+            return packet;
+        }
+
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.benchmarks;
+
+import me.filoghost.holographicdisplays.plugin.config.Settings;
+import me.filoghost.holographicdisplays.plugin.image.ImageMessage;
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Measures the conversion of an image to colored text lines.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageMessageBenchmark {
+
+    @Param({"32", "128"})
+    private int width;
+
+    private BufferedImage image;
+
+    @Setup
+    public void setup() {
+        // Same values of the default configuration
+        Settings.imageSymbol = "█";
+        Settings.transparencySymbol = ChatColor.GRAY + " ⎹ ";
+
+        // Random colors with some transparent pixels, the image is scaled down to the requested width
+        Random random = new Random(0);
+        image = new BufferedImage(256, 256, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                int alpha = random.nextInt(10) == 0 ? 0 : 255;
+                image.setRGB(x, y, (alpha << 24) | random.nextInt(0xFFFFFF + 1));
+            }
+        }
+    }
+
+    @Benchmark
+    public ImageMessage render() {
+        return new ImageMessage(image, width);
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.benchmarks;
+
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderOccurrence;
+import me.filoghost.holographicdisplays.core.placeholder.parsing.StringWithPlaceholders;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Measures the parsing of placeholders in a line of text and the replacement of the parsed placeholders.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceholderParsingBenchmark {
+
+    @Param({
+            "Plain text without placeholders",
+            "Online: {online} / {max_players}",
+            "{player}: {server: lobby} {animation: rainbow.yml} {unclosed",
+            "Escaped \\{not a placeholder\\} and {real}"
+    })
+    private String text;
+
+    private StringWithPlaceholders parsedText;
+    private Player player;
+
+    @Setup
+    public void setup() {
+        parsedText = StringWithPlaceholders.of(text);
+        player = BenchmarkEnvironment.newPlayer("Player", null).getBukkitPlayer();
+    }
+
+    @Benchmark
+    public StringWithPlaceholders parse() {
+        // Parser is package-private and the factory method is cached: after the first call, this measures a cache hit
+        return StringWithPlaceholders.of(text);
+    }
+
+    @Benchmark
+    public StringWithPlaceholders parseWithEscapes() {
+        return StringWithPlaceholders.withEscapes(text);
+    }
+
+    @Benchmark
+    public String replacePlaceholders() {
+        return parsedText.replacePlaceholders(player, (Player player, PlaceholderOccurrence placeholderOccurrence) -> "value");
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.benchmarks;
+
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderRefreshMode;
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderOccurrence;
+import me.filoghost.holographicdisplays.core.placeholder.parsing.StringWithPlaceholders;
+import me.filoghost.holographicdisplays.core.placeholder.registry.PlaceholderRegistry;
+import me.filoghost.holographicdisplays.core.placeholder.tracking.ActivePlaceholderTracker;
+import me.filoghost.holographicdisplays.core.placeholder.tracking.CompiledText;
+import me.filoghost.holographicdisplays.core.placeholder.tracking.ComposedText;
+import me.filoghost.holographicdisplays.core.profiling.TickProfiler;
+import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
+import me.filoghost.holographicdisplays.core.tick.PlayerSlotRegistry;
+import me.filoghost.holographicdisplays.core.tick.TickClock;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Measures the lookup of active placeholders and the computation of their replacements, both when the cached replacement
+ * can be reused and when it must be refreshed because the refresh interval elapsed, both through the map lookup of the tracker
+ * and through a compiled text.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceholderReplacementBenchmark {
+
+    @Param({"global", "individual"})
+    private String placeholder;
+
+    @Param({"false", "true"})
+    private boolean refresh;
+
+    @Param({"1", "100"})
+    private int playerCount;
+
+    private TickClock tickClock;
+    private ActivePlaceholderTracker placeholderTracker;
+    private PlaceholderOccurrence placeholderOccurrence;
+    private CompiledText compiledText;
+    private CachedPlayer[] players;
+    private ComposedText[] composedTexts;
+    private int nextPlayerIndex;
+
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.setup();
+        Plugin plugin = BenchmarkEnvironment.newPlugin("Benchmark");
+
+        PlaceholderRegistry placeholderRegistry = new PlaceholderRegistry();
+        placeholderRegistry.registerGlobalPlaceholder(plugin, "global", 20, (String argument) -> "value",
+                PlaceholderRefreshMode.MAIN_THREAD);
+        placeholderRegistry.registerIndividualPlaceholder(plugin, "individual", 20,
+                (Player player, String argument) -> player.getName(), PlaceholderRefreshMode.MAIN_THREAD);
+
+        tickClock = new TickClock();
+        placeholderTracker = new ActivePlaceholderTracker(placeholderRegistry, tickClock, new TickProfiler());
+        placeholderOccurrence = PlaceholderOccurrence.parse(placeholder);
+        compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{" + placeholder + "}"));
+
+        PlayerSlotRegistry playerSlotRegistry = new PlayerSlotRegistry();
+        players = new CachedPlayer[playerCount];
+        composedTexts = new ComposedText[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            // No packets are sent, the packet sink is not needed
+            Player bukkitPlayer = BenchmarkEnvironment.newPlayer("Player" + i, null).getBukkitPlayer();
+            players[i] = playerSlotRegistry.register(bukkitPlayer, null);
+            composedTexts[i] = new ComposedText();
+        }
+    }
+
+    @Benchmark
+    public String getReplacement() {
+        return placeholderTracker.getReplacement(nextPlayer(), placeholderOccurrence);
+    }
+
+    @Benchmark
+    public String replaceCompiledText() {
+        // Like the viewers of a text line, each player has its own composed text, which is built again only if changed
+        int playerIndex = nextPlayerIndex;
+        CachedPlayer player = nextPlayer();
+        compiledText.update(player, composedTexts[playerIndex]);
+        return composedTexts[playerIndex].getText();
+    }
+
+    private CachedPlayer nextPlayer() {
+        if (refresh) {
+            // Advance by the refresh interval, so that the replacement is computed again
+            for (int i = 0; i < 20; i++) {
+                tickClock.incrementTick();
+            }
+            placeholderTracker.advanceTimers();
+        }
+
+        CachedPlayer player = players[nextPlayerIndex];
+        nextPlayerIndex = (nextPlayerIndex + 1) % players.length;
+        return player;
+    }
+
+}
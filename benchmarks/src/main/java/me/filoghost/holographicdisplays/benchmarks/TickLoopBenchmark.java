@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.benchmarks;
+
+import me.filoghost.holographicdisplays.api.hologram.Hologram;
+import me.filoghost.holographicdisplays.api.hologram.PlaceholderSetting;
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderRefreshMode;
+import me.filoghost.holographicdisplays.benchmarks.BenchmarkEnvironment.BenchmarkPlayer;
+import me.filoghost.holographicdisplays.core.api.current.APIHologramManager;
+import me.filoghost.holographicdisplays.core.base.ImmutablePosition;
+import me.filoghost.holographicdisplays.core.listener.LineClickListener;
+import me.filoghost.holographicdisplays.core.placeholder.registry.PlaceholderRegistry;
+import me.filoghost.holographicdisplays.core.placeholder.tracking.ActivePlaceholderTracker;
+import me.filoghost.holographicdisplays.core.profiling.TickProfiler;
+import me.filoghost.holographicdisplays.core.tick.PlayerSlotRegistry;
+import me.filoghost.holographicdisplays.core.tick.TickClock;
+import me.filoghost.holographicdisplays.core.tick.TickingTask;
+import me.filoghost.holographicdisplays.core.tracking.LineTrackerManager;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Measures a full server tick of the plugin: player movement detection, line tracking, placeholder replacement and
+ * packet creation (with packets that are not actually sent).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickLoopBenchmark {
+
+    // Area in blocks (on both the X and Z axes) where holograms and players are randomly placed
+    private static final int AREA_SIZE = 1000;
+
+    @Param({"100", "1000"})
+    private int hologramCount;
+
+    @Param({"5"})
+    private int linesPerHologram;
+
+    @Param({"20", "200"})
+    private int playerCount;
+
+    @Param({"false", "true"})
+    private boolean placeholders;
+
+    private BenchmarkNMSManager nmsManager;
+    private LineTrackerManager lineTrackerManager;
+    private TickingTask tickingTask;
+    private List<BenchmarkPlayer> players;
+    private double[] playerDirections;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        World world = BenchmarkEnvironment.setup();
+        Plugin plugin = BenchmarkEnvironment.newPlugin("Benchmark");
+        Random random = new Random(0);
+
+        PlaceholderRegistry placeholderRegistry = new PlaceholderRegistry();
+        placeholderRegistry.registerGlobalPlaceholder(plugin, "global", 1, (String argument) -> "value",
+                PlaceholderRefreshMode.MAIN_THREAD);
+        placeholderRegistry.registerIndividualPlaceholder(plugin, "individual", 1,
+                (Player player, String argument) -> player.getName(), PlaceholderRefreshMode.MAIN_THREAD);
+
+        TickClock tickClock = new TickClock();
+        TickProfiler tickProfiler = new TickProfiler();
+        ActivePlaceholderTracker placeholderTracker = new ActivePlaceholderTracker(placeholderRegistry, tickClock, tickProfiler);
+        LineClickListener lineClickListener = new LineClickListener();
+        nmsManager = new BenchmarkNMSManager();
+        PlayerSlotRegistry playerSlotRegistry = new PlayerSlotRegistry();
+        lineTrackerManager = new LineTrackerManager(nmsManager, placeholderTracker, lineClickListener, tickClock, playerSlotRegistry);
+        APIHologramManager hologramManager = new APIHologramManager(lineTrackerManager);
+
+        for (int i = 0; i < hologramCount; i++) {
+            ImmutablePosition position = new ImmutablePosition(
+                    BenchmarkEnvironment.WORLD_NAME, random.nextDouble() * AREA_SIZE, 70, random.nextDouble() * AREA_SIZE);
+            Hologram hologram = hologramManager.createHologram(position, plugin);
+            if (placeholders) {
+                hologram.setPlaceholderSetting(PlaceholderSetting.ENABLE_ALL);
+            }
+            for (int j = 0; j < linesPerHologram; j++) {
+                hologram.getLines().appendText(j % 2 == 0 ? "Line " + j + ": {global}" : "Line " + j + ": {individual}");
+            }
+        }
+
+        tickingTask = new TickingTask(
+                tickClock, tickProfiler, nmsManager, placeholderTracker, lineTrackerManager, lineClickListener, playerSlotRegistry);
+        players = new ArrayList<>();
+        playerDirections = new double[playerCount];
+
+        for (int i = 0; i < playerCount; i++) {
+            Location location = new Location(world, random.nextDouble() * AREA_SIZE, 70, random.nextDouble() * AREA_SIZE);
+            BenchmarkPlayer player = BenchmarkEnvironment.newPlayer("Player" + i, location);
+            players.add(player);
+            playerDirections[i] = random.nextDouble() * Math.PI * 2;
+            tickingTask.onPlayerJoin(player.getBukkitPlayer());
+        }
+
+        // Spawn the initial entities, which is not representative of a normal tick
+        tickingTask.run();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        lineTrackerManager.resetViewersAndSendDestroyPackets();
+    }
+
+    @Benchmark
+    public long tick() {
+        // Players walk in a straight line at the default walking speed, bouncing at the borders of the area
+        for (int i = 0; i < players.size(); i++) {
+            BenchmarkPlayer player = players.get(i);
+            Location location = player.getLocation();
+            double x = location.getX() + Math.cos(playerDirections[i]) * 0.2;
+            double z = location.getZ() + Math.sin(playerDirections[i]) * 0.2;
+            if (x < 0 || x > AREA_SIZE || z < 0 || z > AREA_SIZE) {
+                playerDirections[i] += Math.PI;
+            } else {
+                player.setLocation(new Location(location.getWorld(), x, location.getY(), z));
+            }
+        }
+
+        tickingTask.run();
+        return nmsManager.getSentPackets();
+    }
+
+}
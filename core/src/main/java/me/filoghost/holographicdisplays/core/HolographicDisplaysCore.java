@@ -20,22 +20,35 @@ import me.filoghost.holographicdisplays.core.base.BaseHologramLines;
 import me.filoghost.holographicdisplays.core.listener.ChunkListener;
 import me.filoghost.holographicdisplays.core.listener.LineClickListener;
 import me.filoghost.holographicdisplays.core.listener.PlayerListener;
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderCircuitBreaker;
+import me.filoghost.holographicdisplays.core.placeholder.registry.PlaceholderExpansion;
 import me.filoghost.holographicdisplays.core.placeholder.registry.PlaceholderRegistry;
 import me.filoghost.holographicdisplays.core.placeholder.tracking.ActivePlaceholderTracker;
+import me.filoghost.holographicdisplays.core.profiling.TickProfiler;
+import me.filoghost.holographicdisplays.core.tick.PlayerSlotRegistry;
 import me.filoghost.holographicdisplays.core.tick.TickClock;
 import me.filoghost.holographicdisplays.core.tick.TickingTask;
 import me.filoghost.holographicdisplays.core.tracking.LineTrackerManager;
 import me.filoghost.holographicdisplays.nms.common.NMSManager;
+import me.filoghost.holographicdisplays.nms.common.SharedEncodingPacket;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 public class HolographicDisplaysCore {
 
     private NMSManager nmsManager;
+    private PlaceholderRegistry placeholderRegistry;
+    private ActivePlaceholderTracker placeholderTracker;
     private LineTrackerManager lineTrackerManager;
     private APIHologramManager apiHologramManager;
     private V2HologramManager v2HologramManager;
+    private TickingTask tickingTask;
 
     public void enable(Plugin plugin, ErrorCollector errorCollector) throws PluginEnableException {
         try {
@@ -48,11 +61,13 @@ public class HolographicDisplaysCore {
             throw new PluginEnableException(t, "Couldn't initialize the NMS manager.");
         }
 
-        PlaceholderRegistry placeholderRegistry = new PlaceholderRegistry();
+        placeholderRegistry = new PlaceholderRegistry();
         TickClock tickClock = new TickClock();
-        ActivePlaceholderTracker placeholderTracker = new ActivePlaceholderTracker(placeholderRegistry, tickClock);
+        TickProfiler tickProfiler = new TickProfiler();
+        placeholderTracker = new ActivePlaceholderTracker(placeholderRegistry, tickClock, tickProfiler);
         LineClickListener lineClickListener = new LineClickListener();
-        lineTrackerManager = new LineTrackerManager(nmsManager, placeholderTracker, lineClickListener, tickClock);
+        PlayerSlotRegistry playerSlotRegistry = new PlayerSlotRegistry();
+        lineTrackerManager = new LineTrackerManager(nmsManager, placeholderTracker, lineClickListener, tickClock, playerSlotRegistry);
         apiHologramManager = new APIHologramManager(lineTrackerManager);
         v2HologramManager = new V2HologramManager(lineTrackerManager);
 
@@ -62,7 +77,8 @@ public class HolographicDisplaysCore {
         }
 
         // Tasks
-        TickingTask tickingTask = new TickingTask(tickClock, placeholderTracker, lineTrackerManager, lineClickListener);
+        tickingTask = new TickingTask(
+                tickClock, tickProfiler, nmsManager, placeholderTracker, lineTrackerManager, lineClickListener, playerSlotRegistry);
         Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, tickingTask, 0, 1);
 
         // Listeners
@@ -71,7 +87,7 @@ public class HolographicDisplaysCore {
 
         // Enable the APIs
         HolographicDisplaysAPIProvider.setImplementation(
-                new DefaultHolographicDisplaysAPIProvider(apiHologramManager, placeholderRegistry));
+                new DefaultHolographicDisplaysAPIProvider(apiHologramManager, placeholderRegistry, tickProfiler));
         enableLegacyAPI(v2HologramManager, placeholderRegistry);
     }
 
@@ -90,11 +106,49 @@ public class HolographicDisplaysCore {
         }
     }
 
+    public void setSharedPacketEncoding(boolean sharedPacketEncoding) {
+        SharedEncodingPacket.setEnabled(sharedPacketEncoding);
+    }
+
+    public void setPlaceholderCircuitBreaker(boolean enabled, int badCallsPercent, int slowCallMillis, int openSeconds) {
+        PlaceholderCircuitBreaker.configure(enabled, badCallsPercent, TimeUnit.MILLISECONDS.toNanos(slowCallMillis), openSeconds * 20);
+    }
+
+    /**
+     * Returns the circuit breakers which are not closed or were opened at least once.
+     */
+    public List<PlaceholderCircuitBreaker> getTrippedPlaceholderCircuitBreakers() {
+        List<PlaceholderCircuitBreaker> result = new ArrayList<>();
+        for (PlaceholderExpansion expansion : placeholderRegistry.getAllExpansions()) {
+            for (PlaceholderCircuitBreaker circuitBreaker : expansion.getCircuitBreakers()) {
+                if (circuitBreaker.getState() != PlaceholderCircuitBreaker.State.CLOSED || circuitBreaker.getTripsCount() > 0) {
+                    result.add(circuitBreaker);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of replacements kept in memory, for each individual placeholder currently in use.
+     */
+    public Map<String, Integer> getIndividualReplacementHoldersCount() {
+        return placeholderTracker.getIndividualReplacementHoldersCount();
+    }
+
     public void disable() {
         if (lineTrackerManager != null) {
             lineTrackerManager.resetViewersAndSendDestroyPackets();
         }
 
+        if (tickingTask != null) {
+            tickingTask.flushPackets();
+        }
+
+        if (placeholderTracker != null) {
+            placeholderTracker.shutdownAsyncRefreshes();
+        }
+
         if (nmsManager != null) {
             for (Player player : Bukkit.getOnlinePlayers()) {
                 nmsManager.uninjectPacketListener(player);
@@ -15,6 +15,10 @@ import me.filoghost.holographicdisplays.api.placeholder.GlobalPlaceholderReplace
 import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholder;
 import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholderFactory;
 import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholderReplaceFunction;
+import me.filoghost.holographicdisplays.api.placeholder.PartitionKeyFunction;
+import me.filoghost.holographicdisplays.api.placeholder.PartitionedPlaceholderReplaceFunction;
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderInvalidator;
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderRefreshMode;
 import me.filoghost.holographicdisplays.core.base.ImmutablePosition;
 import me.filoghost.holographicdisplays.core.placeholder.registry.PlaceholderRegistry;
 import org.bukkit.Location;
@@ -55,52 +59,154 @@ class DefaultHolographicDisplaysAPI implements HolographicDisplaysAPI {
 
     @Override
     public void registerGlobalPlaceholder(@NotNull String identifier, int refreshIntervalTicks, @NotNull GlobalPlaceholderReplaceFunction replaceFunction) {
+        registerGlobalPlaceholder(identifier, refreshIntervalTicks, replaceFunction, PlaceholderRefreshMode.MAIN_THREAD);
+    }
+
+    @Override
+    public void registerGlobalPlaceholder(
+            @NotNull String identifier,
+            int refreshIntervalTicks,
+            @NotNull GlobalPlaceholderReplaceFunction replaceFunction,
+            @NotNull PlaceholderRefreshMode refreshMode) {
         checkIdentifier(identifier);
         Preconditions.checkArgument(refreshIntervalTicks >= 0, "refreshIntervalTicks should be positive");
         Preconditions.notNull(replaceFunction, "replaceFunction");
+        Preconditions.notNull(refreshMode, "refreshMode");
 
-        placeholderRegistry.registerGlobalPlaceholder(plugin, identifier, refreshIntervalTicks, replaceFunction);
+        placeholderRegistry.registerGlobalPlaceholder(plugin, identifier, refreshIntervalTicks, replaceFunction, refreshMode);
     }
 
     @Override
     public void registerGlobalPlaceholder(@NotNull String identifier, @NotNull GlobalPlaceholder placeholder) {
+        registerGlobalPlaceholder(identifier, placeholder, PlaceholderRefreshMode.MAIN_THREAD);
+    }
+
+    @Override
+    public void registerGlobalPlaceholder(
+            @NotNull String identifier,
+            @NotNull GlobalPlaceholder placeholder,
+            @NotNull PlaceholderRefreshMode refreshMode) {
         checkIdentifier(identifier);
         Preconditions.notNull(placeholder, "placeholder");
+        Preconditions.notNull(refreshMode, "refreshMode");
 
-        placeholderRegistry.registerGlobalPlaceholder(plugin, identifier, placeholder);
+        placeholderRegistry.registerGlobalPlaceholder(plugin, identifier, placeholder, refreshMode);
     }
 
     @Override
     public void registerGlobalPlaceholderFactory(@NotNull String identifier, @NotNull GlobalPlaceholderFactory placeholderFactory) {
+        registerGlobalPlaceholderFactory(identifier, placeholderFactory, PlaceholderRefreshMode.MAIN_THREAD);
+    }
+
+    @Override
+    public void registerGlobalPlaceholderFactory(
+            @NotNull String identifier,
+            @NotNull GlobalPlaceholderFactory placeholderFactory,
+            @NotNull PlaceholderRefreshMode refreshMode) {
         checkIdentifier(identifier);
         Preconditions.notNull(placeholderFactory, "placeholderFactory");
+        Preconditions.notNull(refreshMode, "refreshMode");
+
+        placeholderRegistry.registerGlobalPlaceholderFactory(plugin, identifier, placeholderFactory, refreshMode);
+    }
+
+    @Override
+    public @NotNull PlaceholderInvalidator registerGlobalPushPlaceholder(
+            @NotNull String identifier,
+            @NotNull GlobalPlaceholderReplaceFunction replaceFunction) {
+        checkIdentifier(identifier);
+        Preconditions.notNull(replaceFunction, "replaceFunction");
 
-        placeholderRegistry.registerGlobalPlaceholderFactory(plugin, identifier, placeholderFactory);
+        return placeholderRegistry.registerGlobalPushPlaceholder(plugin, identifier, replaceFunction);
     }
 
     @Override
     public void registerIndividualPlaceholder(@NotNull String identifier, int refreshIntervalTicks, @NotNull IndividualPlaceholderReplaceFunction replaceFunction) {
+        registerIndividualPlaceholder(identifier, refreshIntervalTicks, replaceFunction, PlaceholderRefreshMode.MAIN_THREAD);
+    }
+
+    @Override
+    public void registerIndividualPlaceholder(
+            @NotNull String identifier,
+            int refreshIntervalTicks,
+            @NotNull IndividualPlaceholderReplaceFunction replaceFunction,
+            @NotNull PlaceholderRefreshMode refreshMode) {
         checkIdentifier(identifier);
         Preconditions.checkArgument(refreshIntervalTicks >= 0, "refreshIntervalTicks should be positive");
         Preconditions.notNull(replaceFunction, "replaceFunction");
+        Preconditions.notNull(refreshMode, "refreshMode");
 
-        placeholderRegistry.registerIndividualPlaceholder(plugin, identifier, refreshIntervalTicks, replaceFunction);
+        placeholderRegistry.registerIndividualPlaceholder(plugin, identifier, refreshIntervalTicks, replaceFunction, refreshMode);
     }
 
     @Override
     public void registerIndividualPlaceholder(@NotNull String identifier, @NotNull IndividualPlaceholder placeholder) {
+        registerIndividualPlaceholder(identifier, placeholder, PlaceholderRefreshMode.MAIN_THREAD);
+    }
+
+    @Override
+    public void registerIndividualPlaceholder(
+            @NotNull String identifier,
+            @NotNull IndividualPlaceholder placeholder,
+            @NotNull PlaceholderRefreshMode refreshMode) {
         checkIdentifier(identifier);
         Preconditions.notNull(placeholder, "placeholder");
+        Preconditions.notNull(refreshMode, "refreshMode");
 
-        placeholderRegistry.registerIndividualPlaceholder(plugin, identifier, placeholder);
+        placeholderRegistry.registerIndividualPlaceholder(plugin, identifier, placeholder, refreshMode);
     }
 
     @Override
     public void registerIndividualPlaceholderFactory(@NotNull String identifier, @NotNull IndividualPlaceholderFactory placeholderFactory) {
+        registerIndividualPlaceholderFactory(identifier, placeholderFactory, PlaceholderRefreshMode.MAIN_THREAD);
+    }
+
+    @Override
+    public void registerIndividualPlaceholderFactory(
+            @NotNull String identifier,
+            @NotNull IndividualPlaceholderFactory placeholderFactory,
+            @NotNull PlaceholderRefreshMode refreshMode) {
         checkIdentifier(identifier);
         Preconditions.notNull(placeholderFactory, "placeholderFactory");
+        Preconditions.notNull(refreshMode, "refreshMode");
+
+        placeholderRegistry.registerIndividualPlaceholderFactory(plugin, identifier, placeholderFactory, refreshMode);
+    }
+
+    @Override
+    public @NotNull PlaceholderInvalidator registerIndividualPushPlaceholder(
+            @NotNull String identifier,
+            @NotNull IndividualPlaceholderReplaceFunction replaceFunction) {
+        checkIdentifier(identifier);
+        Preconditions.notNull(replaceFunction, "replaceFunction");
+
+        return placeholderRegistry.registerIndividualPushPlaceholder(plugin, identifier, replaceFunction);
+    }
+
+    @Override
+    public <K> void registerPartitionedPlaceholder(
+            @NotNull String identifier,
+            int refreshIntervalTicks,
+            @NotNull PartitionKeyFunction<K> keyFunction,
+            @NotNull PartitionedPlaceholderReplaceFunction<K> replaceFunction) {
+        registerPartitionedPlaceholder(identifier, refreshIntervalTicks, keyFunction, replaceFunction, PlaceholderRefreshMode.MAIN_THREAD);
+    }
+
+    @Override
+    public <K> void registerPartitionedPlaceholder(
+            @NotNull String identifier,
+            int refreshIntervalTicks,
+            @NotNull PartitionKeyFunction<K> keyFunction,
+            @NotNull PartitionedPlaceholderReplaceFunction<K> replaceFunction,
+            @NotNull PlaceholderRefreshMode refreshMode) {
+        checkIdentifier(identifier);
+        Preconditions.checkArgument(refreshIntervalTicks >= 0, "refreshIntervalTicks should be positive");
+        Preconditions.notNull(keyFunction, "keyFunction");
+        Preconditions.notNull(replaceFunction, "replaceFunction");
+        Preconditions.notNull(refreshMode, "refreshMode");
 
-        placeholderRegistry.registerIndividualPlaceholderFactory(plugin, identifier, placeholderFactory);
+        placeholderRegistry.registerPartitionedPlaceholder(
+                plugin, identifier, refreshIntervalTicks, keyFunction, replaceFunction, refreshMode);
     }
 
     private void checkIdentifier(String identifier) {
@@ -9,8 +9,10 @@ import me.filoghost.fcommons.Preconditions;
 import me.filoghost.holographicdisplays.api.HolographicDisplaysAPI;
 import me.filoghost.holographicdisplays.api.Position;
 import me.filoghost.holographicdisplays.api.internal.HolographicDisplaysAPIProvider;
+import me.filoghost.holographicdisplays.api.profiling.TickProfile;
 import me.filoghost.holographicdisplays.core.base.ImmutablePosition;
 import me.filoghost.holographicdisplays.core.placeholder.registry.PlaceholderRegistry;
+import me.filoghost.holographicdisplays.core.profiling.TickProfiler;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.block.Block;
@@ -25,10 +27,15 @@ public class DefaultHolographicDisplaysAPIProvider extends HolographicDisplaysAP
 
     private final Map<Plugin, HolographicDisplaysAPI> apiCache;
     private final Function<Plugin, HolographicDisplaysAPI> apiFactory;
+    private final TickProfiler tickProfiler;
 
-    public DefaultHolographicDisplaysAPIProvider(APIHologramManager apiHologramManager, PlaceholderRegistry placeholderRegistry) {
+    public DefaultHolographicDisplaysAPIProvider(
+            APIHologramManager apiHologramManager,
+            PlaceholderRegistry placeholderRegistry,
+            TickProfiler tickProfiler) {
         this.apiCache = new WeakHashMap<>();
         this.apiFactory = plugin -> new DefaultHolographicDisplaysAPI(plugin, apiHologramManager, placeholderRegistry);
+        this.tickProfiler = tickProfiler;
     }
 
     @Override
@@ -66,4 +73,10 @@ public class DefaultHolographicDisplaysAPIProvider extends HolographicDisplaysAP
         return createPosition(block.getWorld(), block.getX(), block.getY(), block.getZ());
     }
 
+    @Override
+    public TickProfile getTickProfile() {
+        Preconditions.checkMainThread("async tick profile access");
+        return new DefaultTickProfile(tickProfiler);
+    }
+
 }
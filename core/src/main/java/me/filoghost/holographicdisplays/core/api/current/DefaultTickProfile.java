@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.api.current;
+
+import me.filoghost.fcommons.Preconditions;
+import me.filoghost.holographicdisplays.api.profiling.TickPhase;
+import me.filoghost.holographicdisplays.api.profiling.TickProfile;
+import me.filoghost.holographicdisplays.api.profiling.TimingStatistics;
+import me.filoghost.holographicdisplays.core.placeholder.PluginName;
+import me.filoghost.holographicdisplays.core.profiling.PlaceholderTimings;
+import me.filoghost.holographicdisplays.core.profiling.TickProfiler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/*
+ * Immutable copy of the statistics, since the profiler keeps changing on every tick.
+ */
+class DefaultTickProfile implements TickProfile {
+
+    private final int sampleTicks;
+    private final TimingStatistics totalTimings;
+    private final Map<TickPhase, TimingStatistics> phaseTimings;
+    private final Map<String, TimingStatistics> placeholderTimingsByPlugin;
+
+    DefaultTickProfile(TickProfiler tickProfiler) {
+        this.sampleTicks = tickProfiler.getTotalTimings().getSampleCount();
+        this.totalTimings = new DefaultTimingStatistics(tickProfiler.getTotalTimings());
+
+        this.phaseTimings = new EnumMap<>(TickPhase.class);
+        for (TickPhase phase : TickPhase.values()) {
+            phaseTimings.put(phase, new DefaultTimingStatistics(tickProfiler.getPhaseTimings(phase)));
+        }
+
+        Map<String, TimingStatistics> placeholderTimingsByPlugin = new LinkedHashMap<>();
+        for (Entry<PluginName, PlaceholderTimings> entry : tickProfiler.getPlaceholderTimingsByPlugin().entrySet()) {
+            placeholderTimingsByPlugin.put(entry.getKey().toString(), new DefaultTimingStatistics(entry.getValue().getTickTimings()));
+        }
+        this.placeholderTimingsByPlugin = Collections.unmodifiableMap(placeholderTimingsByPlugin);
+    }
+
+    @Override
+    public int getSampleTicks() {
+        return sampleTicks;
+    }
+
+    @Override
+    public @NotNull TimingStatistics getTotalTimings() {
+        return totalTimings;
+    }
+
+    @Override
+    public @NotNull TimingStatistics getPhaseTimings(@NotNull TickPhase phase) {
+        Preconditions.notNull(phase, "phase");
+        return phaseTimings.get(phase);
+    }
+
+    @Override
+    public @NotNull Map<String, TimingStatistics> getPlaceholderTimingsByPlugin() {
+        return placeholderTimingsByPlugin;
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.api.current;
+
+import me.filoghost.holographicdisplays.api.profiling.TimingStatistics;
+import me.filoghost.holographicdisplays.core.profiling.RollingTimings;
+
+class DefaultTimingStatistics implements TimingStatistics {
+
+    private final long averageNanos;
+    private final long percentile99Nanos;
+    private final long maxNanos;
+
+    DefaultTimingStatistics(RollingTimings timings) {
+        this.averageNanos = timings.getAverageNanos();
+        this.percentile99Nanos = timings.getPercentileNanos(99);
+        this.maxNanos = timings.getMaxNanos();
+    }
+
+    @Override
+    public long getAverageNanos() {
+        return averageNanos;
+    }
+
+    @Override
+    public long getPercentile99Nanos() {
+        return percentile99Nanos;
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+}
@@ -93,7 +93,7 @@ public abstract class BaseHologram extends BaseHologramComponent {
         hologramPosition.onChunkUnload(chunk);
     }
 
-    protected boolean isInLoadedChunk() {
+    public boolean isInLoadedChunk() {
         return hologramPosition.isChunkLoaded();
     }
 
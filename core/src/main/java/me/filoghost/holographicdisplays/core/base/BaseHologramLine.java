@@ -32,6 +32,10 @@ public abstract class BaseHologramLine extends BaseHologramComponent implements
 
     protected abstract LineTracker<?> createTracker(LineTrackerManager trackerManager);
 
+    public final BaseHologram getHologram() {
+        return hologram;
+    }
+
     public final void setChanged() {
         tracker.setLineChanged();
     }
@@ -0,0 +1,22 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder;
+
+import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholder;
+import org.jetbrains.annotations.Nullable;
+
+/*
+ * An individual placeholder whose replacement can be computed together with the ones of other placeholders, for the same
+ * player, with a single call to their batcher. The replacement must not depend on the argument.
+ */
+public interface BatchedIndividualPlaceholder extends IndividualPlaceholder {
+
+    /*
+     * Returns null if the replacement must be computed separately.
+     */
+    @Nullable IndividualPlaceholderBatcher getBatcher();
+
+}
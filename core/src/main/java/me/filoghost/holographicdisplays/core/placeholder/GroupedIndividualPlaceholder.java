@@ -0,0 +1,22 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder;
+
+import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholder;
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * An individual placeholder which depends on a source that can fail or be slow independently of the other placeholders of
+ * the same expansion, for example a PlaceholderAPI expansion, so that it shares the circuit breaker only with its group.
+ */
+public interface GroupedIndividualPlaceholder extends IndividualPlaceholder {
+
+    /*
+     * Returns a small set of values, since a circuit breaker is kept for each group in use.
+     */
+    @NotNull String getCircuitBreakerGroup();
+
+}
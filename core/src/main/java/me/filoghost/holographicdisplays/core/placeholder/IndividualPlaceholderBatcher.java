@@ -0,0 +1,22 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+public interface IndividualPlaceholderBatcher {
+
+    /*
+     * Returns the replacements of the placeholders for the player, in the same order, or null if they must be computed
+     * separately. Called from the main thread.
+     */
+    @Nullable List<String> getReplacements(@NotNull Player player, @NotNull List<BatchedIndividualPlaceholder> placeholders);
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder;
+
+import me.filoghost.holographicdisplays.core.placeholder.registry.PlaceholderExpansion;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/*
+ * An individual placeholder whose replacement depends only on a key of the player, so that it can be computed once for
+ * each distinct key through the placeholder returned by getPartition().
+ */
+public abstract class PartitionedStandardPlaceholder extends StandardPlaceholder {
+
+    protected PartitionedStandardPlaceholder(@NotNull PlaceholderExpansion source) {
+        super(source);
+    }
+
+    public final @Nullable Object getPartitionKey(Player player) throws PlaceholderException {
+        try {
+            return doGetPartitionKey(player);
+        } catch (Throwable t) {
+            throw new PlaceholderException(t, getSource());
+        }
+    }
+
+    /*
+     * Returns the placeholder that computes the replacement of the given key, ignoring the player.
+     */
+    public abstract @NotNull StandardPlaceholder getPartition(@Nullable Object partitionKey);
+
+    protected abstract @Nullable Object doGetPartitionKey(Player player) throws Throwable;
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder;
+
+import me.filoghost.fcommons.logging.Log;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Stops invoking the placeholders of a group which fail or are too slow, to avoid wasting time on every refresh.
+ *
+ * A call is bad if it throws an exception or takes longer than the slow call threshold. The breaker opens when the bad
+ * calls reach the configured rate in a window of calls: while open, the placeholders are not invoked and the last good
+ * replacement is displayed. After the open period, a single probe call is allowed (half-open state): if it's good the
+ * breaker closes, otherwise it opens again for twice the previous period.
+ *
+ * Calls of async placeholders are recorded from other threads, the tick of the opening is set at the next check.
+ * Disabled by default: while enabled, the trips are reported in the console.
+ */
+public class PlaceholderCircuitBreaker {
+
+    private static final int WINDOW_CALLS = 20;
+    private static final int MAX_BACKOFF_MULTIPLIER = 32;
+
+    private static volatile boolean enabled = false;
+    private static volatile int badCallsRatePercent = 50;
+    private static volatile long slowCallNanos = TimeUnit.MILLISECONDS.toNanos(20);
+    private static volatile int openTicks = 200;
+
+    private final String name;
+
+    private State state = State.CLOSED;
+    private int windowCalls;
+    private int windowBadCalls;
+    private int backoffMultiplier = 1;
+    private long openUntilTick;
+    private long probeStartTick;
+    private long tripsCount;
+    private long rejectedCallsCount;
+
+    public PlaceholderCircuitBreaker(String name) {
+        this.name = name;
+    }
+
+    public static void configure(boolean enabled, int badCallsRatePercent, long slowCallNanos, int openTicks) {
+        PlaceholderCircuitBreaker.enabled = enabled;
+        PlaceholderCircuitBreaker.badCallsRatePercent = badCallsRatePercent;
+        PlaceholderCircuitBreaker.slowCallNanos = slowCallNanos;
+        PlaceholderCircuitBreaker.openTicks = openTicks;
+    }
+
+    /*
+     * Returns false if the placeholder should not be invoked now.
+     */
+    public synchronized boolean tryAcquire(long currentTick) {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (!enabled) {
+                    close();
+                    return true;
+                }
+                if (openUntilTick < 0) {
+                    openUntilTick = currentTick + (long) openTicks * backoffMultiplier;
+                }
+                if (currentTick >= openUntilTick) {
+                    startProbe(currentTick);
+                    return true;
+                }
+                break;
+            case HALF_OPEN:
+                // The result of the probe may never arrive if its refresh was cancelled
+                if (currentTick - probeStartTick >= openTicks) {
+                    startProbe(currentTick);
+                    return true;
+                }
+                break;
+            default:
+                throw new IllegalStateException("unexpected state " + state);
+        }
+
+        rejectedCallsCount++;
+        return false;
+    }
+
+    private void startProbe(long currentTick) {
+        state = State.HALF_OPEN;
+        probeStartTick = currentTick;
+    }
+
+    public synchronized void onCallCompleted(long elapsedNanos, boolean failed) {
+        boolean badCall = failed || elapsedNanos >= slowCallNanos;
+
+        if (state == State.HALF_OPEN) {
+            if (badCall) {
+                backoffMultiplier = Math.min(backoffMultiplier * 2, MAX_BACKOFF_MULTIPLIER);
+                open();
+                Log.warning("The placeholders " + name + " are still failing or too slow, they will not be refreshed for "
+                        + getOpenSeconds() + " seconds.");
+            } else {
+                backoffMultiplier = 1;
+                close();
+            }
+            return;
+        }
+
+        if (state != State.CLOSED || !enabled) {
+            return; // Started before the breaker opened, or the breaker is disabled
+        }
+
+        windowCalls++;
+        if (badCall) {
+            windowBadCalls++;
+        }
+        if (windowCalls >= WINDOW_CALLS) {
+            if (windowBadCalls * 100 >= badCallsRatePercent * windowCalls) {
+                open();
+                Log.warning("The placeholders " + name + " failed or were slower than "
+                        + TimeUnit.NANOSECONDS.toMillis(slowCallNanos) + "ms in " + windowBadCalls + " of the last " + windowCalls
+                        + " calls, they will not be refreshed for " + getOpenSeconds() + " seconds.");
+            }
+            windowCalls = 0;
+            windowBadCalls = 0;
+        }
+    }
+
+    private long getOpenSeconds() {
+        return (long) openTicks * backoffMultiplier / 20;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openUntilTick = -1;
+        tripsCount++;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowCalls = 0;
+        windowBadCalls = 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getTripsCount() {
+        return tripsCount;
+    }
+
+    public synchronized long getRejectedCallsCount() {
+        return rejectedCallsCount;
+    }
+
+
+    public enum State {
+
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+
+    }
+
+}
@@ -26,6 +26,25 @@ public abstract class StandardPlaceholder {
         return source.isIndividual();
     }
 
+    public boolean isAsyncRefresh() {
+        return source.isAsyncRefresh();
+    }
+
+    /*
+     * Returns the placeholder to compute in batches with the others of the same batcher, or null if not supported.
+     */
+    public @Nullable BatchedIndividualPlaceholder getBatchedPlaceholder() {
+        return null;
+    }
+
+    /*
+     * Returns the group of placeholders of the same expansion that share a circuit breaker, or null to share the one of the
+     * whole expansion.
+     */
+    public @Nullable String getCircuitBreakerGroup() {
+        return null;
+    }
+
     public final int getRefreshIntervalTicks() throws PlaceholderException {
         try {
             return doGetRefreshIntervalTicks();
@@ -34,6 +53,14 @@ public abstract class StandardPlaceholder {
         }
     }
 
+    public final int getMaxRefreshIntervalTicks() throws PlaceholderException {
+        try {
+            return doGetMaxRefreshIntervalTicks();
+        } catch (Throwable t) {
+            throw new PlaceholderException(t, getSource());
+        }
+    }
+
     public final @Nullable String getReplacement(Player player, @Nullable String argument) throws PlaceholderException {
         try {
             return doGetReplacement(player, argument);
@@ -48,6 +75,10 @@ public abstract class StandardPlaceholder {
 
     protected abstract int doGetRefreshIntervalTicks() throws Throwable;
 
+    protected int doGetMaxRefreshIntervalTicks() throws Throwable {
+        return doGetRefreshIntervalTicks();
+    }
+
     protected abstract @Nullable String doGetReplacement(Player player, @Nullable String argument) throws Throwable;
 
 }
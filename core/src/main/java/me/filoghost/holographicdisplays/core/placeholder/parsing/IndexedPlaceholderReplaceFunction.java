@@ -0,0 +1,25 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder.parsing;
+
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderOccurrence;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/*
+ * Also receives the index of the placeholder in the string (starting from 0), to look up data associated with the placeholder
+ * in an array instead of a map.
+ */
+@FunctionalInterface
+public interface IndexedPlaceholderReplaceFunction {
+
+    @Nullable String getReplacement(
+            @Nullable Player player,
+            int placeholderIndex,
+            @NotNull PlaceholderOccurrence placeholderOccurrence);
+
+}
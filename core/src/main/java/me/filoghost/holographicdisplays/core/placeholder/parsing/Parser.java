@@ -19,6 +19,7 @@ class Parser {
 
     static @NotNull StringWithPlaceholders parse(@NotNull String string, boolean keepEscapes) {
         List<Part> parts = null;
+        int placeholdersCount = 0;
         int placeholderStartIndex = -1;
         int lastAppendIndex = 0;
 
@@ -44,7 +45,7 @@ class Parser {
 
                     // The content string does NOT include the opening and closing tags (e.g.: "online: lobby")
                     String contentString = unparsedString.substring(1, unparsedString.length() - 1);
-                    PlaceholderOccurrence content = PlaceholderOccurrence.parse(contentString);
+                    PlaceholderOccurrence content = ParsingCache.getPlaceholderOccurrence(contentString);
 
                     if (parts == null) {
                         parts = new ArrayList<>();
@@ -56,7 +57,8 @@ class Parser {
                     }
 
                     // Append placeholder part
-                    parts.add(new PlaceholderPart(content, unparsedString));
+                    parts.add(new PlaceholderPart(content, unparsedString, placeholdersCount));
+                    placeholdersCount++;
                     lastAppendIndex = endIndex;
                     placeholderStartIndex = -1;
 
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder.parsing;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderOccurrence;
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * Many lines share the same text (and the same placeholders), the parsed instances are shared to avoid parsing them again
+ * and to save memory. Since the values are weakly referenced, an entry is kept only while it's used by some line.
+ */
+public class ParsingCache {
+
+    private static final int MAX_SIZE = 20_000;
+
+    private static final Cache<String, StringWithPlaceholders> stringsWithPlaceholders = newCache();
+    private static final Cache<String, StringWithPlaceholders> stringsWithPlaceholdersAndEscapes = newCache();
+    private static final Cache<String, PlaceholderOccurrence> placeholderOccurrences = newCache();
+
+    private static <V> Cache<String, V> newCache() {
+        return CacheBuilder.newBuilder()
+                .maximumSize(MAX_SIZE)
+                .weakValues()
+                .recordStats()
+                .build();
+    }
+
+    static @NotNull StringWithPlaceholders getStringWithPlaceholders(@NotNull String string, boolean keepEscapes) {
+        Cache<String, StringWithPlaceholders> cache = keepEscapes ? stringsWithPlaceholdersAndEscapes : stringsWithPlaceholders;
+
+        // Not using Cache.get(key, loader) to avoid wrapping exceptions, parsing twice concurrently is harmless
+        StringWithPlaceholders stringWithPlaceholders = cache.getIfPresent(string);
+        if (stringWithPlaceholders == null) {
+            stringWithPlaceholders = Parser.parse(string, keepEscapes);
+            cache.put(string, stringWithPlaceholders);
+        }
+        return stringWithPlaceholders;
+    }
+
+    static @NotNull PlaceholderOccurrence getPlaceholderOccurrence(@NotNull String placeholderContent) {
+        PlaceholderOccurrence placeholderOccurrence = placeholderOccurrences.getIfPresent(placeholderContent);
+        if (placeholderOccurrence == null) {
+            placeholderOccurrence = PlaceholderOccurrence.parse(placeholderContent);
+            placeholderOccurrences.put(placeholderContent, placeholderOccurrence);
+        }
+        return placeholderOccurrence;
+    }
+
+    public static CacheStats getStringsStats() {
+        return stringsWithPlaceholders.stats().plus(stringsWithPlaceholdersAndEscapes.stats());
+    }
+
+    public static CacheStats getPlaceholdersStats() {
+        return placeholderOccurrences.stats();
+    }
+
+    public static long getSize() {
+        return stringsWithPlaceholders.size() + stringsWithPlaceholdersAndEscapes.size() + placeholderOccurrences.size();
+    }
+
+}
@@ -14,14 +14,16 @@ class PlaceholderPart implements Part {
 
     private final PlaceholderOccurrence placeholderOccurrence;
     private final String unreplacedString;
+    private final int placeholderIndex;
 
-    PlaceholderPart(@NotNull PlaceholderOccurrence placeholderOccurrence, @NotNull String unreplacedString) {
+    PlaceholderPart(@NotNull PlaceholderOccurrence placeholderOccurrence, @NotNull String unreplacedString, int placeholderIndex) {
         this.placeholderOccurrence = placeholderOccurrence;
         this.unreplacedString = unreplacedString;
+        this.placeholderIndex = placeholderIndex;
     }
 
-    @NotNull String getValue(@Nullable Player player, PlaceholderReplaceFunction placeholderReplaceFunction) {
-        String replacement = placeholderReplaceFunction.getReplacement(player, placeholderOccurrence);
+    @NotNull String getValue(@Nullable Player player, IndexedPlaceholderReplaceFunction placeholderReplaceFunction) {
+        String replacement = placeholderReplaceFunction.getReplacement(player, placeholderIndex, placeholderOccurrence);
         if (replacement != null) {
             return replacement;
         } else {
@@ -11,10 +11,18 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 @FunctionalInterface
-public interface PlaceholderReplaceFunction {
+public interface PlaceholderReplaceFunction extends IndexedPlaceholderReplaceFunction {
 
     PlaceholderReplaceFunction NO_REPLACEMENTS = (player, placeholderOccurrence) -> null;
 
     @Nullable String getReplacement(@Nullable Player player, @NotNull PlaceholderOccurrence placeholderOccurrence);
 
+    @Override
+    default @Nullable String getReplacement(
+            @Nullable Player player,
+            int placeholderIndex,
+            @NotNull PlaceholderOccurrence placeholderOccurrence) {
+        return getReplacement(player, placeholderOccurrence);
+    }
+
 }
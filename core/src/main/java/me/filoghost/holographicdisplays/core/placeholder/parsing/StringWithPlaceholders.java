@@ -10,6 +10,8 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
@@ -18,36 +20,42 @@ public final class StringWithPlaceholders {
 
     private final @NotNull String string;
     private final @Nullable List<Part> parts;
+    private final @NotNull List<PlaceholderOccurrence> placeholderOccurrences;
 
     public static @NotNull StringWithPlaceholders of(@NotNull String string) {
-        return Parser.parse(string, false);
+        return ParsingCache.getStringWithPlaceholders(string, false);
     }
 
     public static @NotNull StringWithPlaceholders withEscapes(@NotNull String string) {
-        return Parser.parse(string, true);
+        return ParsingCache.getStringWithPlaceholders(string, true);
     }
 
     StringWithPlaceholders(@NotNull String string, @Nullable List<Part> parts) {
         this.string = string;
         this.parts = parts;
+        this.placeholderOccurrences = collectPlaceholderOccurrences(parts);
     }
 
-    public @NotNull String getString() {
-        return string;
-    }
-
-    public boolean containsPlaceholders() {
+    private static List<PlaceholderOccurrence> collectPlaceholderOccurrences(@Nullable List<Part> parts) {
         if (parts == null) {
-            return false;
+            return Collections.emptyList();
         }
 
+        List<PlaceholderOccurrence> placeholderOccurrences = new ArrayList<>();
         for (Part part : parts) {
             if (part instanceof PlaceholderPart) {
-                return true;
+                placeholderOccurrences.add(((PlaceholderPart) part).getPlaceholderOccurrence());
             }
         }
+        return Collections.unmodifiableList(placeholderOccurrences);
+    }
 
-        return false;
+    public @NotNull String getString() {
+        return string;
+    }
+
+    public boolean containsPlaceholders() {
+        return !placeholderOccurrences.isEmpty();
     }
 
     public boolean anyPlaceholderMatch(Predicate<PlaceholderOccurrence> filter) {
@@ -67,17 +75,29 @@ public final class StringWithPlaceholders {
         return false;
     }
 
+    /**
+     * Returns the placeholders in the order they appear, the index in the list is the same passed to
+     * {@link IndexedPlaceholderReplaceFunction}.
+     */
+    public @NotNull List<PlaceholderOccurrence> getPlaceholderOccurrences() {
+        return placeholderOccurrences;
+    }
+
     public @NotNull String replacePlaceholders(Player player, PlaceholderReplaceFunction replaceFunction) {
         return replace(player, replaceFunction, StringReplaceFunction.NO_REPLACEMENTS);
     }
 
+    public @NotNull String replacePlaceholders(Player player, IndexedPlaceholderReplaceFunction replaceFunction) {
+        return replace(player, replaceFunction, StringReplaceFunction.NO_REPLACEMENTS);
+    }
+
     public @NotNull String replaceStrings(StringReplaceFunction replaceFunction) {
         return replace(null, PlaceholderReplaceFunction.NO_REPLACEMENTS, replaceFunction);
     }
 
     private @NotNull String replace(
             Player player,
-            PlaceholderReplaceFunction placeholderReplaceFunction,
+            IndexedPlaceholderReplaceFunction placeholderReplaceFunction,
             StringReplaceFunction literalPartReplaceFunction) {
         if (parts == null) {
             return literalPartReplaceFunction.getReplacement(string);
@@ -7,6 +7,7 @@ package me.filoghost.holographicdisplays.core.placeholder.registry;
 
 import me.filoghost.holographicdisplays.api.placeholder.GlobalPlaceholder;
 import me.filoghost.holographicdisplays.api.placeholder.GlobalPlaceholderFactory;
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderRefreshMode;
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderException;
 import me.filoghost.holographicdisplays.core.placeholder.StandardPlaceholder;
 import org.bukkit.entity.Player;
@@ -18,8 +19,21 @@ class GlobalPlaceholderExpansion extends PlaceholderExpansion {
 
     private final GlobalPlaceholderFactory placeholderFactory;
 
-    GlobalPlaceholderExpansion(Plugin plugin, String identifier, GlobalPlaceholderFactory placeholderFactory) {
-        super(plugin, identifier);
+    GlobalPlaceholderExpansion(
+            Plugin plugin,
+            String identifier,
+            GlobalPlaceholderFactory placeholderFactory,
+            PlaceholderRefreshMode refreshMode) {
+        this(plugin, identifier, placeholderFactory, refreshMode, null);
+    }
+
+    GlobalPlaceholderExpansion(
+            Plugin plugin,
+            String identifier,
+            GlobalPlaceholderFactory placeholderFactory,
+            PlaceholderRefreshMode refreshMode,
+            @Nullable PlaceholderInvalidation invalidation) {
+        super(plugin, identifier, refreshMode, invalidation);
         this.placeholderFactory = placeholderFactory;
     }
 
@@ -59,6 +73,11 @@ class GlobalPlaceholderExpansion extends PlaceholderExpansion {
             return placeholder.getRefreshIntervalTicks();
         }
 
+        @Override
+        protected int doGetMaxRefreshIntervalTicks() {
+            return placeholder.getMaxRefreshIntervalTicks();
+        }
+
         @Override
         protected @Nullable String doGetReplacement(Player player, @Nullable String argument) {
             return placeholder.getReplacement(argument);
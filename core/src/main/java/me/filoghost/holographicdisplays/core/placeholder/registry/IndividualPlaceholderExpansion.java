@@ -7,6 +7,9 @@ package me.filoghost.holographicdisplays.core.placeholder.registry;
 
 import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholder;
 import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholderFactory;
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderRefreshMode;
+import me.filoghost.holographicdisplays.core.placeholder.BatchedIndividualPlaceholder;
+import me.filoghost.holographicdisplays.core.placeholder.GroupedIndividualPlaceholder;
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderException;
 import me.filoghost.holographicdisplays.core.placeholder.StandardPlaceholder;
 import org.bukkit.entity.Player;
@@ -18,8 +21,21 @@ class IndividualPlaceholderExpansion extends PlaceholderExpansion {
 
     private final IndividualPlaceholderFactory placeholderFactory;
 
-    IndividualPlaceholderExpansion(Plugin plugin, String identifier, IndividualPlaceholderFactory placeholderFactory) {
-        super(plugin, identifier);
+    IndividualPlaceholderExpansion(
+            Plugin plugin,
+            String identifier,
+            IndividualPlaceholderFactory placeholderFactory,
+            PlaceholderRefreshMode refreshMode) {
+        this(plugin, identifier, placeholderFactory, refreshMode, null);
+    }
+
+    IndividualPlaceholderExpansion(
+            Plugin plugin,
+            String identifier,
+            IndividualPlaceholderFactory placeholderFactory,
+            PlaceholderRefreshMode refreshMode,
+            @Nullable PlaceholderInvalidation invalidation) {
+        super(plugin, identifier, refreshMode, invalidation);
         this.placeholderFactory = placeholderFactory;
     }
 
@@ -54,11 +70,34 @@ class IndividualPlaceholderExpansion extends PlaceholderExpansion {
             this.placeholder = placeholder;
         }
 
+        @Override
+        public @Nullable BatchedIndividualPlaceholder getBatchedPlaceholder() {
+            if (placeholder instanceof BatchedIndividualPlaceholder) {
+                return (BatchedIndividualPlaceholder) placeholder;
+            } else {
+                return null;
+            }
+        }
+
+        @Override
+        public @Nullable String getCircuitBreakerGroup() {
+            if (placeholder instanceof GroupedIndividualPlaceholder) {
+                return ((GroupedIndividualPlaceholder) placeholder).getCircuitBreakerGroup();
+            } else {
+                return null;
+            }
+        }
+
         @Override
         protected int doGetRefreshIntervalTicks() {
             return placeholder.getRefreshIntervalTicks();
         }
 
+        @Override
+        protected int doGetMaxRefreshIntervalTicks() {
+            return placeholder.getMaxRefreshIntervalTicks();
+        }
+
         @Override
         protected @Nullable String doGetReplacement(Player player, @Nullable String argument) {
             return placeholder.getReplacement(player, argument);
@@ -6,6 +6,7 @@
 package me.filoghost.holographicdisplays.core.placeholder.registry;
 
 import me.filoghost.holographicdisplays.api.placeholder.GlobalPlaceholderFactory;
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderRefreshMode;
 import org.bukkit.plugin.Plugin;
 
 public class LegacyGlobalPlaceholderExpansion extends GlobalPlaceholderExpansion {
@@ -17,7 +18,7 @@ public class LegacyGlobalPlaceholderExpansion extends GlobalPlaceholderExpansion
             String identifier,
             GlobalPlaceholderFactory placeholderFactory,
             String textPlaceholder) {
-        super(plugin, identifier, placeholderFactory);
+        super(plugin, identifier, placeholderFactory, PlaceholderRefreshMode.MAIN_THREAD);
         this.textPlaceholder = textPlaceholder;
     }
 
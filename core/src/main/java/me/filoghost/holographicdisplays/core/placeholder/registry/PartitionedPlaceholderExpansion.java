@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder.registry;
+
+import me.filoghost.holographicdisplays.api.placeholder.PartitionKeyFunction;
+import me.filoghost.holographicdisplays.api.placeholder.PartitionedPlaceholderReplaceFunction;
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderRefreshMode;
+import me.filoghost.holographicdisplays.core.placeholder.PartitionedStandardPlaceholder;
+import me.filoghost.holographicdisplays.core.placeholder.StandardPlaceholder;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+class PartitionedPlaceholderExpansion<K> extends PlaceholderExpansion {
+
+    private final int refreshIntervalTicks;
+    private final PartitionKeyFunction<K> keyFunction;
+    private final PartitionedPlaceholderReplaceFunction<K> replaceFunction;
+
+    PartitionedPlaceholderExpansion(
+            Plugin plugin,
+            String identifier,
+            int refreshIntervalTicks,
+            PartitionKeyFunction<K> keyFunction,
+            PartitionedPlaceholderReplaceFunction<K> replaceFunction,
+            PlaceholderRefreshMode refreshMode) {
+        super(plugin, identifier, refreshMode);
+        this.refreshIntervalTicks = refreshIntervalTicks;
+        this.keyFunction = keyFunction;
+        this.replaceFunction = replaceFunction;
+    }
+
+    @Override
+    public boolean isIndividual() {
+        // The replacement still depends on the player, through the partition key
+        return true;
+    }
+
+    @Override
+    public @NotNull StandardPlaceholder createPlaceholder(String argument) {
+        return new PartitionedPlaceholder();
+    }
+
+
+    private class PartitionedPlaceholder extends PartitionedStandardPlaceholder {
+
+        PartitionedPlaceholder() {
+            super(PartitionedPlaceholderExpansion.this);
+        }
+
+        @Override
+        protected int doGetRefreshIntervalTicks() {
+            return refreshIntervalTicks;
+        }
+
+        @Override
+        protected @Nullable Object doGetPartitionKey(Player player) {
+            return keyFunction.getPartitionKey(player);
+        }
+
+        @Override
+        protected @Nullable String doGetReplacement(Player player, @Nullable String argument) {
+            return replaceFunction.getReplacement(keyFunction.getPartitionKey(player), argument);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public @NotNull StandardPlaceholder getPartition(@Nullable Object partitionKey) {
+            // The key was returned by the key function, it always has the correct type
+            return new PartitionPlaceholder((K) partitionKey);
+        }
+
+    }
+
+
+    private class PartitionPlaceholder extends StandardPlaceholder {
+
+        private final @Nullable K partitionKey;
+
+        PartitionPlaceholder(@Nullable K partitionKey) {
+            super(PartitionedPlaceholderExpansion.this);
+            this.partitionKey = partitionKey;
+        }
+
+        @Override
+        protected int doGetRefreshIntervalTicks() {
+            return refreshIntervalTicks;
+        }
+
+        @Override
+        protected @Nullable String doGetReplacement(Player player, @Nullable String argument) {
+            return replaceFunction.getReplacement(partitionKey, argument);
+        }
+
+    }
+
+}
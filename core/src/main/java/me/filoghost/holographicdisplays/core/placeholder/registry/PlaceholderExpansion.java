@@ -5,6 +5,8 @@
  */
 package me.filoghost.holographicdisplays.core.placeholder.registry;
 
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderRefreshMode;
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderCircuitBreaker;
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderException;
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderIdentifier;
 import me.filoghost.holographicdisplays.core.placeholder.PluginName;
@@ -12,14 +14,36 @@ import me.filoghost.holographicdisplays.core.placeholder.StandardPlaceholder;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public abstract class PlaceholderExpansion {
 
     private final PluginName pluginName;
     private final PlaceholderIdentifier identifier;
+    private final PlaceholderRefreshMode refreshMode;
+    private final @Nullable PlaceholderInvalidation invalidation;
+    private final PlaceholderCircuitBreaker circuitBreaker;
+    private final Map<String, GroupCircuitBreaker> groupCircuitBreakers;
+
+    public PlaceholderExpansion(Plugin plugin, String identifier, PlaceholderRefreshMode refreshMode) {
+        this(plugin, identifier, refreshMode, null);
+    }
 
-    public PlaceholderExpansion(Plugin plugin, String identifier) {
+    public PlaceholderExpansion(
+            Plugin plugin,
+            String identifier,
+            PlaceholderRefreshMode refreshMode,
+            @Nullable PlaceholderInvalidation invalidation) {
         this.pluginName = new PluginName(plugin);
         this.identifier = new PlaceholderIdentifier(identifier);
+        this.refreshMode = refreshMode;
+        this.invalidation = invalidation;
+        this.circuitBreaker = new PlaceholderCircuitBreaker("{" + pluginName + "/" + identifier + "}");
+        this.groupCircuitBreakers = new HashMap<>();
     }
 
     public PluginName getPluginName() {
@@ -30,8 +54,72 @@ public abstract class PlaceholderExpansion {
         return identifier;
     }
 
+    public boolean isAsyncRefresh() {
+        return refreshMode == PlaceholderRefreshMode.ASYNC;
+    }
+
+    /*
+     * Push placeholders have an invalidation and are refreshed only when invalidated, instead of at a fixed interval.
+     */
+    public @Nullable PlaceholderInvalidation getInvalidation() {
+        return invalidation;
+    }
+
+    /*
+     * Shared by all the placeholders of the expansion, which usually fail or are slow for the same reasons, except the ones
+     * in a group (see StandardPlaceholder.getCircuitBreakerGroup()), which share it only with the same group. The breaker of a
+     * group is removed when the last placeholder using it releases it, so that unused groups are not kept in memory.
+     *
+     * Only called from the main thread.
+     */
+    public PlaceholderCircuitBreaker acquireCircuitBreaker(@Nullable String group) {
+        if (group == null) {
+            return circuitBreaker;
+        }
+
+        GroupCircuitBreaker groupCircuitBreaker = groupCircuitBreakers.computeIfAbsent(group, key ->
+                new GroupCircuitBreaker(new PlaceholderCircuitBreaker("{" + pluginName + "/" + identifier + "} (" + key + ")")));
+        groupCircuitBreaker.usages++;
+        return groupCircuitBreaker.circuitBreaker;
+    }
+
+    public void releaseCircuitBreaker(@Nullable String group) {
+        if (group == null) {
+            return;
+        }
+
+        GroupCircuitBreaker groupCircuitBreaker = groupCircuitBreakers.get(group);
+        if (groupCircuitBreaker != null) {
+            groupCircuitBreaker.usages--;
+            if (groupCircuitBreaker.usages <= 0) {
+                groupCircuitBreakers.remove(group);
+            }
+        }
+    }
+
+    public Collection<PlaceholderCircuitBreaker> getCircuitBreakers() {
+        List<PlaceholderCircuitBreaker> circuitBreakers = new ArrayList<>(groupCircuitBreakers.size() + 1);
+        circuitBreakers.add(circuitBreaker);
+        for (GroupCircuitBreaker groupCircuitBreaker : groupCircuitBreakers.values()) {
+            circuitBreakers.add(groupCircuitBreaker.circuitBreaker);
+        }
+        return circuitBreakers;
+    }
+
     public abstract boolean isIndividual();
 
     public abstract @Nullable StandardPlaceholder createPlaceholder(String argument) throws PlaceholderException;
 
+
+    private static class GroupCircuitBreaker {
+
+        private final PlaceholderCircuitBreaker circuitBreaker;
+        private int usages;
+
+        private GroupCircuitBreaker(PlaceholderCircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+        }
+
+    }
+
 }
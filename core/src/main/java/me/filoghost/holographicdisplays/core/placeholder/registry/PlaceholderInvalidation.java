@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder.registry;
+
+import me.filoghost.fcommons.Preconditions;
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderInvalidator;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/*
+ * Each invalidation increments the version, which is read without locking on each replacement: the (rare) check of which
+ * players were invalidated is done only when the version changed since the last refresh.
+ */
+public class PlaceholderInvalidation implements PlaceholderInvalidator {
+
+    private final boolean individual;
+
+    // Invalidations can be requested from any thread, the fields are only modified while holding the lock
+    private volatile long version;
+    private long allPlayersVersion;
+    private final Map<Player, Long> playerVersions;
+
+    PlaceholderInvalidation(boolean individual) {
+        this.individual = individual;
+        this.playerVersions = new WeakHashMap<>();
+    }
+
+    @Override
+    public synchronized void invalidate() {
+        version++;
+        allPlayersVersion = version;
+    }
+
+    @Override
+    public synchronized void invalidate(@NotNull Player player) {
+        Preconditions.notNull(player, "player");
+        if (!individual) {
+            invalidate();
+            return;
+        }
+
+        version++;
+        playerVersions.put(player, version);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /*
+     * Returns true if the replacement was invalidated for the player after the given version.
+     */
+    public synchronized boolean isInvalidatedSince(long sinceVersion, @Nullable Player player) {
+        if (allPlayersVersion > sinceVersion) {
+            return true;
+        }
+
+        Long playerVersion = player != null ? playerVersions.get(player) : null;
+        return playerVersion != null && playerVersion > sinceVersion;
+    }
+
+}
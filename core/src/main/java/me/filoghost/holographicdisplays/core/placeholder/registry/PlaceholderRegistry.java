@@ -17,6 +17,10 @@ import me.filoghost.holographicdisplays.api.placeholder.GlobalPlaceholderReplace
 import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholder;
 import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholderFactory;
 import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholderReplaceFunction;
+import me.filoghost.holographicdisplays.api.placeholder.PartitionKeyFunction;
+import me.filoghost.holographicdisplays.api.placeholder.PartitionedPlaceholderReplaceFunction;
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderInvalidator;
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderRefreshMode;
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderIdentifier;
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderOccurrence;
 import me.filoghost.holographicdisplays.core.placeholder.PluginName;
@@ -24,17 +28,21 @@ import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class PlaceholderRegistry {
 
     private final Table<PlaceholderIdentifier, PluginName, PlaceholderExpansion> placeholderExpansions;
     private final Table<CaseInsensitiveString, PluginName, LegacyGlobalPlaceholderExpansion> legacyPlaceholderExpansions;
+    private final Map<PlaceholderIdentifier, Long> identifierVersions;
     private final AtomicLong version;
 
     public PlaceholderRegistry() {
         this.placeholderExpansions = HashBasedTable.create();
         this.legacyPlaceholderExpansions = HashBasedTable.create();
+        this.identifierVersions = new HashMap<>();
         this.version = new AtomicLong();
     }
 
@@ -42,50 +50,115 @@ public class PlaceholderRegistry {
         return version.get();
     }
 
+    /*
+     * Returns the version of the last change to the placeholders with the given identifier, so that only the placeholders
+     * affected by a change need to be looked up again.
+     */
+    public long getVersion(PlaceholderIdentifier identifier) {
+        return identifierVersions.getOrDefault(identifier, 0L);
+    }
+
+    private void onChange(PlaceholderIdentifier identifier) {
+        identifierVersions.put(identifier, version.incrementAndGet());
+    }
+
+    private void onLegacyChange(String newIdentifier) {
+        // Legacy placeholders are found by the whole content, which is parsed to the same identifier of the occurrences
+        onChange(PlaceholderOccurrence.parse(newIdentifier).getIdentifier());
+    }
+
     public void registerIndividualPlaceholder(
-            Plugin plugin, String identifier, int refreshIntervalTicks, IndividualPlaceholderReplaceFunction replaceFunction) {
-        registerIndividualPlaceholder(plugin, identifier, new SimpleIndividualPlaceholder(refreshIntervalTicks, replaceFunction));
+            Plugin plugin,
+            String identifier,
+            int refreshIntervalTicks,
+            IndividualPlaceholderReplaceFunction replaceFunction,
+            PlaceholderRefreshMode refreshMode) {
+        IndividualPlaceholder placeholder = new SimpleIndividualPlaceholder(refreshIntervalTicks, replaceFunction);
+        registerIndividualPlaceholder(plugin, identifier, placeholder, refreshMode);
     }
 
-    public void registerIndividualPlaceholder(Plugin plugin, String identifier, IndividualPlaceholder placeholder) {
-        registerIndividualPlaceholderFactory(plugin, identifier, (String argument) -> placeholder);
+    public void registerIndividualPlaceholder(
+            Plugin plugin, String identifier, IndividualPlaceholder placeholder, PlaceholderRefreshMode refreshMode) {
+        registerIndividualPlaceholderFactory(plugin, identifier, (String argument) -> placeholder, refreshMode);
     }
 
-    public void registerIndividualPlaceholderFactory(Plugin plugin, String identifier, IndividualPlaceholderFactory factory) {
-        PlaceholderExpansion expansion = new IndividualPlaceholderExpansion(plugin, identifier, factory);
+    public void registerIndividualPlaceholderFactory(
+            Plugin plugin, String identifier, IndividualPlaceholderFactory factory, PlaceholderRefreshMode refreshMode) {
+        PlaceholderExpansion expansion = new IndividualPlaceholderExpansion(plugin, identifier, factory, refreshMode);
         registerExpansion(expansion);
     }
 
+    public <K> void registerPartitionedPlaceholder(
+            Plugin plugin,
+            String identifier,
+            int refreshIntervalTicks,
+            PartitionKeyFunction<K> keyFunction,
+            PartitionedPlaceholderReplaceFunction<K> replaceFunction,
+            PlaceholderRefreshMode refreshMode) {
+        registerExpansion(new PartitionedPlaceholderExpansion<>(
+                plugin, identifier, refreshIntervalTicks, keyFunction, replaceFunction, refreshMode));
+    }
+
     public void registerGlobalPlaceholder(
-            Plugin plugin, String identifier, int refreshIntervalTicks, GlobalPlaceholderReplaceFunction replaceFunction) {
-        registerGlobalPlaceholder(plugin, identifier, new SimpleGlobalPlaceholder(refreshIntervalTicks, replaceFunction));
+            Plugin plugin,
+            String identifier,
+            int refreshIntervalTicks,
+            GlobalPlaceholderReplaceFunction replaceFunction,
+            PlaceholderRefreshMode refreshMode) {
+        GlobalPlaceholder placeholder = new SimpleGlobalPlaceholder(refreshIntervalTicks, replaceFunction);
+        registerGlobalPlaceholder(plugin, identifier, placeholder, refreshMode);
     }
 
-    public void registerGlobalPlaceholder(Plugin plugin, String identifier, GlobalPlaceholder placeholder) {
-        registerGlobalPlaceholderFactory(plugin, identifier, (String argument) -> placeholder);
+    public void registerGlobalPlaceholder(
+            Plugin plugin, String identifier, GlobalPlaceholder placeholder, PlaceholderRefreshMode refreshMode) {
+        registerGlobalPlaceholderFactory(plugin, identifier, (String argument) -> placeholder, refreshMode);
     }
 
-    public void registerGlobalPlaceholderFactory(Plugin plugin, String identifier, GlobalPlaceholderFactory factory) {
-        PlaceholderExpansion expansion = new GlobalPlaceholderExpansion(plugin, identifier, factory);
+    public void registerGlobalPlaceholderFactory(
+            Plugin plugin, String identifier, GlobalPlaceholderFactory factory, PlaceholderRefreshMode refreshMode) {
+        PlaceholderExpansion expansion = new GlobalPlaceholderExpansion(plugin, identifier, factory, refreshMode);
         registerExpansion(expansion);
     }
 
+    public PlaceholderInvalidator registerGlobalPushPlaceholder(
+            Plugin plugin, String identifier, GlobalPlaceholderReplaceFunction replaceFunction) {
+        PlaceholderInvalidation invalidation = new PlaceholderInvalidation(false);
+        // The refresh interval is not used, push placeholders are refreshed only when invalidated
+        GlobalPlaceholder placeholder = new SimpleGlobalPlaceholder(0, replaceFunction);
+        registerExpansion(new GlobalPlaceholderExpansion(
+                plugin, identifier, (String argument) -> placeholder, PlaceholderRefreshMode.MAIN_THREAD, invalidation));
+        return invalidation;
+    }
+
+    public PlaceholderInvalidator registerIndividualPushPlaceholder(
+            Plugin plugin, String identifier, IndividualPlaceholderReplaceFunction replaceFunction) {
+        PlaceholderInvalidation invalidation = new PlaceholderInvalidation(true);
+        // The refresh interval is not used, push placeholders are refreshed only when invalidated
+        IndividualPlaceholder placeholder = new SimpleIndividualPlaceholder(0, replaceFunction);
+        registerExpansion(new IndividualPlaceholderExpansion(
+                plugin, identifier, (String argument) -> placeholder, PlaceholderRefreshMode.MAIN_THREAD, invalidation));
+        return invalidation;
+    }
+
     private void registerExpansion(PlaceholderExpansion expansion) {
         placeholderExpansions.put(expansion.getIdentifier(), expansion.getPluginName(), expansion);
 
-        version.incrementAndGet();
+        onChange(expansion.getIdentifier());
     }
 
     public void unregisterAll(Plugin plugin) {
-        placeholderExpansions.column(new PluginName(plugin)).clear();
-
-        version.incrementAndGet();
+        Map<PlaceholderIdentifier, PlaceholderExpansion> pluginExpansions = placeholderExpansions.column(new PluginName(plugin));
+        for (PlaceholderIdentifier identifier : pluginExpansions.keySet()) {
+            onChange(identifier);
+        }
+        pluginExpansions.clear();
     }
 
     public void unregister(Plugin plugin, String identifier) {
-        placeholderExpansions.remove(new PlaceholderIdentifier(identifier), new PluginName(plugin));
+        PlaceholderIdentifier placeholderIdentifier = new PlaceholderIdentifier(identifier);
+        placeholderExpansions.remove(placeholderIdentifier, new PluginName(plugin));
 
-        version.incrementAndGet();
+        onChange(placeholderIdentifier);
     }
 
     public @Nullable PlaceholderExpansion find(PlaceholderOccurrence textOccurrence) {
@@ -114,6 +187,10 @@ public class PlaceholderRegistry {
         return CollectionUtils.toImmutableSet(pluginExpansions, expansion -> expansion.getIdentifier().toString());
     }
 
+    public Iterable<PlaceholderExpansion> getAllExpansions() {
+        return Iterables.concat(placeholderExpansions.values(), legacyPlaceholderExpansions.values());
+    }
+
     public boolean isRegisteredIdentifier(Plugin plugin, String identifier) {
         return placeholderExpansions.contains(new PlaceholderIdentifier(identifier), new PluginName(plugin));
     }
@@ -144,20 +221,23 @@ public class PlaceholderRegistry {
 
         legacyPlaceholderExpansions.put(new CaseInsensitiveString(newIdentifier), new PluginName(plugin), expansion);
 
-        version.incrementAndGet();
+        onLegacyChange(newIdentifier);
     }
 
     public void unregisterLegacyPlaceholder(Plugin plugin, String legacyTextPlaceholder) {
         String newIdentifier = convertLegacyPlaceholderToNewIdentifier(legacyTextPlaceholder);
         legacyPlaceholderExpansions.remove(new CaseInsensitiveString(newIdentifier), new PluginName(plugin));
 
-        version.incrementAndGet();
+        onLegacyChange(newIdentifier);
     }
 
     public void unregisterAllLegacyPlaceholders(Plugin plugin) {
-        legacyPlaceholderExpansions.column(new PluginName(plugin)).clear();
-
-        version.incrementAndGet();
+        PluginName pluginName = new PluginName(plugin);
+        Map<CaseInsensitiveString, LegacyGlobalPlaceholderExpansion> expansions = legacyPlaceholderExpansions.column(pluginName);
+        for (CaseInsensitiveString newIdentifier : expansions.keySet()) {
+            onLegacyChange(newIdentifier.toString());
+        }
+        expansions.clear();
     }
 
     public boolean isRegisteredLegacyPlaceholder(Plugin plugin, String legacyTextPlaceholder) {
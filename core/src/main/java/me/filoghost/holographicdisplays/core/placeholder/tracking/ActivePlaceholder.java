@@ -7,18 +7,17 @@ package me.filoghost.holographicdisplays.core.placeholder.tracking;
 
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderException;
 import me.filoghost.holographicdisplays.core.placeholder.registry.PlaceholderExpansion;
+import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
 import me.filoghost.holographicdisplays.core.tick.TickExpiringValue;
-import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
-abstract class ActivePlaceholder implements TickExpiringValue {
+abstract class ActivePlaceholder extends TickExpiringValue {
 
     private final @Nullable PlaceholderExpansion source;
-    private long lastRequestTick;
+    private boolean removed;
 
     ActivePlaceholder(@Nullable PlaceholderExpansion source) {
         this.source = source;
-        this.lastRequestTick = -1;
     }
 
     final @Nullable PlaceholderExpansion getSource() {
@@ -26,17 +25,42 @@ abstract class ActivePlaceholder implements TickExpiringValue {
     }
 
     @Override
-    public final long getLastUseTick() {
-        return lastRequestTick;
+    protected final void onRemoval() {
+        removed = true;
+        cancelRefreshes();
     }
 
-    final @Nullable String computeReplacement(@Nullable Player player, long currentTick) throws PlaceholderException {
-        this.lastRequestTick = currentTick;
+    /*
+     * Removed placeholders are no longer tracked, references to them must be replaced with a new lookup.
+     */
+    final boolean isRemoved() {
+        return removed;
+    }
+
+    final @Nullable String computeReplacement(@Nullable CachedPlayer player, long currentTick) throws PlaceholderException {
+        onUse(currentTick);
         return doComputeReplacement(player, currentTick);
     }
 
     abstract boolean isIndividual();
 
-    abstract @Nullable String doComputeReplacement(Player player, long currentTick) throws PlaceholderException;
+    /*
+     * Returns the version of the last replacement computed for the player.
+     */
+    abstract long getReplacementVersion(CachedPlayer player);
+
+    abstract void cancelRefreshes();
+
+    /*
+     * Releases the state kept for the player, before the slot of the player is reused.
+     */
+    abstract void removePlayer(CachedPlayer player);
+
+    /*
+     * Returns the number of distinct replacements kept in memory, which can be many for individual placeholders.
+     */
+    abstract int getReplacementHoldersCount();
+
+    abstract @Nullable String doComputeReplacement(CachedPlayer player, long currentTick) throws PlaceholderException;
 
 }
@@ -5,36 +5,71 @@
  */
 package me.filoghost.holographicdisplays.core.placeholder.tracking;
 
+import me.filoghost.holographicdisplays.core.placeholder.PartitionedStandardPlaceholder;
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderException;
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderIdentifier;
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderOccurrence;
 import me.filoghost.holographicdisplays.core.placeholder.StandardPlaceholder;
-import me.filoghost.holographicdisplays.core.placeholder.parsing.PlaceholderReplaceFunction;
 import me.filoghost.holographicdisplays.core.placeholder.parsing.StringWithPlaceholders;
 import me.filoghost.holographicdisplays.core.placeholder.registry.PlaceholderExpansion;
 import me.filoghost.holographicdisplays.core.placeholder.registry.PlaceholderRegistry;
+import me.filoghost.holographicdisplays.core.profiling.PlaceholderTimings;
+import me.filoghost.holographicdisplays.core.profiling.TickProfiler;
+import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
 import me.filoghost.holographicdisplays.core.tick.TickClock;
 import me.filoghost.holographicdisplays.core.tick.TickExpiringMap;
-import org.bukkit.entity.Player;
+import me.filoghost.holographicdisplays.core.tick.TickTimerWheel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
 
-public class ActivePlaceholderTracker implements PlaceholderReplaceFunction {
+public class ActivePlaceholderTracker {
 
     private final PlaceholderRegistry registry;
     private final TickClock tickClock;
+    private final TickProfiler tickProfiler;
     private final PlaceholderExceptionHandler exceptionHandler;
+    private final PlaceholderRefreshExecutor refreshExecutor;
+    private final TickTimerWheel timerWheel;
+    private final BatchedRefreshQueue batchedRefreshQueue;
     private final TickExpiringMap<PlaceholderOccurrence, ActivePlaceholder> activePlaceholders;
 
+    // Dependency indexes, to look up again only the placeholders whose identifier changed in the registry
+    private final Map<PlaceholderIdentifier, Set<PlaceholderOccurrence>> activeOccurrencesByIdentifier;
+    private final Map<PlaceholderIdentifier, Set<CompiledText>> compiledTextsByIdentifier;
+
     private long lastRegistryVersion;
 
-    public ActivePlaceholderTracker(PlaceholderRegistry registry, TickClock tickClock) {
+    public ActivePlaceholderTracker(PlaceholderRegistry registry, TickClock tickClock, TickProfiler tickProfiler) {
+        this(registry, tickClock, tickProfiler, new PlaceholderRefreshExecutor());
+    }
+
+    ActivePlaceholderTracker(
+            PlaceholderRegistry registry,
+            TickClock tickClock,
+            TickProfiler tickProfiler,
+            PlaceholderRefreshExecutor refreshExecutor) {
         this.registry = registry;
         this.tickClock = tickClock;
+        this.tickProfiler = tickProfiler;
         this.exceptionHandler = new PlaceholderExceptionHandler(tickClock);
-        this.activePlaceholders = new TickExpiringMap<>(new HashMap<>(), 10);
+        this.refreshExecutor = refreshExecutor;
+        this.timerWheel = new TickTimerWheel(tickClock);
+        this.batchedRefreshQueue = new BatchedRefreshQueue();
+        this.activePlaceholders = new TickExpiringMap<>(timerWheel, 10, this::onPlaceholderRemoval);
+        this.activeOccurrencesByIdentifier = new HashMap<>();
+        this.compiledTextsByIdentifier = new HashMap<>();
     }
 
     public void clearOutdatedEntries() {
@@ -42,41 +77,147 @@ public class ActivePlaceholderTracker implements PlaceholderReplaceFunction {
         if (lastRegistryVersion == currentRegistryVersion) {
             return;
         }
+
+        List<PlaceholderIdentifier> changedIdentifiers = new ArrayList<>();
+        for (PlaceholderIdentifier identifier : activeOccurrencesByIdentifier.keySet()) {
+            if (registry.getVersion(identifier) > lastRegistryVersion) {
+                changedIdentifiers.add(identifier);
+            }
+        }
+        for (PlaceholderIdentifier identifier : changedIdentifiers) {
+            removeOutdatedPlaceholders(identifier);
+        }
+
+        Iterator<Entry<PlaceholderIdentifier, Set<CompiledText>>> iterator = compiledTextsByIdentifier.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<PlaceholderIdentifier, Set<CompiledText>> entry = iterator.next();
+            if (entry.getValue().isEmpty()) {
+                // All the texts were garbage collected
+                iterator.remove();
+            } else if (registry.getVersion(entry.getKey()) > lastRegistryVersion) {
+                for (CompiledText compiledText : entry.getValue()) {
+                    compiledText.onRegistryChange();
+                }
+            }
+        }
+
         lastRegistryVersion = currentRegistryVersion;
+    }
+
+    private void removeOutdatedPlaceholders(PlaceholderIdentifier identifier) {
+        // Copied because removing a placeholder also removes it from the index
+        List<PlaceholderOccurrence> placeholderOccurrences = new ArrayList<>(activeOccurrencesByIdentifier.get(identifier));
 
         // Remove entries whose placeholder expansion sources are outdated
-        activePlaceholders.removeEntries((PlaceholderOccurrence placeholderOccurrence, ActivePlaceholder activePlaceholder) -> {
-            PlaceholderExpansion currentSource = activePlaceholder.getSource();
+        for (PlaceholderOccurrence placeholderOccurrence : placeholderOccurrences) {
+            PlaceholderExpansion currentSource = activePlaceholders.get(placeholderOccurrence).getSource();
             PlaceholderExpansion newSource = registry.find(placeholderOccurrence);
 
-            return !Objects.equals(currentSource, newSource);
-        });
+            if (!Objects.equals(currentSource, newSource)) {
+                activePlaceholders.remove(placeholderOccurrence);
+            }
+        }
     }
 
-    public void clearInactivePlaceholders() {
-        activePlaceholders.clearUnusedEntries(tickClock.getCurrentTick());
+    private void onPlaceholderRemoval(PlaceholderOccurrence placeholderOccurrence, ActivePlaceholder activePlaceholder) {
+        PlaceholderIdentifier identifier = placeholderOccurrence.getIdentifier();
+        Set<PlaceholderOccurrence> placeholderOccurrences = activeOccurrencesByIdentifier.get(identifier);
+        placeholderOccurrences.remove(placeholderOccurrence);
+        if (placeholderOccurrences.isEmpty()) {
+            activeOccurrencesByIdentifier.remove(identifier);
+        }
     }
 
-    @Override
-    public @Nullable String getReplacement(@Nullable Player player, @NotNull PlaceholderOccurrence placeholderOccurrence) {
+    /*
+     * Removes the placeholders which were not used recently and marks the refreshes that are due in the next tick.
+     */
+    public void advanceTimers() {
+        timerWheel.advance();
+    }
+
+    /*
+     * Computes together the replacements of the batched placeholders that are due in this tick, before the line trackers.
+     */
+    public void refreshBatchedPlaceholders() {
+        batchedRefreshQueue.refreshDueHolders();
+    }
+
+    public @Nullable String getReplacement(@Nullable CachedPlayer player, @NotNull PlaceholderOccurrence placeholderOccurrence) {
         try {
-            ActivePlaceholder activePlaceholder = trackAndGetPlaceholder(placeholderOccurrence);
-            if (player == null && activePlaceholder.isIndividual()) {
-                return null;
+            return computeReplacement(trackAndGetPlaceholder(placeholderOccurrence), player, placeholderOccurrence);
+        } catch (PlaceholderException e) {
+            return handleException(e, placeholderOccurrence);
+        }
+    }
+
+    public @NotNull CompiledText compile(@NotNull StringWithPlaceholders stringWithPlaceholders) {
+        CompiledText compiledText = new CompiledText(this, stringWithPlaceholders);
+
+        // Weakly referenced, compiled texts are simply discarded when no longer used
+        for (PlaceholderOccurrence placeholderOccurrence : stringWithPlaceholders.getPlaceholderOccurrences()) {
+            compiledTextsByIdentifier
+                    .computeIfAbsent(placeholderOccurrence.getIdentifier(), key -> Collections.newSetFromMap(new WeakHashMap<>()))
+                    .add(compiledText);
+        }
+        return compiledText;
+    }
+
+    /*
+     * Must be called when the player quits, before the slot of the player is reused.
+     */
+    public void removePlayer(@NotNull CachedPlayer player) {
+        activePlaceholders.forEach((placeholderOccurrence, activePlaceholder) -> activePlaceholder.removePlayer(player));
+    }
+
+    /*
+     * Returns the number of replacements kept in memory (one for each player, or one for each key of partitioned
+     * placeholders), for each tracked individual placeholder.
+     */
+    public @NotNull Map<String, Integer> getIndividualReplacementHoldersCount() {
+        Map<String, Integer> replacementHoldersCount = new HashMap<>();
+        activePlaceholders.forEach((placeholderOccurrence, activePlaceholder) -> {
+            if (activePlaceholder.isIndividual()) {
+                replacementHoldersCount.put(
+                        placeholderOccurrence.getUnparsedContent().toString(),
+                        activePlaceholder.getReplacementHoldersCount());
             }
+        });
+        return replacementHoldersCount;
+    }
+
+    @Nullable String computeReplacement(
+            @NotNull ActivePlaceholder activePlaceholder,
+            @Nullable CachedPlayer player,
+            @NotNull PlaceholderOccurrence placeholderOccurrence) {
+        if (player == null && activePlaceholder.isIndividual()) {
+            return null;
+        }
+
+        try {
             return activePlaceholder.computeReplacement(player, tickClock.getCurrentTick());
         } catch (PlaceholderException e) {
-            exceptionHandler.handle(e, placeholderOccurrence);
-            return "[Error]";
+            return handleException(e, placeholderOccurrence);
         }
     }
 
-    private @NotNull ActivePlaceholder trackAndGetPlaceholder(PlaceholderOccurrence placeholderOccurrence) throws PlaceholderException {
+    long getCurrentTick() {
+        return tickClock.getCurrentTick();
+    }
+
+    @NotNull String handleException(PlaceholderException e, PlaceholderOccurrence placeholderOccurrence) {
+        exceptionHandler.handle(e, placeholderOccurrence);
+        return "[Error]";
+    }
+
+    @NotNull ActivePlaceholder trackAndGetPlaceholder(PlaceholderOccurrence placeholderOccurrence) throws PlaceholderException {
         ActivePlaceholder activePlaceholder = activePlaceholders.get(placeholderOccurrence);
 
         if (activePlaceholder == null) {
             activePlaceholder = createActivePlaceholder(placeholderOccurrence);
             activePlaceholders.put(placeholderOccurrence, activePlaceholder);
+            activeOccurrencesByIdentifier
+                    .computeIfAbsent(placeholderOccurrence.getIdentifier(), key -> new HashSet<>())
+                    .add(placeholderOccurrence);
         }
 
         return activePlaceholder;
@@ -94,22 +235,29 @@ public class ActivePlaceholderTracker implements PlaceholderReplaceFunction {
 
         if (placeholder == null) {
             return new NullActivePlaceholder(placeholderExpansion);
+        }
+
+        PlaceholderTimings placeholderTimings = tickProfiler.getPlaceholderTimings(placeholderExpansion.getPluginName());
+        if (placeholder instanceof PartitionedStandardPlaceholder) {
+            return new PartitionedActivePlaceholder(
+                    (PartitionedStandardPlaceholder) placeholder, placeholderOccurrence, placeholderTimings, refreshExecutor, timerWheel);
         } else if (placeholder.isIndividual()) {
-            return new IndividualActivePlaceholder(placeholder, placeholderOccurrence);
+            return new IndividualActivePlaceholder(
+                    placeholder, placeholderOccurrence, placeholderTimings, refreshExecutor, timerWheel, batchedRefreshQueue);
         } else {
-            return new GlobalActivePlaceholder(placeholder, placeholderOccurrence);
+            return new GlobalActivePlaceholder(placeholder, placeholderOccurrence, placeholderTimings, refreshExecutor, timerWheel);
         }
     }
 
-    public boolean containsIndividualPlaceholders(@NotNull StringWithPlaceholders stringWithPlaceholders) {
+    boolean containsIndividualPlaceholders(@NotNull StringWithPlaceholders stringWithPlaceholders) {
         return stringWithPlaceholders.anyPlaceholderMatch(occurrence -> {
             PlaceholderExpansion placeholderExpansion = registry.find(occurrence);
             return placeholderExpansion != null && placeholderExpansion.isIndividual();
         });
     }
 
-    public long getRegistryVersion() {
-        return registry.getVersion();
+    public void shutdownAsyncRefreshes() {
+        refreshExecutor.shutdown();
     }
 
 }
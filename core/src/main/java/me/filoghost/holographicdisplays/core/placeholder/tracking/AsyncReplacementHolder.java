@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder.tracking;
+
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderException;
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderOccurrence;
+import me.filoghost.holographicdisplays.core.placeholder.StandardPlaceholder;
+import me.filoghost.holographicdisplays.core.tick.TickTimerWheel;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.Future;
+
+/*
+ * Computes the replacement on a separate thread, while the last computed replacement is displayed.
+ * Only one refresh at a time can be in progress, the other fields are only accessed from the main thread.
+ */
+class AsyncReplacementHolder extends ReplacementHolder {
+
+    private final @NotNull PlaceholderRefreshExecutor refreshExecutor;
+
+    private @Nullable Future<?> pendingRefresh;
+    private volatile @Nullable RefreshResult completedRefresh;
+    private volatile boolean cancelled;
+
+    // Displayed until the first refresh is completed, instead of the unreplaced placeholder
+    private @Nullable String currentReplacement = "";
+    private @Nullable PlaceholderException currentException;
+    private @Nullable String lastGoodReplacement = "";
+
+    AsyncReplacementHolder(
+            @NotNull StandardPlaceholder placeholder,
+            @NotNull PlaceholderOccurrence placeholderOccurrence,
+            @NotNull PlaceholderRefreshExecutor refreshExecutor,
+            @NotNull TickTimerWheel timerWheel) {
+        super(placeholder, placeholderOccurrence, timerWheel);
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    boolean refresh(Player player, StandardPlaceholder placeholder, @Nullable String argument) {
+        if (pendingRefresh != null) {
+            return false; // Wait for the current refresh to complete
+        }
+
+        // If the executor is overloaded the task is rejected, but it's still considered a refresh to avoid retrying every tick
+        pendingRefresh = refreshExecutor.trySubmit(() -> {
+            if (cancelled) {
+                return;
+            }
+
+            RefreshResult result;
+            long startNanos = System.nanoTime();
+            try {
+                result = new RefreshResult(placeholder.getReplacement(player, argument), null);
+            } catch (PlaceholderException e) {
+                result = new RefreshResult(null, e);
+            }
+            onCallCompleted(System.nanoTime() - startNanos, result.exception != null);
+
+            // Discard the result if the placeholder was removed in the meantime
+            if (!cancelled) {
+                completedRefresh = result;
+            }
+        });
+        return true;
+    }
+
+    @Override
+    @Nullable String getCurrentReplacement() throws PlaceholderException {
+        RefreshResult result = completedRefresh;
+        if (result != null) {
+            completedRefresh = null;
+            pendingRefresh = null;
+            if (!Objects.equals(currentReplacement, result.replacement) || currentException != result.exception) {
+                currentReplacement = result.replacement;
+                currentException = result.exception;
+                onReplacementChange();
+            }
+            if (result.exception == null) {
+                lastGoodReplacement = result.replacement;
+            }
+        }
+
+        if (currentException != null) {
+            throw currentException;
+        }
+        return currentReplacement;
+    }
+
+    @Override
+    @Nullable String getLastGoodReplacement() {
+        return lastGoodReplacement;
+    }
+
+    @Override
+    boolean isRefreshPending() {
+        return pendingRefresh != null;
+    }
+
+    @Override
+    void cancelPendingRefresh() {
+        cancelled = true;
+        if (pendingRefresh != null) {
+            pendingRefresh.cancel(false);
+            pendingRefresh = null;
+        }
+    }
+
+
+    private static class RefreshResult {
+
+        private final @Nullable String replacement;
+        private final @Nullable PlaceholderException exception;
+
+        private RefreshResult(@Nullable String replacement, @Nullable PlaceholderException exception) {
+            this.replacement = replacement;
+            this.exception = exception;
+        }
+
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder.tracking;
+
+import me.filoghost.holographicdisplays.core.placeholder.BatchedIndividualPlaceholder;
+import me.filoghost.holographicdisplays.core.placeholder.IndividualPlaceholderBatcher;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/*
+ * Computes together the replacements of the batched placeholders whose scheduled refresh is due in the current tick, with a
+ * single call to the batcher for each player, before the line trackers request them. The refreshes become due at the end of
+ * the previous tick, when the timers are advanced, so only the placeholders that are actually due are batched.
+ *
+ * The time of the whole call is added to the placeholder timings once. It's not recorded by the circuit breakers, which only
+ * record the calls of a single placeholder: the placeholders whose breaker is not closed are refreshed separately.
+ */
+class BatchedRefreshQueue {
+
+    private final List<SyncReplacementHolder> dueHolders;
+    private final List<SyncReplacementHolder> batchedHolders;
+
+    BatchedRefreshQueue() {
+        this.dueHolders = new ArrayList<>();
+        this.batchedHolders = new ArrayList<>();
+    }
+
+    void add(SyncReplacementHolder replacementHolder) {
+        dueHolders.add(replacementHolder);
+    }
+
+    void refreshDueHolders() {
+        // Discard the replacements not requested in the previous tick, the placeholders are refreshed again when requested
+        for (int i = 0; i < batchedHolders.size(); i++) {
+            batchedHolders.get(i).clearBatchedReplacement();
+        }
+        batchedHolders.clear();
+
+        if (dueHolders.isEmpty()) {
+            return;
+        }
+
+        Map<Player, Map<IndividualPlaceholderBatcher, List<SyncReplacementHolder>>> holdersByPlayer = new LinkedHashMap<>();
+        for (SyncReplacementHolder replacementHolder : dueHolders) {
+            IndividualPlaceholderBatcher batcher = replacementHolder.getBatchedPlaceholder().getBatcher();
+            if (batcher != null && replacementHolder.canRefreshInBatch()) {
+                holdersByPlayer
+                        .computeIfAbsent(replacementHolder.getBatchPlayer(), key -> new LinkedHashMap<>())
+                        .computeIfAbsent(batcher, key -> new ArrayList<>())
+                        .add(replacementHolder);
+            }
+        }
+        dueHolders.clear();
+
+        for (Entry<Player, Map<IndividualPlaceholderBatcher, List<SyncReplacementHolder>>> entry : holdersByPlayer.entrySet()) {
+            for (Entry<IndividualPlaceholderBatcher, List<SyncReplacementHolder>> batch : entry.getValue().entrySet()) {
+                // A single placeholder is refreshed separately as usual
+                if (batch.getValue().size() > 1) {
+                    refreshBatch(entry.getKey(), batch.getKey(), batch.getValue());
+                }
+            }
+        }
+    }
+
+    private void refreshBatch(Player player, IndividualPlaceholderBatcher batcher, List<SyncReplacementHolder> replacementHolders) {
+        List<BatchedIndividualPlaceholder> placeholders = new ArrayList<>(replacementHolders.size());
+        for (SyncReplacementHolder replacementHolder : replacementHolders) {
+            placeholders.add(replacementHolder.getBatchedPlaceholder());
+        }
+
+        long startNanos = System.nanoTime();
+        List<String> replacements;
+        try {
+            replacements = batcher.getReplacements(player, placeholders);
+        } catch (Throwable t) {
+            // The placeholders are refreshed separately, where the exception is handled for each of them
+            replacements = null;
+        }
+        replacementHolders.get(0).getPlaceholderTimings().addReplacementTime(System.nanoTime() - startNanos);
+
+        if (replacements == null || replacements.size() != replacementHolders.size()) {
+            return;
+        }
+        for (int i = 0; i < replacementHolders.size(); i++) {
+            SyncReplacementHolder replacementHolder = replacementHolders.get(i);
+            replacementHolder.setBatchedReplacement(replacements.get(i));
+            batchedHolders.add(replacementHolder);
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder.tracking;
+
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderException;
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderOccurrence;
+import me.filoghost.holographicdisplays.core.placeholder.parsing.StringWithPlaceholders;
+import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/*
+ * A text whose placeholders are bound directly to their active placeholders, to avoid looking them up in the map of the tracker
+ * every time the text is replaced. A placeholder is looked up again only after it's removed from the tracker, because it
+ * expired or because the placeholder registry changed.
+ */
+public class CompiledText {
+
+    static final long NO_VERSION = -1;
+
+    private final ActivePlaceholderTracker placeholderTracker;
+    private final StringWithPlaceholders stringWithPlaceholders;
+    private final ActivePlaceholder[] boundPlaceholders;
+    private @Nullable Boolean containsIndividualPlaceholders;
+
+    CompiledText(ActivePlaceholderTracker placeholderTracker, StringWithPlaceholders stringWithPlaceholders) {
+        this.placeholderTracker = placeholderTracker;
+        this.stringWithPlaceholders = stringWithPlaceholders;
+        this.boundPlaceholders = new ActivePlaceholder[stringWithPlaceholders.getPlaceholderOccurrences().size()];
+    }
+
+    /**
+     * Refreshes the replacements of the placeholders (if necessary) and composes the text again only if at least one of them
+     * changed since the last update of the composed text. Returns true if the composed text changed.
+     */
+    public boolean update(@Nullable CachedPlayer player, @NotNull ComposedText composedText) {
+        boolean replacementsChanged = composedText.bindTo(this, boundPlaceholders.length);
+        List<PlaceholderOccurrence> placeholderOccurrences = stringWithPlaceholders.getPlaceholderOccurrences();
+
+        for (int i = 0; i < boundPlaceholders.length; i++) {
+            if (updateReplacement(player, composedText, i, placeholderOccurrences.get(i))) {
+                replacementsChanged = true;
+            }
+        }
+
+        if (!replacementsChanged) {
+            return false;
+        }
+
+        String previousText = composedText.getText();
+        String newText = stringWithPlaceholders.replacePlaceholders(
+                player != null ? player.getBukkitPlayer() : null, composedText);
+        composedText.setText(newText);
+        return !Objects.equals(previousText, newText);
+    }
+
+    /*
+     * Cached until one of the placeholders changes in the registry.
+     */
+    public boolean containsIndividualPlaceholders() {
+        if (containsIndividualPlaceholders == null) {
+            containsIndividualPlaceholders = placeholderTracker.containsIndividualPlaceholders(stringWithPlaceholders);
+        }
+        return containsIndividualPlaceholders;
+    }
+
+    void onRegistryChange() {
+        containsIndividualPlaceholders = null;
+    }
+
+    private boolean updateReplacement(
+            @Nullable CachedPlayer player,
+            @NotNull ComposedText composedText,
+            int placeholderIndex,
+            @NotNull PlaceholderOccurrence placeholderOccurrence) {
+        String replacement;
+        long version;
+
+        try {
+            ActivePlaceholder activePlaceholder = getBoundPlaceholder(placeholderIndex, placeholderOccurrence);
+            if (player == null && activePlaceholder.isIndividual()) {
+                replacement = null;
+                version = NO_VERSION;
+            } else {
+                replacement = activePlaceholder.computeReplacement(player, placeholderTracker.getCurrentTick());
+                version = activePlaceholder.getReplacementVersion(player);
+            }
+        } catch (PlaceholderException e) {
+            // Errors always have the same replacement, they are composed again only when the previous replacement was different
+            replacement = placeholderTracker.handleException(e, placeholderOccurrence);
+            version = NO_VERSION;
+        }
+
+        return composedText.setReplacement(placeholderIndex, replacement, version);
+    }
+
+    private ActivePlaceholder getBoundPlaceholder(int placeholderIndex, PlaceholderOccurrence placeholderOccurrence)
+            throws PlaceholderException {
+        ActivePlaceholder activePlaceholder = boundPlaceholders[placeholderIndex];
+
+        if (activePlaceholder == null || activePlaceholder.isRemoved()) {
+            activePlaceholder = placeholderTracker.trackAndGetPlaceholder(placeholderOccurrence);
+            boundPlaceholders[placeholderIndex] = activePlaceholder;
+        }
+
+        return activePlaceholder;
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder.tracking;
+
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderOccurrence;
+import me.filoghost.holographicdisplays.core.placeholder.parsing.IndexedPlaceholderReplaceFunction;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/*
+ * The result of replacing the placeholders of a compiled text, along with the versions of the replacements it was composed
+ * with. It can be reused with a different compiled text, in that case it's composed again from scratch.
+ */
+public class ComposedText implements IndexedPlaceholderReplaceFunction {
+
+    private static final long[] EMPTY_VERSIONS = new long[0];
+    private static final String[] EMPTY_REPLACEMENTS = new String[0];
+
+    private @Nullable CompiledText compiledText;
+    private long[] replacementVersions;
+    private @Nullable String[] replacements;
+    private @Nullable String text;
+
+    public ComposedText() {
+        this.replacementVersions = EMPTY_VERSIONS;
+        this.replacements = EMPTY_REPLACEMENTS;
+    }
+
+    public @Nullable String getText() {
+        return text;
+    }
+
+    public void clear() {
+        compiledText = null;
+        text = null;
+    }
+
+    /*
+     * Returns true if the compiled text is different from the previous one, and all the replacements must be composed again.
+     */
+    boolean bindTo(CompiledText compiledText, int placeholdersCount) {
+        if (this.compiledText == compiledText) {
+            return false;
+        }
+
+        this.compiledText = compiledText;
+        if (replacementVersions.length != placeholdersCount) {
+            replacementVersions = new long[placeholdersCount];
+            replacements = new String[placeholdersCount];
+        }
+        Arrays.fill(replacementVersions, CompiledText.NO_VERSION);
+        Arrays.fill(replacements, null);
+        return true;
+    }
+
+    /*
+     * Returns true if the replacement changed.
+     */
+    boolean setReplacement(int placeholderIndex, @Nullable String replacement, long version) {
+        if (version != CompiledText.NO_VERSION && replacementVersions[placeholderIndex] == version) {
+            return false;
+        }
+        // Without a version, the replacement itself is compared
+        if (version == CompiledText.NO_VERSION && Objects.equals(replacements[placeholderIndex], replacement)) {
+            replacementVersions[placeholderIndex] = version;
+            return false;
+        }
+
+        replacementVersions[placeholderIndex] = version;
+        replacements[placeholderIndex] = replacement;
+        return true;
+    }
+
+    void setText(@Nullable String text) {
+        this.text = text;
+    }
+
+    @Override
+    public @Nullable String getReplacement(
+            @Nullable Player player,
+            int placeholderIndex,
+            @NotNull PlaceholderOccurrence placeholderOccurrence) {
+        return replacements[placeholderIndex];
+    }
+
+}
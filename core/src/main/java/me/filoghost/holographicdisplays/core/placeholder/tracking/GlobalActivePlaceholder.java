@@ -8,7 +8,9 @@ package me.filoghost.holographicdisplays.core.placeholder.tracking;
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderException;
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderOccurrence;
 import me.filoghost.holographicdisplays.core.placeholder.StandardPlaceholder;
-import org.bukkit.entity.Player;
+import me.filoghost.holographicdisplays.core.profiling.PlaceholderTimings;
+import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
+import me.filoghost.holographicdisplays.core.tick.TickTimerWheel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -16,9 +18,15 @@ class GlobalActivePlaceholder extends ActivePlaceholder {
 
     private final ReplacementHolder replacementHolder;
 
-    GlobalActivePlaceholder(@NotNull StandardPlaceholder placeholder, @NotNull PlaceholderOccurrence placeholderOccurrence) {
+    GlobalActivePlaceholder(
+            @NotNull StandardPlaceholder placeholder,
+            @NotNull PlaceholderOccurrence placeholderOccurrence,
+            @NotNull PlaceholderTimings placeholderTimings,
+            @NotNull PlaceholderRefreshExecutor refreshExecutor,
+            @NotNull TickTimerWheel timerWheel) {
         super(placeholder.getSource());
-        this.replacementHolder = new ReplacementHolder(placeholder, placeholderOccurrence);
+        this.replacementHolder = ReplacementHolder.create(
+                placeholder, placeholderOccurrence, placeholderTimings, refreshExecutor, timerWheel);
     }
 
     @Override
@@ -27,9 +35,28 @@ class GlobalActivePlaceholder extends ActivePlaceholder {
     }
 
     @Override
-    @Nullable String doComputeReplacement(Player player, long currentTick) throws PlaceholderException {
-        return replacementHolder.computeReplacement(player, currentTick);
+    @Nullable String doComputeReplacement(CachedPlayer player, long currentTick) throws PlaceholderException {
+        return replacementHolder.computeReplacement(player != null ? player.getBukkitPlayer() : null, currentTick);
     }
 
+    @Override
+    long getReplacementVersion(CachedPlayer player) {
+        return replacementHolder.getVersion();
+    }
+
+    @Override
+    void cancelRefreshes() {
+        replacementHolder.cancelRefresh();
+    }
+
+    @Override
+    void removePlayer(CachedPlayer player) {
+        // Nothing to release, the replacement is shared by all the players
+    }
+
+    @Override
+    int getReplacementHoldersCount() {
+        return 1;
+    }
 
 }
@@ -8,22 +8,47 @@ package me.filoghost.holographicdisplays.core.placeholder.tracking;
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderException;
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderOccurrence;
 import me.filoghost.holographicdisplays.core.placeholder.StandardPlaceholder;
-import org.bukkit.entity.Player;
+import me.filoghost.holographicdisplays.core.profiling.PlaceholderTimings;
+import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
+import me.filoghost.holographicdisplays.core.tick.TickTimerWheel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.WeakHashMap;
-import java.util.function.Function;
+import java.util.Arrays;
 
+/*
+ * The replacement holders are indexed by the slot of the player, instead of a weak map, to avoid hashing the player on each
+ * replacement. Since slots are reused, the holder of a player must be removed explicitly when the player quits.
+ */
 class IndividualActivePlaceholder extends ActivePlaceholder {
 
-    private final WeakHashMap<Player, ReplacementHolder> replacementHolderByPlayer;
-    private final Function<Player, ReplacementHolder> mappingFunction;
+    private static final ReplacementHolder[] EMPTY_HOLDERS = new ReplacementHolder[0];
+
+    private final @NotNull StandardPlaceholder placeholder;
+    private final @NotNull PlaceholderOccurrence placeholderOccurrence;
+    private final @NotNull PlaceholderTimings placeholderTimings;
+    private final @NotNull PlaceholderRefreshExecutor refreshExecutor;
+    private final @NotNull TickTimerWheel timerWheel;
+    private final @NotNull BatchedRefreshQueue batchedRefreshQueue;
 
-    IndividualActivePlaceholder(@NotNull StandardPlaceholder placeholder, @NotNull PlaceholderOccurrence placeholderOccurrence) {
+    private ReplacementHolder[] replacementHoldersBySlot;
+    private int replacementHoldersCount;
+
+    IndividualActivePlaceholder(
+            @NotNull StandardPlaceholder placeholder,
+            @NotNull PlaceholderOccurrence placeholderOccurrence,
+            @NotNull PlaceholderTimings placeholderTimings,
+            @NotNull PlaceholderRefreshExecutor refreshExecutor,
+            @NotNull TickTimerWheel timerWheel,
+            @NotNull BatchedRefreshQueue batchedRefreshQueue) {
         super(placeholder.getSource());
-        this.replacementHolderByPlayer = new WeakHashMap<>();
-        this.mappingFunction = key -> new ReplacementHolder(placeholder, placeholderOccurrence);
+        this.placeholder = placeholder;
+        this.placeholderOccurrence = placeholderOccurrence;
+        this.placeholderTimings = placeholderTimings;
+        this.refreshExecutor = refreshExecutor;
+        this.timerWheel = timerWheel;
+        this.batchedRefreshQueue = batchedRefreshQueue;
+        this.replacementHoldersBySlot = EMPTY_HOLDERS;
     }
 
     @Override
@@ -32,10 +57,62 @@ class IndividualActivePlaceholder extends ActivePlaceholder {
     }
 
     @Override
-    @Nullable String doComputeReplacement(Player player, long currentTick) throws PlaceholderException {
-        return replacementHolderByPlayer
-                .computeIfAbsent(player, mappingFunction)
-                .computeReplacement(player, currentTick);
+    @Nullable String doComputeReplacement(CachedPlayer player, long currentTick) throws PlaceholderException {
+        int slot = player.getSlot();
+        if (slot >= replacementHoldersBySlot.length) {
+            replacementHoldersBySlot = Arrays.copyOf(replacementHoldersBySlot, Math.max(slot + 1, replacementHoldersBySlot.length * 2));
+        }
+
+        ReplacementHolder replacementHolder = replacementHoldersBySlot[slot];
+        if (replacementHolder == null) {
+            replacementHolder = ReplacementHolder.createIndividual(
+                    placeholder,
+                    placeholderOccurrence,
+                    placeholderTimings,
+                    refreshExecutor,
+                    timerWheel,
+                    player.getBukkitPlayer(),
+                    batchedRefreshQueue);
+            replacementHoldersBySlot[slot] = replacementHolder;
+            replacementHoldersCount++;
+        }
+
+        return replacementHolder.computeReplacement(player.getBukkitPlayer(), currentTick);
+    }
+
+    @Override
+    long getReplacementVersion(CachedPlayer player) {
+        int slot = player.getSlot();
+        if (slot >= replacementHoldersBySlot.length || replacementHoldersBySlot[slot] == null) {
+            return 0;
+        }
+        return replacementHoldersBySlot[slot].getVersion();
+    }
+
+    @Override
+    void cancelRefreshes() {
+        for (ReplacementHolder replacementHolder : replacementHoldersBySlot) {
+            if (replacementHolder != null) {
+                replacementHolder.cancelRefresh();
+            }
+        }
+    }
+
+    @Override
+    void removePlayer(CachedPlayer player) {
+        int slot = player.getSlot();
+        if (slot >= replacementHoldersBySlot.length || replacementHoldersBySlot[slot] == null) {
+            return;
+        }
+
+        replacementHoldersBySlot[slot].cancelRefresh();
+        replacementHoldersBySlot[slot] = null;
+        replacementHoldersCount--;
+    }
+
+    @Override
+    int getReplacementHoldersCount() {
+        return replacementHoldersCount;
     }
 
 }
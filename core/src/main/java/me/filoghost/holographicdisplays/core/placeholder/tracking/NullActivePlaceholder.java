@@ -6,7 +6,7 @@
 package me.filoghost.holographicdisplays.core.placeholder.tracking;
 
 import me.filoghost.holographicdisplays.core.placeholder.registry.PlaceholderExpansion;
-import org.bukkit.entity.Player;
+import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
 import org.jetbrains.annotations.Nullable;
 
 class NullActivePlaceholder extends ActivePlaceholder {
@@ -16,7 +16,7 @@ class NullActivePlaceholder extends ActivePlaceholder {
     }
 
     @Override
-    @Nullable String doComputeReplacement(Player player, long currentTick) {
+    @Nullable String doComputeReplacement(CachedPlayer player, long currentTick) {
         return null;
     }
 
@@ -25,4 +25,24 @@ class NullActivePlaceholder extends ActivePlaceholder {
         return false;
     }
 
+    @Override
+    long getReplacementVersion(CachedPlayer player) {
+        return 0; // The replacement never changes
+    }
+
+    @Override
+    void cancelRefreshes() {
+        // No refreshes to cancel
+    }
+
+    @Override
+    void removePlayer(CachedPlayer player) {
+        // No state is kept for players
+    }
+
+    @Override
+    int getReplacementHoldersCount() {
+        return 0;
+    }
+
 }
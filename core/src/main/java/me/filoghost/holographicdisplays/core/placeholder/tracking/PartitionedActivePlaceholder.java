@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder.tracking;
+
+import me.filoghost.holographicdisplays.core.placeholder.PartitionedStandardPlaceholder;
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderException;
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderOccurrence;
+import me.filoghost.holographicdisplays.core.profiling.PlaceholderTimings;
+import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
+import me.filoghost.holographicdisplays.core.tick.TickTimerWheel;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+ * The players with the same partition key share the same replacement holder, so that the replacement is computed once for
+ * each key. The partition of each player is indexed by slot, to avoid looking up the key in the map on each replacement.
+ * A partition is removed as soon as no player has its key.
+ *
+ * The key of a player is evaluated again only when the scheduled refresh of the player's partition becomes due, or when the
+ * player changes world, since it's usually a property that rarely changes (such as the locale or the group).
+ */
+class PartitionedActivePlaceholder extends ActivePlaceholder {
+
+    private static final Partition[] EMPTY_PARTITIONS = new Partition[0];
+
+    private final @NotNull PartitionedStandardPlaceholder placeholder;
+    private final @NotNull PlaceholderOccurrence placeholderOccurrence;
+    private final @NotNull PlaceholderTimings placeholderTimings;
+    private final @NotNull PlaceholderRefreshExecutor refreshExecutor;
+    private final @NotNull TickTimerWheel timerWheel;
+    private final Map<Object, Partition> partitionsByKey;
+
+    private Partition[] partitionsBySlot;
+    private long[] keyRefreshesCountBySlot;
+    private World[] keyWorldsBySlot;
+
+    PartitionedActivePlaceholder(
+            @NotNull PartitionedStandardPlaceholder placeholder,
+            @NotNull PlaceholderOccurrence placeholderOccurrence,
+            @NotNull PlaceholderTimings placeholderTimings,
+            @NotNull PlaceholderRefreshExecutor refreshExecutor,
+            @NotNull TickTimerWheel timerWheel) {
+        super(placeholder.getSource());
+        this.placeholder = placeholder;
+        this.placeholderOccurrence = placeholderOccurrence;
+        this.placeholderTimings = placeholderTimings;
+        this.refreshExecutor = refreshExecutor;
+        this.timerWheel = timerWheel;
+        this.partitionsByKey = new HashMap<>();
+        this.partitionsBySlot = EMPTY_PARTITIONS;
+        this.keyRefreshesCountBySlot = new long[0];
+        this.keyWorldsBySlot = new World[0];
+    }
+
+    @Override
+    boolean isIndividual() {
+        return true;
+    }
+
+    @Override
+    @Nullable String doComputeReplacement(CachedPlayer player, long currentTick) throws PlaceholderException {
+        int slot = player.getSlot();
+        if (slot >= partitionsBySlot.length) {
+            int length = Math.max(slot + 1, partitionsBySlot.length * 2);
+            partitionsBySlot = Arrays.copyOf(partitionsBySlot, length);
+            keyRefreshesCountBySlot = Arrays.copyOf(keyRefreshesCountBySlot, length);
+            keyWorldsBySlot = Arrays.copyOf(keyWorldsBySlot, length);
+        }
+
+        Partition partition = partitionsBySlot[slot];
+        World world = getWorld(player);
+        if (partition == null
+                || partition.replacementHolder.getScheduledRefreshesCount() != keyRefreshesCountBySlot[slot]
+                || world != keyWorldsBySlot[slot]) {
+            Object partitionKey = placeholder.getPartitionKey(player.getBukkitPlayer());
+            partition = getPartition(slot, partitionKey);
+            keyRefreshesCountBySlot[slot] = partition.replacementHolder.getScheduledRefreshesCount();
+            keyWorldsBySlot[slot] = world;
+        }
+
+        return partition.replacementHolder.computeReplacement(player.getBukkitPlayer(), currentTick);
+    }
+
+    private static @Nullable World getWorld(CachedPlayer player) {
+        Location location = player.getLocation();
+        return location != null ? location.getWorld() : null;
+    }
+
+    private Partition getPartition(int slot, @Nullable Object partitionKey) {
+        Partition partition = partitionsBySlot[slot];
+        if (partition != null) {
+            if (Objects.equals(partition.key, partitionKey)) {
+                return partition;
+            }
+            // The key of the player changed
+            releasePartition(partition);
+        }
+
+        partition = partitionsByKey.get(partitionKey);
+        if (partition == null) {
+            ReplacementHolder replacementHolder = ReplacementHolder.create(
+                    placeholder.getPartition(partitionKey), placeholderOccurrence, placeholderTimings, refreshExecutor, timerWheel);
+            partition = new Partition(partitionKey, replacementHolder);
+            partitionsByKey.put(partitionKey, partition);
+        }
+
+        partition.playersCount++;
+        partitionsBySlot[slot] = partition;
+        return partition;
+    }
+
+    private void releasePartition(Partition partition) {
+        partition.playersCount--;
+        if (partition.playersCount == 0) {
+            partitionsByKey.remove(partition.key);
+            partition.replacementHolder.cancelRefresh();
+        }
+    }
+
+    @Override
+    long getReplacementVersion(CachedPlayer player) {
+        int slot = player.getSlot();
+        if (slot >= partitionsBySlot.length || partitionsBySlot[slot] == null) {
+            return 0;
+        }
+        return partitionsBySlot[slot].replacementHolder.getVersion();
+    }
+
+    @Override
+    void cancelRefreshes() {
+        for (Partition partition : partitionsByKey.values()) {
+            partition.replacementHolder.cancelRefresh();
+        }
+    }
+
+    @Override
+    void removePlayer(CachedPlayer player) {
+        int slot = player.getSlot();
+        if (slot >= partitionsBySlot.length || partitionsBySlot[slot] == null) {
+            return;
+        }
+
+        releasePartition(partitionsBySlot[slot]);
+        partitionsBySlot[slot] = null;
+        keyWorldsBySlot[slot] = null;
+    }
+
+    @Override
+    int getReplacementHoldersCount() {
+        return partitionsByKey.size();
+    }
+
+
+    private static class Partition {
+
+        private final @Nullable Object key;
+        private final @NotNull ReplacementHolder replacementHolder;
+        private int playersCount;
+
+        private Partition(@Nullable Object key, @NotNull ReplacementHolder replacementHolder) {
+            this.key = key;
+            this.replacementHolder = replacementHolder;
+        }
+
+    }
+
+}
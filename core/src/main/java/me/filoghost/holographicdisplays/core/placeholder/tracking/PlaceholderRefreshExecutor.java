@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder.tracking;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Runs the refreshes of asynchronous placeholders with a limited number of threads and queued tasks, so that slow
+ * placeholders cannot create an unbounded amount of work.
+ */
+class PlaceholderRefreshExecutor {
+
+    private static final int THREADS = 4;
+    private static final int MAX_QUEUED_TASKS = 1000;
+
+    // Lazy initialization, threads are not needed if no placeholder is asynchronous
+    private @Nullable ThreadPoolExecutor executor;
+    private boolean shutdown;
+
+    @Nullable Future<?> trySubmit(Runnable task) {
+        if (shutdown) {
+            return null;
+        }
+
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(
+                    THREADS,
+                    THREADS,
+                    60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(MAX_QUEUED_TASKS),
+                    new ThreadFactoryBuilder().setNameFormat("Holographic Displays Placeholder Thread #%d").setDaemon(true).build());
+            executor.allowCoreThreadTimeOut(true);
+        }
+
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    void shutdown() {
+        shutdown = true;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+}
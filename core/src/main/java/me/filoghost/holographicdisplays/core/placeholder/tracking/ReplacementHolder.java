@@ -5,44 +5,230 @@
  */
 package me.filoghost.holographicdisplays.core.placeholder.tracking;
 
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderCircuitBreaker;
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderException;
 import me.filoghost.holographicdisplays.core.placeholder.PlaceholderOccurrence;
 import me.filoghost.holographicdisplays.core.placeholder.StandardPlaceholder;
+import me.filoghost.holographicdisplays.core.placeholder.registry.PlaceholderInvalidation;
+import me.filoghost.holographicdisplays.core.profiling.PlaceholderTimings;
+import me.filoghost.holographicdisplays.core.tick.TickTimer;
+import me.filoghost.holographicdisplays.core.tick.TickTimerWheel;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-class ReplacementHolder {
+/*
+ * The holder is also the timer of the next refresh: instead of checking the refresh interval on each replacement, the refresh
+ * becomes due when the timer is notified. Push placeholders are not scheduled, the refresh becomes due when invalidated.
+ *
+ * With adaptive refresh, the interval is doubled each time the replacement did not change since the previous refresh, up to
+ * the maximum interval of the placeholder. Async replacements are compared when the next refresh is started, one refresh late.
+ */
+abstract class ReplacementHolder extends TickTimer {
+
+    // Versions are unique across all the holders, so that a different holder never has the same version
+    private static long lastVersion;
+
+    // Displayed while the circuit breaker is open, if no replacement was ever computed successfully
+    private static final String CIRCUIT_OPEN_FALLBACK = "[Error]";
 
     private final @NotNull StandardPlaceholder placeholder;
     private final @NotNull PlaceholderOccurrence placeholderOccurrence;
+    private final @NotNull TickTimerWheel timerWheel;
+    private final @Nullable PlaceholderInvalidation invalidation;
+    private final @Nullable String circuitBreakerGroup;
+    private final @NotNull PlaceholderCircuitBreaker circuitBreaker;
 
-    private @Nullable String currentReplacement;
-    private long lastUpdateTick = -1;
+    private boolean refreshDue = true; // Force at least the initial refresh
+    private boolean servingFallback;
+    private boolean cancelled;
+    private long scheduledRefreshesCount;
+    private long lastInvalidationVersion;
+    private long version = newVersion();
+    private long lastRefreshVersion;
+    private int adaptiveRefreshIntervalTicks;
 
-    ReplacementHolder(@NotNull StandardPlaceholder placeholder, @NotNull PlaceholderOccurrence placeholderOccurrence) {
+    ReplacementHolder(
+            @NotNull StandardPlaceholder placeholder,
+            @NotNull PlaceholderOccurrence placeholderOccurrence,
+            @NotNull TickTimerWheel timerWheel) {
         this.placeholder = placeholder;
         this.placeholderOccurrence = placeholderOccurrence;
+        this.timerWheel = timerWheel;
+        this.invalidation = placeholder.getSource().getInvalidation();
+        this.circuitBreakerGroup = placeholder.getCircuitBreakerGroup();
+        this.circuitBreaker = placeholder.getSource().acquireCircuitBreaker(circuitBreakerGroup);
+        if (invalidation != null) {
+            this.lastInvalidationVersion = invalidation.getVersion();
+        }
+    }
+
+    static ReplacementHolder create(
+            @NotNull StandardPlaceholder placeholder,
+            @NotNull PlaceholderOccurrence placeholderOccurrence,
+            @NotNull PlaceholderTimings placeholderTimings,
+            @NotNull PlaceholderRefreshExecutor refreshExecutor,
+            @NotNull TickTimerWheel timerWheel) {
+        if (placeholder.isAsyncRefresh()) {
+            return new AsyncReplacementHolder(placeholder, placeholderOccurrence, refreshExecutor, timerWheel);
+        } else {
+            return new SyncReplacementHolder(placeholder, placeholderOccurrence, placeholderTimings, timerWheel);
+        }
+    }
+
+    static ReplacementHolder createIndividual(
+            @NotNull StandardPlaceholder placeholder,
+            @NotNull PlaceholderOccurrence placeholderOccurrence,
+            @NotNull PlaceholderTimings placeholderTimings,
+            @NotNull PlaceholderRefreshExecutor refreshExecutor,
+            @NotNull TickTimerWheel timerWheel,
+            @NotNull Player player,
+            @NotNull BatchedRefreshQueue batchedRefreshQueue) {
+        if (!placeholder.isAsyncRefresh() && placeholder.getBatchedPlaceholder() != null) {
+            return new SyncReplacementHolder(
+                    placeholder, placeholderOccurrence, placeholderTimings, timerWheel, player, batchedRefreshQueue);
+        } else {
+            return create(placeholder, placeholderOccurrence, placeholderTimings, refreshExecutor, timerWheel);
+        }
+    }
+
+    final @Nullable String computeReplacement(Player player, long currentTick) throws PlaceholderException {
+        if (invalidation != null) {
+            checkInvalidation(player);
+        }
+        if (refreshDue && !isRefreshPending() && !circuitBreaker.tryAcquire(currentTick)) {
+            // The refresh stays due and is attempted again when the breaker allows it
+            return getReplacementWhileCircuitOpen();
+        }
+
+        if (invalidation != null) {
+            if (refreshDue && refresh(player, placeholder, placeholderOccurrence.getArgument())) {
+                refreshDue = false;
+            }
+        } else if (refreshDue) {
+            int refreshIntervalTicks = placeholder.getRefreshIntervalTicks();
+            int maxRefreshIntervalTicks = placeholder.getMaxRefreshIntervalTicks();
+            if (refresh(player, placeholder, placeholderOccurrence.getArgument())) {
+                refreshDue = false;
+                if (maxRefreshIntervalTicks > refreshIntervalTicks) {
+                    refreshIntervalTicks = getAdaptiveRefreshIntervalTicks(refreshIntervalTicks, maxRefreshIntervalTicks);
+                }
+                // The timers of a tick are notified at the end of the tick, so that the refresh is due in the following one
+                timerWheel.schedule(this, currentTick + Math.max(refreshIntervalTicks, 1) - 1);
+            }
+        }
+
+        if (servingFallback) {
+            servingFallback = false;
+            onReplacementChange();
+        }
+        return getCurrentReplacement();
+    }
+
+    private int getAdaptiveRefreshIntervalTicks(int refreshIntervalTicks, int maxRefreshIntervalTicks) {
+        if (version == lastRefreshVersion) {
+            long doubledIntervalTicks = Math.max(adaptiveRefreshIntervalTicks, refreshIntervalTicks) * 2L;
+            adaptiveRefreshIntervalTicks = (int) Math.min(doubledIntervalTicks, maxRefreshIntervalTicks);
+        } else {
+            adaptiveRefreshIntervalTicks = refreshIntervalTicks;
+            lastRefreshVersion = version;
+        }
+        return adaptiveRefreshIntervalTicks;
     }
 
-    @Nullable String computeReplacement(Player player, long currentTick) throws PlaceholderException {
-        if (needsRefresh(currentTick)) {
-            currentReplacement = placeholder.getReplacement(player, placeholderOccurrence.getArgument());
-            lastUpdateTick = currentTick;
+    private @Nullable String getReplacementWhileCircuitOpen() {
+        String lastGoodReplacement = getLastGoodReplacement();
+        if (lastGoodReplacement != null) {
+            return lastGoodReplacement;
         }
-        return currentReplacement;
+
+        if (!servingFallback) {
+            servingFallback = true;
+            onReplacementChange();
+        }
+        return CIRCUIT_OPEN_FALLBACK;
     }
 
-    private boolean needsRefresh(long currentTick) throws PlaceholderException {
-        if (lastUpdateTick == currentTick) {
-            return false; // No need to refresh
+    private void checkInvalidation(Player player) {
+        long invalidationVersion = invalidation.getVersion();
+        if (invalidationVersion != lastInvalidationVersion) {
+            if (invalidation.isInvalidatedSince(lastInvalidationVersion, player)) {
+                refreshDue = true;
+            }
+            lastInvalidationVersion = invalidationVersion;
         }
+    }
+
+    @Override
+    protected final void onDeadline() {
+        refreshDue = true;
+        scheduledRefreshesCount++;
+        onScheduledRefreshDue();
+    }
+
+    /*
+     * Called at the end of the tick before the one of the refresh, when the timers are advanced.
+     */
+    void onScheduledRefreshDue() {
+        // Only holders of batched placeholders need to know in advance
+    }
 
-        if (lastUpdateTick == -1) {
-            return true; // Force at least the initial refresh
+    /*
+     * Must be called when the holder is discarded, to release the circuit breaker.
+     */
+    final void cancelRefresh() {
+        timerWheel.cancel(this);
+        cancelPendingRefresh();
+        if (!cancelled) {
+            cancelled = true;
+            placeholder.getSource().releaseCircuitBreaker(circuitBreakerGroup);
         }
+    }
+
+    /*
+     * Incremented each time a scheduled refresh becomes due, to know whether a refresh was due since a previous call.
+     */
+    final long getScheduledRefreshesCount() {
+        return scheduledRefreshesCount;
+    }
+
+    /*
+     * The version changes only when the replacement changes, to skip recomposing texts when the replacements are the same.
+     */
+    final long getVersion() {
+        return version;
+    }
 
-        return currentTick - lastUpdateTick >= placeholder.getRefreshIntervalTicks();
+    final boolean isCircuitClosed() {
+        return circuitBreaker.getState() == PlaceholderCircuitBreaker.State.CLOSED;
     }
 
+    final void onCallCompleted(long elapsedNanos, boolean failed) {
+        circuitBreaker.onCallCompleted(elapsedNanos, failed);
+    }
+
+    final void onReplacementChange() {
+        version = newVersion();
+    }
+
+    private static long newVersion() {
+        return ++lastVersion;
+    }
+
+    /*
+     * Returns false if the refresh could not be started and should be attempted again in the next tick.
+     */
+    abstract boolean refresh(Player player, StandardPlaceholder placeholder, @Nullable String argument) throws PlaceholderException;
+
+    abstract @Nullable String getCurrentReplacement() throws PlaceholderException;
+
+    /*
+     * Returns the last replacement computed without exceptions, ignoring the failed refreshes.
+     */
+    abstract @Nullable String getLastGoodReplacement();
+
+    abstract boolean isRefreshPending();
+
+    abstract void cancelPendingRefresh();
+
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder.tracking;
+
+import me.filoghost.holographicdisplays.core.placeholder.BatchedIndividualPlaceholder;
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderException;
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderOccurrence;
+import me.filoghost.holographicdisplays.core.placeholder.StandardPlaceholder;
+import me.filoghost.holographicdisplays.core.profiling.PlaceholderTimings;
+import me.filoghost.holographicdisplays.core.tick.TickTimerWheel;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/*
+ * If the placeholder is batched, the holder is added to the queue when the scheduled refresh becomes due, and the queue may
+ * provide the replacement before the refresh, which then doesn't invoke the placeholder.
+ */
+class SyncReplacementHolder extends ReplacementHolder {
+
+    private final @NotNull StandardPlaceholder placeholder;
+    private final @NotNull PlaceholderTimings placeholderTimings;
+    private final @Nullable Player batchPlayer;
+    private final @Nullable BatchedRefreshQueue batchedRefreshQueue;
+
+    private @Nullable String currentReplacement;
+    private @Nullable String batchedReplacement;
+    private boolean hasBatchedReplacement;
+    private boolean cancelled;
+
+    SyncReplacementHolder(
+            @NotNull StandardPlaceholder placeholder,
+            @NotNull PlaceholderOccurrence placeholderOccurrence,
+            @NotNull PlaceholderTimings placeholderTimings,
+            @NotNull TickTimerWheel timerWheel) {
+        this(placeholder, placeholderOccurrence, placeholderTimings, timerWheel, null, null);
+    }
+
+    SyncReplacementHolder(
+            @NotNull StandardPlaceholder placeholder,
+            @NotNull PlaceholderOccurrence placeholderOccurrence,
+            @NotNull PlaceholderTimings placeholderTimings,
+            @NotNull TickTimerWheel timerWheel,
+            @Nullable Player batchPlayer,
+            @Nullable BatchedRefreshQueue batchedRefreshQueue) {
+        super(placeholder, placeholderOccurrence, timerWheel);
+        this.placeholder = placeholder;
+        this.placeholderTimings = placeholderTimings;
+        this.batchPlayer = batchPlayer;
+        this.batchedRefreshQueue = batchedRefreshQueue;
+    }
+
+    @Override
+    boolean refresh(Player player, StandardPlaceholder placeholder, @Nullable String argument) throws PlaceholderException {
+        if (hasBatchedReplacement) {
+            // Already timed as part of the batch
+            setCurrentReplacement(batchedReplacement);
+            clearBatchedReplacement();
+            return true;
+        }
+
+        long startNanos = System.nanoTime();
+        boolean failed = true;
+        try {
+            String newReplacement = placeholder.getReplacement(player, argument);
+            failed = false;
+            setCurrentReplacement(newReplacement);
+        } finally {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            placeholderTimings.addReplacementTime(elapsedNanos);
+            onCallCompleted(elapsedNanos, failed);
+        }
+        return true;
+    }
+
+    private void setCurrentReplacement(@Nullable String newReplacement) {
+        if (!Objects.equals(currentReplacement, newReplacement)) {
+            currentReplacement = newReplacement;
+            onReplacementChange();
+        }
+    }
+
+    @Override
+    void onScheduledRefreshDue() {
+        if (batchedRefreshQueue != null) {
+            batchedRefreshQueue.add(this);
+        }
+    }
+
+    /*
+     * The placeholders whose circuit breaker is not closed are invoked separately, so that the breaker can record the calls.
+     */
+    boolean canRefreshInBatch() {
+        return !cancelled && isCircuitClosed();
+    }
+
+    @NotNull Player getBatchPlayer() {
+        return Objects.requireNonNull(batchPlayer);
+    }
+
+    @NotNull BatchedIndividualPlaceholder getBatchedPlaceholder() {
+        return Objects.requireNonNull(placeholder.getBatchedPlaceholder());
+    }
+
+    @NotNull PlaceholderTimings getPlaceholderTimings() {
+        return placeholderTimings;
+    }
+
+    void setBatchedReplacement(@Nullable String replacement) {
+        batchedReplacement = replacement;
+        hasBatchedReplacement = true;
+    }
+
+    void clearBatchedReplacement() {
+        batchedReplacement = null;
+        hasBatchedReplacement = false;
+    }
+
+    @Override
+    @Nullable String getCurrentReplacement() {
+        return currentReplacement;
+    }
+
+    @Override
+    @Nullable String getLastGoodReplacement() {
+        return currentReplacement;
+    }
+
+    @Override
+    boolean isRefreshPending() {
+        return false;
+    }
+
+    @Override
+    void cancelPendingRefresh() {
+        // Nothing to cancel, the replacement is computed immediately, but the holder may still be in the batch queue
+        cancelled = true;
+    }
+
+}
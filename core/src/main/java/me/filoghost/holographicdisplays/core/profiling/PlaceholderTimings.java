@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.profiling;
+
+/*
+ * Accumulates the time spent by the placeholders of a plugin during the current tick.
+ */
+public class PlaceholderTimings {
+
+    private final RollingTimings tickTimings;
+    private long currentTickNanos;
+
+    PlaceholderTimings(int maxSamples) {
+        this.tickTimings = new RollingTimings(maxSamples);
+    }
+
+    public void addReplacementTime(long nanos) {
+        currentTickNanos += nanos;
+    }
+
+    void onTickEnd() {
+        tickTimings.addSample(currentTickNanos);
+        currentTickNanos = 0;
+    }
+
+    public RollingTimings getTickTimings() {
+        return tickTimings;
+    }
+
+}
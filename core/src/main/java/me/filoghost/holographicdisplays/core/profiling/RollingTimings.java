@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.profiling;
+
+import java.util.Arrays;
+
+/*
+ * Keeps the time samples of the most recent ticks in a circular buffer, replacing the oldest ones.
+ */
+public class RollingTimings {
+
+    private final long[] samples;
+    private int sampleCount;
+    private int nextIndex;
+    private long samplesSum;
+
+    RollingTimings(int maxSamples) {
+        this.samples = new long[maxSamples];
+    }
+
+    void addSample(long nanos) {
+        if (sampleCount == samples.length) {
+            samplesSum -= samples[nextIndex];
+        } else {
+            sampleCount++;
+        }
+
+        samples[nextIndex] = nanos;
+        samplesSum += nanos;
+        nextIndex = (nextIndex + 1) % samples.length;
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public long getAverageNanos() {
+        if (sampleCount == 0) {
+            return 0;
+        }
+        return samplesSum / sampleCount;
+    }
+
+    public long getMaxNanos() {
+        long max = 0;
+        for (int i = 0; i < sampleCount; i++) {
+            max = Math.max(max, samples[i]);
+        }
+        return max;
+    }
+
+    /*
+     * Sorts a copy of the samples, it should not be called frequently.
+     */
+    public long getPercentileNanos(double percentile) {
+        if (sampleCount == 0) {
+            return 0;
+        }
+
+        long[] sortedSamples = Arrays.copyOf(samples, sampleCount);
+        Arrays.sort(sortedSamples);
+        int index = (int) Math.ceil(percentile / 100.0 * sampleCount) - 1;
+        return sortedSamples[Math.max(index, 0)];
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.profiling;
+
+import me.filoghost.holographicdisplays.api.profiling.TickPhase;
+import me.filoghost.holographicdisplays.core.placeholder.PluginName;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Measures the time spent in each phase of the tick, with a single System.nanoTime() call between consecutive phases.
+ */
+public class TickProfiler {
+
+    // Keep the samples of the last minute
+    private static final int MAX_SAMPLES = 20 * 60;
+
+    private final RollingTimings totalTimings;
+    private final Map<TickPhase, RollingTimings> phaseTimings;
+    private final Map<PluginName, PlaceholderTimings> placeholderTimingsByPlugin;
+    private final List<PlaceholderTimings> placeholderTimingsList;
+
+    private long tickStartNanos;
+    private long phaseStartNanos;
+
+    public TickProfiler() {
+        this.totalTimings = new RollingTimings(MAX_SAMPLES);
+        this.phaseTimings = new EnumMap<>(TickPhase.class);
+        for (TickPhase phase : TickPhase.values()) {
+            phaseTimings.put(phase, new RollingTimings(MAX_SAMPLES));
+        }
+        this.placeholderTimingsByPlugin = new HashMap<>();
+        this.placeholderTimingsList = new ArrayList<>();
+    }
+
+    public void startTick() {
+        tickStartNanos = System.nanoTime();
+        phaseStartNanos = tickStartNanos;
+    }
+
+    public void endPhase(TickPhase phase) {
+        long now = System.nanoTime();
+        phaseTimings.get(phase).addSample(now - phaseStartNanos);
+        phaseStartNanos = now;
+    }
+
+    public void endTick() {
+        totalTimings.addSample(phaseStartNanos - tickStartNanos);
+
+        // Micro-optimization, don't use for-each loop to avoid creating a new Iterator (method called frequently)
+        for (int i = 0; i < placeholderTimingsList.size(); i++) {
+            placeholderTimingsList.get(i).onTickEnd();
+        }
+    }
+
+    public PlaceholderTimings getPlaceholderTimings(PluginName pluginName) {
+        return placeholderTimingsByPlugin.computeIfAbsent(pluginName, key -> {
+            PlaceholderTimings placeholderTimings = new PlaceholderTimings(MAX_SAMPLES);
+            placeholderTimingsList.add(placeholderTimings);
+            return placeholderTimings;
+        });
+    }
+
+    public RollingTimings getTotalTimings() {
+        return totalTimings;
+    }
+
+    public RollingTimings getPhaseTimings(TickPhase phase) {
+        return phaseTimings.get(phase);
+    }
+
+    public Map<PluginName, PlaceholderTimings> getPlaceholderTimingsByPlugin() {
+        return Collections.unmodifiableMap(placeholderTimingsByPlugin);
+    }
+
+}
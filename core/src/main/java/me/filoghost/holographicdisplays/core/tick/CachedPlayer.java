@@ -5,22 +5,31 @@
  */
 package me.filoghost.holographicdisplays.core.tick;
 
+import me.filoghost.holographicdisplays.nms.common.PacketSink;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
 public class CachedPlayer {
 
+    // Position in the list of online players, managed by PlayerSlotRegistry
+    int onlinePlayersIndex;
+
     private final Player player;
+    private final PacketSink packetSink;
+    private final int slot;
 
     private Location location;
+    private boolean moved;
 
-    public CachedPlayer(Player player) {
+    CachedPlayer(Player player, PacketSink packetSink, int slot) {
         this.player = player;
+        this.packetSink = packetSink;
+        this.slot = slot;
     }
 
     boolean onTick() {
         Location newLocation = player.getLocation();
-        boolean moved = isDifferentPosition(location, newLocation);
+        moved = isDifferentPosition(location, newLocation);
         location = newLocation;
         return moved;
     }
@@ -40,10 +49,28 @@ public class CachedPlayer {
         return player;
     }
 
+    public PacketSink getPacketSink() {
+        return packetSink;
+    }
+
+    /**
+     * Returns the dense index assigned by {@link PlayerSlotRegistry}, reused by another player after this one quits.
+     */
+    public int getSlot() {
+        return slot;
+    }
+
     public Location getLocation() {
         return location;
     }
 
+    /**
+     * Returns whether the position changed during the last tick.
+     */
+    public boolean isMoved() {
+        return moved;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.tick;
+
+import me.filoghost.holographicdisplays.nms.common.PacketSink;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Assigns to each online player a small integer slot, which is reused after the player quits, so that the slots stay dense
+ * and can be used as indexes of arrays and bit sets (for example to store the viewers of a line).
+ */
+public class PlayerSlotRegistry {
+
+    private final Map<Player, CachedPlayer> playersByBukkitPlayer;
+    private final List<CachedPlayer> onlinePlayers;
+    private final List<CachedPlayer> unmodifiableOnlinePlayers;
+    private final BitSet usedSlots;
+    private CachedPlayer[] playersBySlot;
+
+    public PlayerSlotRegistry() {
+        this.playersByBukkitPlayer = new HashMap<>();
+        this.onlinePlayers = new ArrayList<>();
+        this.unmodifiableOnlinePlayers = Collections.unmodifiableList(onlinePlayers);
+        this.usedSlots = new BitSet();
+        this.playersBySlot = new CachedPlayer[16];
+    }
+
+    public CachedPlayer register(Player player, PacketSink packetSink) {
+        CachedPlayer cachedPlayer = playersByBukkitPlayer.get(player);
+        if (cachedPlayer != null) {
+            return cachedPlayer;
+        }
+
+        int slot = usedSlots.nextClearBit(0);
+        usedSlots.set(slot);
+        if (slot >= playersBySlot.length) {
+            playersBySlot = Arrays.copyOf(playersBySlot, playersBySlot.length * 2);
+        }
+
+        cachedPlayer = new CachedPlayer(player, packetSink, slot);
+        cachedPlayer.onlinePlayersIndex = onlinePlayers.size();
+        onlinePlayers.add(cachedPlayer);
+        playersBySlot[slot] = cachedPlayer;
+        playersByBukkitPlayer.put(player, cachedPlayer);
+        return cachedPlayer;
+    }
+
+    /*
+     * The slot is reused for the next player, references to the slot must be removed before unregistering the player.
+     */
+    public void unregister(CachedPlayer cachedPlayer) {
+        if (playersByBukkitPlayer.remove(cachedPlayer.getBukkitPlayer()) == null) {
+            return;
+        }
+
+        // Swap with the last player, to remove without shifting the list
+        CachedPlayer lastPlayer = onlinePlayers.remove(onlinePlayers.size() - 1);
+        if (lastPlayer != cachedPlayer) {
+            onlinePlayers.set(cachedPlayer.onlinePlayersIndex, lastPlayer);
+            lastPlayer.onlinePlayersIndex = cachedPlayer.onlinePlayersIndex;
+        }
+
+        playersBySlot[cachedPlayer.getSlot()] = null;
+        usedSlots.clear(cachedPlayer.getSlot());
+    }
+
+    public @Nullable CachedPlayer get(Player player) {
+        return playersByBukkitPlayer.get(player);
+    }
+
+    public CachedPlayer getBySlot(int slot) {
+        return playersBySlot[slot];
+    }
+
+    /*
+     * The order of the list is not stable, since it changes when a player quits.
+     */
+    public List<CachedPlayer> getOnlinePlayers() {
+        return unmodifiableOnlinePlayers;
+    }
+
+}
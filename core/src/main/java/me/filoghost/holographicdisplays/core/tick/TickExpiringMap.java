@@ -5,35 +5,97 @@
  */
 package me.filoghost.holographicdisplays.core.tick;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.function.BiPredicate;
+import java.util.function.BiConsumer;
 
+/*
+ * Each entry is a timer in the wheel, which is bucketed by tick: when a value is used, its timer is moved to the bucket of
+ * the tick in which it would expire. The expiring bucket then contains only expired entries, so the cost of expiration
+ * depends on the number of expired entries instead of the number of entries.
+ */
 public class TickExpiringMap<K, V extends TickExpiringValue> {
 
-    private final Map<K, V> map;
+    private final Map<K, Entry> map;
+    private final TickTimerWheel timerWheel;
+    private final BiConsumer<? super K, ? super V> removalListener;
 
     // Entries that are not used for this amount of ticks are removed
     private final long expirationTicks;
 
-    public TickExpiringMap(Map<K, V> map, long expirationTicks) {
-        this.map = map;
+    /*
+     * The removal listener is notified after an entry is removed, either explicitly or because it expired.
+     */
+    public TickExpiringMap(TickTimerWheel timerWheel, long expirationTicks, BiConsumer<? super K, ? super V> removalListener) {
+        this.map = new HashMap<>();
+        this.timerWheel = timerWheel;
         this.expirationTicks = expirationTicks;
+        this.removalListener = removalListener;
+    }
+
+    public void remove(K key) {
+        Entry entry = map.remove(key);
+        if (entry != null) {
+            timerWheel.cancel(entry);
+            onRemoval(entry);
+        }
     }
 
-    public void removeEntries(BiPredicate<? super K, ? super V> filter) {
-        map.entrySet().removeIf(entry -> filter.test(entry.getKey(), entry.getValue()));
+    private void onRemoval(Entry entry) {
+        entry.value.entry = null;
+        entry.value.onRemoval();
+        removalListener.accept(entry.key, entry.value);
     }
 
-    public void clearUnusedEntries(long currentTick) {
-        map.values().removeIf(value -> currentTick - value.getLastUseTick() >= expirationTicks);
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Entry entry : map.values()) {
+            action.accept(entry.key, entry.value);
+        }
     }
 
     public V get(K key) {
-        return map.get(key);
+        Entry entry = map.get(key);
+        return entry != null ? entry.value : null;
     }
 
     public void put(K key, V value) {
-        map.put(key, value);
+        Entry entry = new Entry(key, value);
+        Entry previousEntry = map.put(key, entry);
+        if (previousEntry != null) {
+            timerWheel.cancel(previousEntry);
+            previousEntry.value.entry = null;
+        }
+
+        value.entry = entry;
+        entry.postponeExpiration(Math.max(value.getLastUseTick(), timerWheel.getCurrentTick()));
+    }
+
+    private void expire(Entry entry) {
+        // Not used since the timer was last scheduled, otherwise it would have been moved to a later bucket
+        map.remove(entry.key);
+        onRemoval(entry);
+    }
+
+
+    final class Entry extends TickTimer {
+
+        private final K key;
+        private final V value;
+
+        private Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        void postponeExpiration(long lastUseTick) {
+            timerWheel.schedule(this, lastUseTick + expirationTicks);
+        }
+
+        @Override
+        protected void onDeadline() {
+            expire(this);
+        }
+
     }
 
 }
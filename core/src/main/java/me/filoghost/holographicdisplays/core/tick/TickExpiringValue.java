@@ -5,8 +5,29 @@
  */
 package me.filoghost.holographicdisplays.core.tick;
 
-public interface TickExpiringValue {
+public abstract class TickExpiringValue {
 
-    long getLastUseTick();
+    // The expiration timer of the map containing the value, null if not contained in a map
+    TickExpiringMap<?, ?>.Entry entry;
+
+    private long lastUseTick = -1;
+
+    public final long getLastUseTick() {
+        return lastUseTick;
+    }
+
+    /*
+     * Only the first use in a tick postpones the expiration, further uses in the same tick are just a comparison.
+     */
+    protected final void onUse(long currentTick) {
+        if (lastUseTick != currentTick) {
+            lastUseTick = currentTick;
+            if (entry != null) {
+                entry.postponeExpiration(currentTick);
+            }
+        }
+    }
+
+    protected abstract void onRemoval();
 
 }
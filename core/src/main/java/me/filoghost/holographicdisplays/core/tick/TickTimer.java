@@ -0,0 +1,28 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.tick;
+
+/*
+ * A timer that can be scheduled in a TickTimerWheel. Timers are linked directly into the wheel, so that they can be scheduled
+ * again and cancelled without allocations.
+ */
+public abstract class TickTimer {
+
+    TickTimerWheel.Slot slot;
+    TickTimer previous;
+    TickTimer next;
+    long deadlineTick;
+
+    public final boolean isScheduled() {
+        return slot != null;
+    }
+
+    /*
+     * Called when the deadline tick is reached. The timer is no longer scheduled and can be scheduled again.
+     */
+    protected abstract void onDeadline();
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.tick;
+
+/*
+ * Hierarchical timer wheel: each level has 64 slots, and each slot of a level spans as many ticks as a whole lower level.
+ * Timers far in the future are placed in a higher level and moved (cascaded) to lower levels as their deadline approaches,
+ * so that each tick only processes the timers actually due, regardless of how many timers are scheduled.
+ */
+public class TickTimerWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS_PER_LEVEL = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+    private static final int LEVELS = 4;
+
+    // Longer delays are placed in the last level and cascaded again until they are within range
+    private static final long MAX_DELAY_TICKS = 1L << (SLOT_BITS * LEVELS);
+
+    private final TickClock tickClock;
+    private final Slot[][] levels;
+    private final Slot processingSlot;
+
+    // The last tick processed by the wheel, which can lag behind the clock
+    private long processedTick;
+
+    public TickTimerWheel(TickClock tickClock) {
+        this.tickClock = tickClock;
+        this.levels = new Slot[LEVELS][SLOTS_PER_LEVEL];
+        for (Slot[] level : levels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Slot();
+            }
+        }
+        this.processingSlot = new Slot();
+        this.processedTick = tickClock.getCurrentTick();
+    }
+
+    public long getCurrentTick() {
+        return tickClock.getCurrentTick();
+    }
+
+    /*
+     * Schedules the timer (or reschedules it, if already scheduled) to be notified when the wheel processes the deadline tick.
+     * A deadline in the past is processed with the next tick.
+     */
+    public void schedule(TickTimer timer, long deadlineTick) {
+        cancel(timer);
+        timer.deadlineTick = Math.max(deadlineTick, processedTick + 1);
+        insert(timer);
+    }
+
+    public void cancel(TickTimer timer) {
+        if (timer.slot != null) {
+            timer.slot.remove(timer);
+        }
+    }
+
+    /*
+     * Processes all the ticks up to the current tick of the clock, notifying the timers whose deadline is reached.
+     */
+    public void advance() {
+        long currentTick = tickClock.getCurrentTick();
+
+        while (processedTick < currentTick) {
+            processedTick++;
+
+            // Higher levels first, since they may cascade timers into the lower levels
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((processedTick & (levelSpanTicks(level) - 1)) == 0) {
+                    cascade(levels[level][slotIndex(processedTick, level)]);
+                }
+            }
+
+            notifyExpired(levels[0][slotIndex(processedTick, 0)]);
+        }
+    }
+
+    private void cascade(Slot slot) {
+        slot.moveAllTo(processingSlot);
+
+        TickTimer timer;
+        while ((timer = processingSlot.removeFirst()) != null) {
+            insert(timer);
+        }
+    }
+
+    private void notifyExpired(Slot slot) {
+        // Timers are detached first: while notified, a timer may schedule or cancel other timers (including the detached ones)
+        slot.moveAllTo(processingSlot);
+
+        TickTimer timer;
+        while ((timer = processingSlot.removeFirst()) != null) {
+            timer.onDeadline();
+        }
+    }
+
+    private void insert(TickTimer timer) {
+        long delay = timer.deadlineTick - processedTick;
+        long placementTick = timer.deadlineTick;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= levelSpanTicks(level + 1)) {
+            level++;
+        }
+        if (delay >= MAX_DELAY_TICKS) {
+            placementTick = processedTick + MAX_DELAY_TICKS - 1;
+        }
+
+        levels[level][slotIndex(placementTick, level)].add(timer);
+    }
+
+    private static long levelSpanTicks(int level) {
+        return 1L << (SLOT_BITS * level);
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+
+    static class Slot {
+
+        private TickTimer first;
+
+        private void add(TickTimer timer) {
+            timer.slot = this;
+            timer.previous = null;
+            timer.next = first;
+            if (first != null) {
+                first.previous = timer;
+            }
+            first = timer;
+        }
+
+        private void remove(TickTimer timer) {
+            if (timer.previous != null) {
+                timer.previous.next = timer.next;
+            } else {
+                first = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.previous = timer.previous;
+            }
+            timer.slot = null;
+            timer.previous = null;
+            timer.next = null;
+        }
+
+        private TickTimer removeFirst() {
+            TickTimer timer = first;
+            if (timer != null) {
+                remove(timer);
+            }
+            return timer;
+        }
+
+        private void moveAllTo(Slot destination) {
+            TickTimer timer;
+            while ((timer = removeFirst()) != null) {
+                destination.add(timer);
+            }
+        }
+
+    }
+
+}
@@ -6,65 +6,81 @@
 package me.filoghost.holographicdisplays.core.tick;
 
 import me.filoghost.fcommons.logging.Log;
+import me.filoghost.holographicdisplays.api.profiling.TickPhase;
 import me.filoghost.holographicdisplays.core.tracking.LineTrackerManager;
 import me.filoghost.holographicdisplays.core.listener.LineClickListener;
 import me.filoghost.holographicdisplays.core.placeholder.tracking.ActivePlaceholderTracker;
+import me.filoghost.holographicdisplays.core.profiling.TickProfiler;
+import me.filoghost.holographicdisplays.nms.common.NMSManager;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 public class TickingTask implements Runnable {
 
     private final TickClock tickClock;
+    private final TickProfiler tickProfiler;
+    private final NMSManager nmsManager;
     private final ActivePlaceholderTracker placeholderTracker;
     private final LineTrackerManager lineTrackerManager;
     private final LineClickListener lineClickListener;
-    private final List<CachedPlayer> onlinePlayers;
+    private final PlayerSlotRegistry playerSlotRegistry;
 
     private long lastErrorLogTick;
 
     public TickingTask(
             TickClock tickClock,
+            TickProfiler tickProfiler,
+            NMSManager nmsManager,
             ActivePlaceholderTracker placeholderTracker,
             LineTrackerManager lineTrackerManager,
-            LineClickListener lineClickListener) {
+            LineClickListener lineClickListener,
+            PlayerSlotRegistry playerSlotRegistry) {
         this.tickClock = tickClock;
+        this.tickProfiler = tickProfiler;
+        this.nmsManager = nmsManager;
         this.placeholderTracker = placeholderTracker;
         this.lineTrackerManager = lineTrackerManager;
         this.lineClickListener = lineClickListener;
-        this.onlinePlayers = new ArrayList<>();
+        this.playerSlotRegistry = playerSlotRegistry;
     }
 
     public void onPlayerJoin(Player player) {
-        onlinePlayers.add(new CachedPlayer(player));
+        playerSlotRegistry.register(player, nmsManager.newPacketSink(player));
     }
 
     public void onPlayerQuit(Player player) {
-        Iterator<CachedPlayer> iterator = onlinePlayers.iterator();
-
-        while (iterator.hasNext()) {
-            if (iterator.next().getBukkitPlayer() == player) {
-                iterator.remove();
-                break;
-            }
+        CachedPlayer cachedPlayer = playerSlotRegistry.get(player);
+        if (cachedPlayer != null) {
+            // Remove the references to the slot before it's reused
+            lineTrackerManager.removeViewer(cachedPlayer);
+            placeholderTracker.removePlayer(cachedPlayer);
+            playerSlotRegistry.unregister(cachedPlayer);
         }
-
-        lineTrackerManager.removeViewer(player);
     }
 
     public void onPlayerRespawn(Player player) {
-        lineTrackerManager.removeViewer(player);
+        CachedPlayer cachedPlayer = playerSlotRegistry.get(player);
+        if (cachedPlayer != null) {
+            lineTrackerManager.removeViewer(cachedPlayer);
+        }
     }
 
     @Override
     public void run() {
         tickClock.incrementTick();
+        tickProfiler.startTick();
 
         // Remove outdated entries before using them from line trackers
         placeholderTracker.clearOutdatedEntries();
+        tickProfiler.endPhase(TickPhase.PLACEHOLDER_CLEANUP);
+
+        // The refreshes due in this tick were marked at the end of the previous one
+        placeholderTracker.refreshBatchedPlaceholders();
+        tickProfiler.endPhase(TickPhase.BATCHED_PLACEHOLDER_REFRESH);
 
+        List<CachedPlayer> onlinePlayers = playerSlotRegistry.getOnlinePlayers();
         List<CachedPlayer> movedPlayers = new ArrayList<>();
         for (CachedPlayer onlinePlayer : onlinePlayers) {
             boolean moved = onlinePlayer.onTick();
@@ -72,6 +88,7 @@ public class TickingTask implements Runnable {
                 movedPlayers.add(onlinePlayer);
             }
         }
+        tickProfiler.endPhase(TickPhase.PLAYER_MOVEMENT);
 
         try {
             lineTrackerManager.update(onlinePlayers, movedPlayers);
@@ -83,11 +100,38 @@ public class TickingTask implements Runnable {
                 Log.severe("Error while ticking holograms", t);
             }
         }
+        tickProfiler.endPhase(TickPhase.LINE_TRACKING);
+
+        // Send the packets of this tick with a single flush for each player
+        flushPackets();
+        tickProfiler.endPhase(TickPhase.PACKET_FLUSH);
 
-        // Remove placeholders which were not used by line trackers
-        placeholderTracker.clearInactivePlaceholders();
+        // Remove placeholders which were not used by line trackers and mark the refreshes due in the next tick
+        placeholderTracker.advanceTimers();
+        tickProfiler.endPhase(TickPhase.INACTIVE_PLACEHOLDER_CLEANUP);
 
         lineClickListener.processQueuedClickEvents();
+        tickProfiler.endPhase(TickPhase.CLICK_EVENTS);
+
+        tickProfiler.endTick();
+    }
+
+    public void flushPackets() {
+        List<CachedPlayer> onlinePlayers = playerSlotRegistry.getOnlinePlayers();
+
+        // Micro-optimization, don't use for-each loop to avoid creating a new Iterator (method called frequently)
+        for (int i = 0; i < onlinePlayers.size(); i++) {
+            try {
+                onlinePlayers.get(i).getPacketSink().flush();
+            } catch (Throwable t) {
+                // Catch all types of Throwable because we're using NMS code
+                if (tickClock.getCurrentTick() - lastErrorLogTick >= 20) {
+                    // Avoid spamming the console, log the error at most once every 20 ticks
+                    lastErrorLogTick = tickClock.getCurrentTick();
+                    Log.severe("Error while sending hologram packets", t);
+                }
+            }
+        }
     }
 
 }
@@ -8,6 +8,7 @@ package me.filoghost.holographicdisplays.core.tracking;
 import me.filoghost.holographicdisplays.common.PositionCoordinates;
 import me.filoghost.holographicdisplays.core.base.BaseClickableHologramLine;
 import me.filoghost.holographicdisplays.core.listener.LineClickListener;
+import me.filoghost.holographicdisplays.core.tick.PlayerSlotRegistry;
 import me.filoghost.holographicdisplays.nms.common.NMSManager;
 import me.filoghost.holographicdisplays.nms.common.entity.ClickableNMSPacketEntity;
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
@@ -21,7 +22,12 @@ public abstract class ClickableLineTracker<T extends Viewer> extends LineTracker
     private boolean spawnClickableEntity;
     private boolean spawnClickableEntityChanged;
 
-    public ClickableLineTracker(BaseClickableHologramLine line, NMSManager nmsManager, LineClickListener lineClickListener) {
+    public ClickableLineTracker(
+            BaseClickableHologramLine line,
+            NMSManager nmsManager,
+            LineClickListener lineClickListener,
+            PlayerSlotRegistry playerSlotRegistry) {
+        super(playerSlotRegistry);
         this.clickableEntity = nmsManager.newClickablePacketEntity();
         this.positionOffsetY = (line.getHeight() - ClickableNMSPacketEntity.SLIME_HEIGHT) / 2;
         this.lineClickListener = lineClickListener;
@@ -8,7 +8,8 @@ package me.filoghost.holographicdisplays.core.tracking;
 import me.filoghost.fcommons.Preconditions;
 import me.filoghost.holographicdisplays.core.placeholder.parsing.StringWithPlaceholders;
 import me.filoghost.holographicdisplays.core.placeholder.tracking.ActivePlaceholderTracker;
-import org.jetbrains.annotations.NotNull;
+import me.filoghost.holographicdisplays.core.placeholder.tracking.CompiledText;
+import me.filoghost.holographicdisplays.core.placeholder.tracking.ComposedText;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
@@ -17,33 +18,29 @@ import java.util.Objects;
 class DisplayText {
 
     private final ActivePlaceholderTracker placeholderTracker;
+    private final ComposedText composedGlobalText;
 
     private @Nullable StringWithPlaceholders unreplacedText;
+    private @Nullable CompiledText compiledText;
     private boolean allowPlaceholders;
     private @Nullable String globalText;
-    private @Nullable Boolean containsIndividualPlaceholders;
-    private long lastPlaceholderRegistryVersion;
 
     DisplayText(ActivePlaceholderTracker placeholderTracker) {
         this.placeholderTracker = placeholderTracker;
+        this.composedGlobalText = new ComposedText();
     }
 
     boolean containsIndividualPlaceholders() {
-        if (!allowPlaceholders || unreplacedText == null) {
+        if (!allowPlaceholders || compiledText == null) {
             return false;
         }
-        long currentPlaceholderRegistryVersion = placeholderTracker.getRegistryVersion();
-        if (containsIndividualPlaceholders == null || lastPlaceholderRegistryVersion != currentPlaceholderRegistryVersion) {
-            containsIndividualPlaceholders = placeholderTracker.containsIndividualPlaceholders(unreplacedText);
-            lastPlaceholderRegistryVersion = currentPlaceholderRegistryVersion;
-        }
-        return containsIndividualPlaceholders;
+        return compiledText.containsIndividualPlaceholders();
     }
 
     void setUnreplacedText(@Nullable String text) {
         unreplacedText = text != null ? StringWithPlaceholders.of(text) : null;
+        compiledText = unreplacedText != null ? placeholderTracker.compile(unreplacedText) : null;
         globalText = null;
-        containsIndividualPlaceholders = null;
     }
 
     @Nullable String getUnreplacedText() {
@@ -84,17 +81,22 @@ class DisplayText {
     }
 
     private @Nullable String computeGlobalText() {
-        if (allowPlaceholders && unreplacedText != null && unreplacedText.containsPlaceholders()) {
-            return unreplacedText.replacePlaceholders(null, placeholderTracker);
+        if (allowPlaceholders && compiledText != null && unreplacedText.containsPlaceholders()) {
+            // The text is composed again only if the replacements changed
+            compiledText.update(null, composedGlobalText);
+            return composedGlobalText.getText();
         } else {
             return unreplacedText != null ? unreplacedText.getString() : null;
         }
     }
 
-    public @NotNull String computeIndividualText(Viewer viewer) {
-        Preconditions.notNull(unreplacedText, "unreplacedText");
+    /*
+     * Returns true if the individual text changed.
+     */
+    public boolean updateIndividualText(Viewer viewer, ComposedText individualText) {
+        Preconditions.notNull(compiledText, "compiledText");
 
-        return unreplacedText.replacePlaceholders(viewer.getBukkitPlayer(), placeholderTracker);
+        return compiledText.update(viewer.getCachedPlayer(), individualText);
     }
 
 }
@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.tracking;
+
+import me.filoghost.holographicdisplays.core.base.BaseHologram;
+import me.filoghost.holographicdisplays.core.base.ImmutablePosition;
+import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
+import me.filoghost.holographicdisplays.core.tick.PlayerSlotRegistry;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Tracks the players near a hologram, on behalf of all its lines: since the lines share the same world, X/Z coordinates,
+ * visibility settings and chunk, the checks are done once per hologram and the results are then used by each line tracker,
+ * which only compares the distance with its own view range.
+ */
+class HologramTracker {
+
+    private final BaseHologram hologram;
+    private final PlayerSlotRegistry playerSlotRegistry;
+    private final NearbyHologramIndex nearbyHologramIndex;
+    private final List<LineTracker<?>> lineTrackers;
+
+    /**
+     * Slots of the players in range of at least one line, which must be checked again when they move, even if far away.
+     */
+    private final BitSet nearbyPlayerSlots;
+
+    /**
+     * Players that moved in the current tick and are close enough to be in range, filled by the spatial index.
+     */
+    private final List<CachedPlayer> nearbyMovedPlayers;
+
+    /**
+     * Players checked in the current tick with their distance from the hologram, shared by the line trackers.
+     */
+    private final List<CachedPlayer> checkedPlayers;
+    private double[] checkedPlayersDistance;
+
+    private String positionWorldName;
+    private double positionX, positionZ;
+    private boolean positionChanged;
+    private boolean inLoadedChunk;
+    private boolean lineTrackersAdded;
+    private double maxViewRange;
+    private int lastVisibilitySettingsVersion;
+    private LineTrackerGrid.Cell gridCell;
+
+    HologramTracker(BaseHologram hologram, PlayerSlotRegistry playerSlotRegistry, NearbyHologramIndex nearbyHologramIndex) {
+        this.hologram = hologram;
+        this.playerSlotRegistry = playerSlotRegistry;
+        this.nearbyHologramIndex = nearbyHologramIndex;
+        this.lineTrackers = new ArrayList<>();
+        this.nearbyPlayerSlots = new BitSet();
+        this.nearbyMovedPlayers = new ArrayList<>();
+        this.checkedPlayers = new ArrayList<>();
+        this.checkedPlayersDistance = new double[16];
+    }
+
+    void addLineTracker(LineTracker<?> lineTracker) {
+        lineTrackers.add(lineTracker);
+        maxViewRange = Math.max(maxViewRange, lineTracker.getViewRange());
+        lineTrackersAdded = true;
+    }
+
+    boolean isEmpty() {
+        return lineTrackers.isEmpty();
+    }
+
+    void update(List<CachedPlayer> onlinePlayers, LineTrackerGrid grid) {
+        removeDeletedLineTrackers();
+        if (lineTrackers.isEmpty()) {
+            nearbyMovedPlayers.clear();
+            clearNearbyPlayers(); // The tracker is about to be removed
+            return;
+        }
+
+        detectPositionChanges();
+        if (positionChanged) {
+            // The position must be registered in the grid before the next tick, when moved players are distributed
+            grid.updatePosition(this, positionWorldName, positionX, positionZ);
+        }
+
+        checkPlayers(onlinePlayers);
+
+        // Micro-optimization, don't use for-each loop to avoid creating a new Iterator (method called frequently)
+        for (int i = 0; i < lineTrackers.size(); i++) {
+            lineTrackers.get(i).update(this);
+        }
+
+        nearbyMovedPlayers.clear();
+        checkedPlayers.clear();
+        positionChanged = false;
+        lineTrackersAdded = false;
+    }
+
+    private void removeDeletedLineTrackers() {
+        boolean removed = false;
+
+        for (int i = lineTrackers.size() - 1; i >= 0; i--) {
+            LineTracker<?> lineTracker = lineTrackers.get(i);
+            if (lineTracker.shouldBeRemoved()) {
+                lineTrackers.remove(i);
+                lineTracker.onRemoval();
+                removed = true;
+            }
+        }
+
+        if (removed) {
+            maxViewRange = 0;
+            for (LineTracker<?> lineTracker : lineTrackers) {
+                maxViewRange = Math.max(maxViewRange, lineTracker.getViewRange());
+            }
+        }
+    }
+
+    private void detectPositionChanges() {
+        ImmutablePosition position = hologram.getPosition();
+
+        if (!Objects.equals(positionWorldName, position.getWorldName())
+                || positionX != position.getX()
+                || positionZ != position.getZ()) {
+            positionWorldName = position.getWorldName();
+            positionX = position.getX();
+            positionZ = position.getZ();
+            positionChanged = true;
+        }
+    }
+
+    private void checkPlayers(List<CachedPlayer> onlinePlayers) {
+        boolean wasInLoadedChunk = inLoadedChunk;
+        inLoadedChunk = hologram.isInLoadedChunk();
+        if (!inLoadedChunk) {
+            clearNearbyPlayers();
+            return;
+        }
+
+        boolean checkAllPlayers = false;
+
+        int visibilitySettingsVersion = hologram.getVisibilitySettings().getVersion();
+        if (visibilitySettingsVersion != lastVisibilitySettingsVersion) {
+            lastVisibilitySettingsVersion = visibilitySettingsVersion;
+            checkAllPlayers = true;
+        }
+
+        if (positionChanged || lineTrackersAdded || !wasInLoadedChunk) {
+            checkAllPlayers = true;
+        }
+
+        World world = hologram.getWorldIfLoaded();
+
+        if (checkAllPlayers) {
+            // Micro-optimization, don't use for-each loop to avoid creating a new Iterator (method called frequently)
+            for (int i = 0; i < onlinePlayers.size(); i++) {
+                checkPlayer(onlinePlayers.get(i), world);
+            }
+        } else {
+            // Nearby players are skipped here and checked below only if they moved, to avoid checking them twice
+            for (int i = 0; i < nearbyMovedPlayers.size(); i++) {
+                CachedPlayer player = nearbyMovedPlayers.get(i);
+                if (!nearbyPlayerSlots.get(player.getSlot())) {
+                    checkPlayer(player, world);
+                }
+            }
+
+            // Nearby players that moved far away are not distributed by the spatial index, check them separately
+            for (int slot = nearbyPlayerSlots.nextSetBit(0); slot >= 0; slot = nearbyPlayerSlots.nextSetBit(slot + 1)) {
+                CachedPlayer player = playerSlotRegistry.getBySlot(slot);
+                if (player.isMoved()) {
+                    checkPlayer(player, world);
+                }
+            }
+        }
+
+        for (int i = 0; i < checkedPlayers.size(); i++) {
+            CachedPlayer player = checkedPlayers.get(i);
+            int slot = player.getSlot();
+            boolean nearby = checkedPlayersDistance[i] <= maxViewRange;
+            if (nearby != nearbyPlayerSlots.get(slot)) {
+                nearbyPlayerSlots.set(slot, nearby);
+                if (nearby) {
+                    nearbyHologramIndex.add(slot, this);
+                } else {
+                    nearbyHologramIndex.remove(slot, this);
+                }
+            }
+        }
+    }
+
+    private void clearNearbyPlayers() {
+        for (int slot = nearbyPlayerSlots.nextSetBit(0); slot >= 0; slot = nearbyPlayerSlots.nextSetBit(slot + 1)) {
+            nearbyHologramIndex.remove(slot, this);
+        }
+        nearbyPlayerSlots.clear();
+    }
+
+    private void checkPlayer(CachedPlayer player, World world) {
+        int index = checkedPlayers.size();
+        if (index == checkedPlayersDistance.length) {
+            checkedPlayersDistance = Arrays.copyOf(checkedPlayersDistance, index * 2);
+        }
+
+        checkedPlayers.add(player);
+        checkedPlayersDistance[index] = getDistance(player, world);
+    }
+
+    private double getDistance(CachedPlayer player, World world) {
+        Location playerLocation = player.getLocation();
+        if (playerLocation.getWorld() != world || !hologram.getVisibilitySettings().isVisibleTo(player.getBukkitPlayer())) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double diffX = Math.abs(playerLocation.getX() - positionX);
+        double diffZ = Math.abs(playerLocation.getZ() - positionZ);
+        return Math.max(diffX, diffZ);
+    }
+
+    boolean isInLoadedChunk() {
+        return inLoadedChunk;
+    }
+
+    int getCheckedPlayersCount() {
+        return checkedPlayers.size();
+    }
+
+    CachedPlayer getCheckedPlayer(int index) {
+        return checkedPlayers.get(index);
+    }
+
+    /**
+     * Returns the distance on the X/Z plane (the greatest between the two axes), or positive infinity if the hologram
+     * is not visible to the player.
+     */
+    double getCheckedPlayerDistance(int index) {
+        return checkedPlayersDistance[index];
+    }
+
+    void addNearbyMovedPlayer(CachedPlayer movedPlayer) {
+        nearbyMovedPlayers.add(movedPlayer);
+    }
+
+    LineTrackerGrid.Cell getGridCell() {
+        return gridCell;
+    }
+
+    void setGridCell(LineTrackerGrid.Cell gridCell) {
+        this.gridCell = gridCell;
+    }
+
+    void resetViewersAndSendDestroyPackets() {
+        for (LineTracker<?> lineTracker : lineTrackers) {
+            lineTracker.resetViewersAndSendDestroyPackets();
+        }
+        clearNearbyPlayers();
+    }
+
+    /*
+     * Must be invoked only after removing this tracker from the index for the given player.
+     */
+    void removeViewer(CachedPlayer player) {
+        for (LineTracker<?> lineTracker : lineTrackers) {
+            lineTracker.removeViewer(player);
+        }
+        nearbyPlayerSlots.clear(player.getSlot());
+    }
+
+}
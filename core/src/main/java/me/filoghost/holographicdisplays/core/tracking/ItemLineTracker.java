@@ -8,12 +8,12 @@ package me.filoghost.holographicdisplays.core.tracking;
 import me.filoghost.holographicdisplays.core.base.BaseItemHologramLine;
 import me.filoghost.holographicdisplays.core.listener.LineClickListener;
 import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
+import me.filoghost.holographicdisplays.core.tick.PlayerSlotRegistry;
 import me.filoghost.holographicdisplays.nms.common.NMSManager;
 import me.filoghost.holographicdisplays.nms.common.entity.ItemNMSPacketEntity;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
 
-import java.util.List;
 import java.util.Objects;
 
 public class ItemLineTracker extends ClickableLineTracker<Viewer> {
@@ -30,8 +30,9 @@ public class ItemLineTracker extends ClickableLineTracker<Viewer> {
     public ItemLineTracker(
             BaseItemHologramLine line,
             NMSManager nmsManager,
-            LineClickListener lineClickListener) {
-        super(line, nmsManager, lineClickListener);
+            LineClickListener lineClickListener,
+            PlayerSlotRegistry playerSlotRegistry) {
+        super(line, nmsManager, lineClickListener, playerSlotRegistry);
         this.line = line;
         this.itemEntity = nmsManager.newItemPacketEntity();
     }
@@ -43,8 +44,8 @@ public class ItemLineTracker extends ClickableLineTracker<Viewer> {
 
     @MustBeInvokedByOverriders
     @Override
-    protected void update(List<CachedPlayer> onlinePlayers, List<CachedPlayer> movedPlayers) {
-        super.update(onlinePlayers, movedPlayers);
+    protected void update(HologramTracker hologramTracker) {
+        super.update(hologramTracker);
 
         if (spawnItemEntity && hasViewers() && line.hasPickupCallback()) {
             for (Viewer viewer : getViewers()) {
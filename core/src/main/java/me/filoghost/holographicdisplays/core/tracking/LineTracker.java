@@ -8,19 +8,30 @@ package me.filoghost.holographicdisplays.core.tracking;
 import me.filoghost.holographicdisplays.common.PositionCoordinates;
 import me.filoghost.holographicdisplays.core.base.BaseHologramLine;
 import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
-import org.bukkit.Location;
+import me.filoghost.holographicdisplays.core.tick.PlayerSlotRegistry;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
 
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
 public abstract class LineTracker<T extends Viewer> {
 
-    private final Map<Player, T> viewers;
+    private final PlayerSlotRegistry playerSlotRegistry;
+
+    /**
+     * The viewers are indexed by the slot of the player. The array is allocated only while the line has viewers.
+     */
+    private final BitSet viewerSlots;
+    private Object[] viewersBySlot;
+    private int viewersCount;
+
+    private final Collection<T> viewersCollection;
     private final Viewers<T> iterableViewers;
 
     private String positionWorldName;
@@ -31,11 +42,12 @@ public abstract class LineTracker<T extends Viewer> {
      * Flag to indicate that the line has changed in some way and there could be the need to send update packets.
      */
     private boolean lineChanged;
-    private int lastVisibilitySettingsVersion;
 
-    protected LineTracker() {
-        this.viewers = new HashMap<>();
-        this.iterableViewers = new DelegateViewers<>(viewers.values());
+    protected LineTracker(PlayerSlotRegistry playerSlotRegistry) {
+        this.playerSlotRegistry = playerSlotRegistry;
+        this.viewerSlots = new BitSet();
+        this.viewersCollection = new ViewersCollection();
+        this.iterableViewers = new DelegateViewers<>(viewersCollection);
     }
 
     protected abstract BaseHologramLine getLine();
@@ -54,7 +66,7 @@ public abstract class LineTracker<T extends Viewer> {
     }
 
     @MustBeInvokedByOverriders
-    protected void update(List<CachedPlayer> onlinePlayers, List<CachedPlayer> movedPlayers) {
+    protected void update(HologramTracker hologramTracker) {
         boolean sendChangesPackets = false;
 
         // First, detect the changes if the flag is on and set it off
@@ -77,7 +89,7 @@ public abstract class LineTracker<T extends Viewer> {
         }
 
         // Finally, add/remove viewers sending them the full spawn/destroy packets
-        modifyViewersAndSendPackets(onlinePlayers, movedPlayers);
+        modifyViewersAndSendPackets(hologramTracker);
 
         if (sendChangesPackets) {
             clearDetectedChanges();
@@ -86,57 +98,24 @@ public abstract class LineTracker<T extends Viewer> {
 
     protected abstract boolean updatePlaceholders();
 
-    private void modifyViewersAndSendPackets(List<CachedPlayer> onlinePlayers, List<CachedPlayer> movedPlayers) {
-        if (!getLine().isInLoadedChunk()) {
+    private void modifyViewersAndSendPackets(HologramTracker hologramTracker) {
+        if (!hologramTracker.isInLoadedChunk()) {
             resetViewersAndSendDestroyPackets();
             return;
         }
 
-        boolean checkAllPlayers = false;
-
-        int visibilitySettingsVersion = getLine().getVisibilitySettings().getVersion();
-        if (visibilitySettingsVersion != lastVisibilitySettingsVersion) {
-            lastVisibilitySettingsVersion = visibilitySettingsVersion;
-            checkAllPlayers = true;
-        }
-
-        if (positionChanged) {
-            checkAllPlayers = true;
-        }
-
-        List<CachedPlayer> playersToCheck;
-        if (checkAllPlayers) {
-            playersToCheck = onlinePlayers;
-        } else {
-            playersToCheck = movedPlayers;
-        }
-
         // Lazy initialization
         MutableViewers<T> addedPlayers = null;
         MutableViewers<T> removedPlayers = null;
 
-        // Micro-optimization, don't use for-each loop to avoid creating a new Iterator (method called frequently)
-        int size = playersToCheck.size();
+        // The world, visibility and distance checks are done once for all the lines of the hologram
+        int size = hologramTracker.getCheckedPlayersCount();
         for (int i = 0; i < size; i++) {
-            CachedPlayer player = playersToCheck.get(i);
-            Player bukkitPlayer = player.getBukkitPlayer();
-            if (shouldTrackPlayer(player)) {
-                if (!viewers.containsKey(bukkitPlayer)) {
-                    T viewer = createViewer(player);
-                    viewers.put(bukkitPlayer, viewer);
-                    if (addedPlayers == null) {
-                        addedPlayers = new MutableViewers<>();
-                    }
-                    addedPlayers.add(viewer);
-                }
+            CachedPlayer player = hologramTracker.getCheckedPlayer(i);
+            if (hologramTracker.getCheckedPlayerDistance(i) <= getViewRange()) {
+                addedPlayers = addViewerIfAbsent(player, addedPlayers);
             } else {
-                if (viewers.containsKey(bukkitPlayer)) {
-                    T viewer = viewers.remove(bukkitPlayer);
-                    if (removedPlayers == null) {
-                        removedPlayers = new MutableViewers<>();
-                    }
-                    removedPlayers.add(viewer);
-                }
+                removedPlayers = removeViewerIfPresent(player, removedPlayers);
             }
         }
 
@@ -148,18 +127,40 @@ public abstract class LineTracker<T extends Viewer> {
         }
     }
 
-    private boolean shouldTrackPlayer(CachedPlayer player) {
-        Location playerLocation = player.getLocation();
-        if (playerLocation.getWorld() != getLine().getWorldIfLoaded()) {
-            return false;
+    private MutableViewers<T> addViewerIfAbsent(CachedPlayer player, MutableViewers<T> addedPlayers) {
+        int slot = player.getSlot();
+        if (viewerSlots.get(slot)) {
+            return addedPlayers;
         }
 
-        double diffX = Math.abs(playerLocation.getX() - positionCoordinates.getX());
-        double diffZ = Math.abs(playerLocation.getZ() - positionCoordinates.getZ());
+        T viewer = createViewer(player);
+        if (viewersBySlot == null) {
+            viewersBySlot = new Object[Math.max(slot + 1, 8)];
+        } else if (slot >= viewersBySlot.length) {
+            viewersBySlot = Arrays.copyOf(viewersBySlot, Math.max(slot + 1, viewersBySlot.length * 2));
+        }
+        viewersBySlot[slot] = viewer;
+        viewerSlots.set(slot);
+        viewersCount++;
 
-        return diffX <= getViewRange()
-                && diffZ <= getViewRange()
-                && getLine().isVisibleTo(player.getBukkitPlayer());
+        if (addedPlayers == null) {
+            addedPlayers = new MutableViewers<>();
+        }
+        addedPlayers.add(viewer);
+        return addedPlayers;
+    }
+
+    private MutableViewers<T> removeViewerIfPresent(CachedPlayer player, MutableViewers<T> removedPlayers) {
+        T viewer = removeViewer(player);
+        if (viewer == null) {
+            return removedPlayers;
+        }
+
+        if (removedPlayers == null) {
+            removedPlayers = new MutableViewers<>();
+        }
+        removedPlayers.add(viewer);
+        return removedPlayers;
     }
 
     protected abstract double getViewRange();
@@ -167,19 +168,37 @@ public abstract class LineTracker<T extends Viewer> {
     protected abstract T createViewer(CachedPlayer cachedPlayer);
 
     protected final boolean hasViewers() {
-        return !viewers.isEmpty();
+        return viewersCount > 0;
     }
 
     protected final Collection<T> getViewers() {
-        return viewers.values();
+        return viewersCollection;
     }
 
     public final boolean isViewer(Player player) {
-        return viewers.containsKey(player);
+        CachedPlayer cachedPlayer = playerSlotRegistry.get(player);
+        return cachedPlayer != null && viewerSlots.get(cachedPlayer.getSlot());
+    }
+
+    protected final T removeViewer(CachedPlayer player) {
+        int slot = player.getSlot();
+        if (!viewerSlots.get(slot)) {
+            return null;
+        }
+
+        T viewer = getViewer(slot);
+        viewerSlots.clear(slot);
+        viewersBySlot[slot] = null;
+        viewersCount--;
+        if (viewersCount == 0) {
+            viewersBySlot = null;
+        }
+        return viewer;
     }
 
-    protected final void removeViewer(Player player) {
-        viewers.remove(player);
+    @SuppressWarnings("unchecked")
+    private T getViewer(int slot) {
+        return (T) viewersBySlot[slot];
     }
 
     @MustBeInvokedByOverriders
@@ -208,7 +227,9 @@ public abstract class LineTracker<T extends Viewer> {
         }
 
         sendDestroyPackets(iterableViewers);
-        viewers.clear();
+        viewerSlots.clear();
+        viewersBySlot = null;
+        viewersCount = 0;
     }
 
     protected abstract void sendSpawnPackets(Viewers<T> viewers);
@@ -224,4 +245,38 @@ public abstract class LineTracker<T extends Viewer> {
 
     protected abstract void sendPositionChangePackets(Viewers<T> viewers);
 
+
+    private class ViewersCollection extends AbstractCollection<T> {
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+
+                private int nextSlot = viewerSlots.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return nextSlot >= 0;
+                }
+
+                @Override
+                public T next() {
+                    if (nextSlot < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    T viewer = getViewer(nextSlot);
+                    nextSlot = viewerSlots.nextSetBit(nextSlot + 1);
+                    return viewer;
+                }
+
+            };
+        }
+
+        @Override
+        public int size() {
+            return viewersCount;
+        }
+
+    }
+
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.tracking;
+
+import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial index of hologram trackers, grouped by world and by square cells on the X/Z plane.
+ * <p>
+ * The size of a cell is not smaller than the biggest view range of the lines, so a player can only be in range of the trackers
+ * inside the same cell or the 8 adjacent ones.
+ */
+class LineTrackerGrid {
+
+    private static final int CELL_SIZE = 64;
+
+    private final Map<String, Map<Long, Cell>> cellsByWorld;
+
+    LineTrackerGrid() {
+        this.cellsByWorld = new HashMap<>();
+    }
+
+    void updatePosition(HologramTracker tracker, String worldName, double x, double z) {
+        int cellX = toCellCoordinate(x);
+        int cellZ = toCellCoordinate(z);
+
+        Cell currentCell = tracker.getGridCell();
+        if (currentCell != null && currentCell.isAt(worldName, cellX, cellZ)) {
+            return;
+        }
+
+        remove(tracker);
+
+        Map<Long, Cell> worldCells = cellsByWorld.computeIfAbsent(worldName, key -> new HashMap<>());
+        Cell newCell = worldCells.computeIfAbsent(toCellKey(cellX, cellZ), key -> new Cell(worldName, cellX, cellZ));
+        newCell.trackers.add(tracker);
+        tracker.setGridCell(newCell);
+    }
+
+    void remove(HologramTracker tracker) {
+        Cell cell = tracker.getGridCell();
+        if (cell == null) {
+            return;
+        }
+
+        tracker.setGridCell(null);
+        cell.trackers.remove(tracker);
+
+        if (cell.trackers.isEmpty()) {
+            Map<Long, Cell> worldCells = cellsByWorld.get(cell.worldName);
+            worldCells.remove(toCellKey(cell.cellX, cell.cellZ));
+            if (worldCells.isEmpty()) {
+                cellsByWorld.remove(cell.worldName);
+            }
+        }
+    }
+
+    /*
+     * Notifies the moved player only to the trackers in the surrounding cells, instead of every tracker.
+     */
+    void addNearbyMovedPlayer(CachedPlayer movedPlayer) {
+        Location location = movedPlayer.getLocation();
+        World world = location.getWorld();
+        if (world == null) {
+            return;
+        }
+
+        Map<Long, Cell> worldCells = cellsByWorld.get(world.getName());
+        if (worldCells == null) {
+            return;
+        }
+
+        int cellX = toCellCoordinate(location.getX());
+        int cellZ = toCellCoordinate(location.getZ());
+
+        for (int offsetX = -1; offsetX <= 1; offsetX++) {
+            for (int offsetZ = -1; offsetZ <= 1; offsetZ++) {
+                Cell cell = worldCells.get(toCellKey(cellX + offsetX, cellZ + offsetZ));
+                if (cell != null) {
+                    // Micro-optimization, don't use for-each loop to avoid creating a new Iterator (method called frequently)
+                    List<HologramTracker> trackers = cell.trackers;
+                    for (int i = 0; i < trackers.size(); i++) {
+                        trackers.get(i).addNearbyMovedPlayer(movedPlayer);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int toCellCoordinate(double positionCoordinate) {
+        return Math.floorDiv(Location.locToBlock(positionCoordinate), CELL_SIZE);
+    }
+
+    private static long toCellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+
+    static class Cell {
+
+        private final String worldName;
+        private final int cellX, cellZ;
+        private final List<HologramTracker> trackers;
+
+        private Cell(String worldName, int cellX, int cellZ) {
+            this.worldName = worldName;
+            this.cellX = cellX;
+            this.cellZ = cellZ;
+            this.trackers = new ArrayList<>();
+        }
+
+        private boolean isAt(String worldName, int cellX, int cellZ) {
+            return this.cellX == cellX && this.cellZ == cellZ && this.worldName.equals(worldName);
+        }
+
+    }
+
+}
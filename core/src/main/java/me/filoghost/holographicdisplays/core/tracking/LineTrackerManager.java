@@ -6,18 +6,20 @@
 package me.filoghost.holographicdisplays.core.tracking;
 
 import me.filoghost.holographicdisplays.nms.common.NMSManager;
+import me.filoghost.holographicdisplays.core.base.BaseHologram;
+import me.filoghost.holographicdisplays.core.base.BaseHologramLine;
 import me.filoghost.holographicdisplays.core.base.BaseItemHologramLine;
 import me.filoghost.holographicdisplays.core.base.BaseTextHologramLine;
 import me.filoghost.holographicdisplays.core.listener.LineClickListener;
 import me.filoghost.holographicdisplays.core.placeholder.tracking.ActivePlaceholderTracker;
 import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
+import me.filoghost.holographicdisplays.core.tick.PlayerSlotRegistry;
 import me.filoghost.holographicdisplays.core.tick.TickClock;
-import org.bukkit.entity.Player;
 
-import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class LineTrackerManager {
 
@@ -25,56 +27,71 @@ public class LineTrackerManager {
     private final NMSManager nmsManager;
     private final ActivePlaceholderTracker placeholderTracker;
     private final LineClickListener lineClickListener;
-    private final Collection<LineTracker<?>> lineTrackers;
+    private final PlayerSlotRegistry playerSlotRegistry;
+    private final Map<BaseHologram, HologramTracker> hologramTrackers;
+    private final LineTrackerGrid lineTrackerGrid;
+    private final NearbyHologramIndex nearbyHologramIndex;
 
     public LineTrackerManager(
             NMSManager nmsManager,
             ActivePlaceholderTracker placeholderTracker,
             LineClickListener lineClickListener,
-            TickClock tickClock) {
+            TickClock tickClock,
+            PlayerSlotRegistry playerSlotRegistry) {
         this.nmsManager = nmsManager;
         this.placeholderTracker = placeholderTracker;
         this.lineClickListener = lineClickListener;
-        this.lineTrackers = new LinkedList<>();
+        this.playerSlotRegistry = playerSlotRegistry;
+        this.hologramTrackers = new LinkedHashMap<>();
+        this.lineTrackerGrid = new LineTrackerGrid();
+        this.nearbyHologramIndex = new NearbyHologramIndex();
         this.tickClock = tickClock;
     }
 
     public TextLineTracker startTracking(BaseTextHologramLine line) {
-        TextLineTracker tracker = new TextLineTracker(line, nmsManager, lineClickListener, placeholderTracker);
-        lineTrackers.add(tracker);
+        TextLineTracker tracker = new TextLineTracker(line, nmsManager, lineClickListener, placeholderTracker, playerSlotRegistry);
+        getHologramTracker(line).addLineTracker(tracker);
         return tracker;
     }
 
     public ItemLineTracker startTracking(BaseItemHologramLine line) {
-        ItemLineTracker tracker = new ItemLineTracker(line, nmsManager, lineClickListener);
-        lineTrackers.add(tracker);
+        ItemLineTracker tracker = new ItemLineTracker(line, nmsManager, lineClickListener, playerSlotRegistry);
+        getHologramTracker(line).addLineTracker(tracker);
         return tracker;
     }
 
+    private HologramTracker getHologramTracker(BaseHologramLine line) {
+        return hologramTrackers.computeIfAbsent(line.getHologram(),
+                hologram -> new HologramTracker(hologram, playerSlotRegistry, nearbyHologramIndex));
+    }
+
     public void update(List<CachedPlayer> onlinePlayers, List<CachedPlayer> movedPlayers) {
-        Iterator<LineTracker<?>> iterator = lineTrackers.iterator();
+        // Micro-optimization, don't use for-each loop to avoid creating a new Iterator (method called frequently)
+        for (int i = 0; i < movedPlayers.size(); i++) {
+            lineTrackerGrid.addNearbyMovedPlayer(movedPlayers.get(i));
+        }
+
+        Iterator<HologramTracker> iterator = hologramTrackers.values().iterator();
         while (iterator.hasNext()) {
-            LineTracker<?> lineTracker = iterator.next();
+            HologramTracker hologramTracker = iterator.next();
+            hologramTracker.update(onlinePlayers, lineTrackerGrid);
 
-            // Remove deleted trackers
-            if (lineTracker.shouldBeRemoved()) {
+            // Remove trackers of holograms without lines, after the deleted lines are removed
+            if (hologramTracker.isEmpty()) {
                 iterator.remove();
-                lineTracker.onRemoval();
-                continue;
+                lineTrackerGrid.remove(hologramTracker);
             }
-
-            lineTracker.update(onlinePlayers, movedPlayers);
         }
     }
 
     public void resetViewersAndSendDestroyPackets() {
-        for (LineTracker<?> tracker : lineTrackers) {
+        for (HologramTracker tracker : hologramTrackers.values()) {
             tracker.resetViewersAndSendDestroyPackets();
         }
     }
 
-    public void removeViewer(Player player) {
-        for (LineTracker<?> tracker : lineTrackers) {
+    public void removeViewer(CachedPlayer player) {
+        for (HologramTracker tracker : nearbyHologramIndex.removeAll(player.getSlot())) {
             tracker.removeViewer(player);
         }
     }
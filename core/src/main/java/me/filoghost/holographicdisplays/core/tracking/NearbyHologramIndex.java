@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.tracking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reverse index from the slot of each player to the holograms the player is near to. Since the viewers of the lines are
+ * always near the hologram, a player can be removed from the viewers without going through all the holograms.
+ */
+class NearbyHologramIndex {
+
+    private final List<Set<HologramTracker>> hologramsBySlot;
+
+    NearbyHologramIndex() {
+        this.hologramsBySlot = new ArrayList<>();
+    }
+
+    void add(int playerSlot, HologramTracker hologramTracker) {
+        while (hologramsBySlot.size() <= playerSlot) {
+            hologramsBySlot.add(null);
+        }
+
+        Set<HologramTracker> holograms = hologramsBySlot.get(playerSlot);
+        if (holograms == null) {
+            holograms = new HashSet<>();
+            hologramsBySlot.set(playerSlot, holograms);
+        }
+        holograms.add(hologramTracker);
+    }
+
+    void remove(int playerSlot, HologramTracker hologramTracker) {
+        if (playerSlot < hologramsBySlot.size()) {
+            Set<HologramTracker> holograms = hologramsBySlot.get(playerSlot);
+            if (holograms != null) {
+                holograms.remove(hologramTracker);
+            }
+        }
+    }
+
+    Set<HologramTracker> removeAll(int playerSlot) {
+        if (playerSlot >= hologramsBySlot.size()) {
+            return Collections.emptySet();
+        }
+
+        Set<HologramTracker> holograms = hologramsBySlot.set(playerSlot, null);
+        return holograms != null ? holograms : Collections.emptySet();
+    }
+
+}
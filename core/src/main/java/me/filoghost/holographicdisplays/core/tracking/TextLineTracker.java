@@ -9,6 +9,7 @@ import me.filoghost.holographicdisplays.core.base.BaseTextHologramLine;
 import me.filoghost.holographicdisplays.core.listener.LineClickListener;
 import me.filoghost.holographicdisplays.core.placeholder.tracking.ActivePlaceholderTracker;
 import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
+import me.filoghost.holographicdisplays.core.tick.PlayerSlotRegistry;
 import me.filoghost.holographicdisplays.nms.common.IndividualTextPacketGroup;
 import me.filoghost.holographicdisplays.nms.common.NMSManager;
 import me.filoghost.holographicdisplays.nms.common.entity.TextNMSPacketEntity;
@@ -28,8 +29,9 @@ public class TextLineTracker extends ClickableLineTracker<TextLineViewer> {
             BaseTextHologramLine line,
             NMSManager nmsManager,
             LineClickListener lineClickListener,
-            ActivePlaceholderTracker placeholderTracker) {
-        super(line, nmsManager, lineClickListener);
+            ActivePlaceholderTracker placeholderTracker,
+            PlayerSlotRegistry playerSlotRegistry) {
+        super(line, nmsManager, lineClickListener, playerSlotRegistry);
         this.line = line;
         this.textEntity = nmsManager.newTextPacketEntity();
         this.displayText = new DisplayText(placeholderTracker);
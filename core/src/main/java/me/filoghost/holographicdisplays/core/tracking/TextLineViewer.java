@@ -5,6 +5,7 @@
  */
 package me.filoghost.holographicdisplays.core.tracking;
 
+import me.filoghost.holographicdisplays.core.placeholder.tracking.ComposedText;
 import me.filoghost.holographicdisplays.nms.common.IndividualTextPacketGroup;
 import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
 import org.jetbrains.annotations.Nullable;
@@ -14,13 +15,14 @@ import java.util.Objects;
 class TextLineViewer extends Viewer {
 
     private final DisplayText displayText;
+    private final ComposedText individualText;
 
-    private String individualText;
     private String lastSentText;
 
     TextLineViewer(CachedPlayer player, DisplayText displayText) {
         super(player);
         this.displayText = displayText;
+        this.individualText = new ComposedText();
     }
 
     public void sendTextPackets(IndividualTextPacketGroup packets) {
@@ -40,24 +42,18 @@ class TextLineViewer extends Viewer {
 
     private @Nullable String getOrComputeText() {
         if (displayText.containsIndividualPlaceholders()) {
-            if (individualText == null) {
-                individualText = displayText.computeIndividualText(this);
+            if (individualText.getText() == null) {
+                displayText.updateIndividualText(this, individualText);
             }
-            return individualText;
+            return individualText.getText();
         } else {
-            individualText = null;
+            individualText.clear();
             return displayText.getGlobalText();
         }
     }
 
     public boolean updateIndividualText() {
-        String individualText = displayText.computeIndividualText(this);
-        if (!Objects.equals(this.individualText, individualText)) {
-            this.individualText = individualText;
-            return true;
-        } else {
-            return false;
-        }
+        return displayText.updateIndividualText(this, individualText);
     }
 
 }
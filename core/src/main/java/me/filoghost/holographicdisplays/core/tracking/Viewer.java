@@ -19,6 +19,10 @@ class Viewer {
         this.player = player;
     }
 
+    public final CachedPlayer getCachedPlayer() {
+        return player;
+    }
+
     public final Player getBukkitPlayer() {
         return player.getBukkitPlayer();
     }
@@ -28,11 +32,11 @@ class Viewer {
     }
 
     public void sendPackets(PacketGroup packetGroup) {
-        packetGroup.sendTo(player.getBukkitPlayer());
+        packetGroup.sendTo(player.getPacketSink());
     }
 
     public void sendIndividualPackets(IndividualTextPacketGroup packetGroup, String text) {
-        packetGroup.sendTo(player.getBukkitPlayer(), text);
+        packetGroup.sendTo(player.getPacketSink(), text);
     }
 
 }
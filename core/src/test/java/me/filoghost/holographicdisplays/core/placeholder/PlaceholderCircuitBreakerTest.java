@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder;
+
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderRefreshMode;
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderCircuitBreaker.State;
+import me.filoghost.holographicdisplays.core.placeholder.registry.PlaceholderExpansion;
+import me.filoghost.holographicdisplays.core.test.Mocks;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PlaceholderCircuitBreakerTest {
+
+    private static final long SLOW_CALL_NANOS = 1000;
+    private static final int OPEN_TICKS = 100;
+
+    private PlaceholderCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void beforeEach() {
+        PlaceholderCircuitBreaker.configure(true, 50, SLOW_CALL_NANOS, OPEN_TICKS);
+        circuitBreaker = new PlaceholderCircuitBreaker("test");
+    }
+
+    @AfterEach
+    void afterEach() {
+        PlaceholderCircuitBreaker.configure(false, 50, SLOW_CALL_NANOS, OPEN_TICKS);
+    }
+
+    @Test
+    void opensAfterFailures() {
+        completeCalls(10, false);
+        completeCalls(10, true);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.tryAcquire(0)).isFalse();
+        assertThat(circuitBreaker.tryAcquire(OPEN_TICKS - 1)).isFalse();
+        assertThat(circuitBreaker.getRejectedCallsCount()).isEqualTo(2);
+    }
+
+    @Test
+    void staysClosedBelowThreshold() {
+        completeCalls(11, false);
+        completeCalls(9, true);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire(0)).isTrue();
+    }
+
+    @Test
+    void opensAfterSlowCalls() {
+        for (int i = 0; i < 20; i++) {
+            circuitBreaker.onCallCompleted(SLOW_CALL_NANOS, false);
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void successfulProbeCloses() {
+        completeCalls(20, true);
+        circuitBreaker.tryAcquire(0);
+
+        assertThat(circuitBreaker.tryAcquire(OPEN_TICKS)).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire(OPEN_TICKS)).isFalse(); // Only one probe at a time
+
+        circuitBreaker.onCallCompleted(0, false);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire(OPEN_TICKS)).isTrue();
+    }
+
+    @Test
+    void failedProbeDoublesOpenPeriod() {
+        completeCalls(20, true);
+        circuitBreaker.tryAcquire(0);
+        circuitBreaker.tryAcquire(OPEN_TICKS);
+        circuitBreaker.onCallCompleted(0, true);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.getTripsCount()).isEqualTo(2);
+        assertThat(circuitBreaker.tryAcquire(OPEN_TICKS)).isFalse();
+        assertThat(circuitBreaker.tryAcquire(OPEN_TICKS * 3 - 1)).isFalse();
+        assertThat(circuitBreaker.tryAcquire(OPEN_TICKS * 3)).isTrue();
+    }
+
+    @Test
+    void disabledNeverOpens() {
+        PlaceholderCircuitBreaker.configure(false, 50, SLOW_CALL_NANOS, OPEN_TICKS);
+        completeCalls(40, true);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire(0)).isTrue();
+    }
+
+    @Test
+    void repeatedFailedProbesKeepDoublingOpenPeriod() {
+        completeCalls(20, true);
+        circuitBreaker.tryAcquire(0);
+        circuitBreaker.tryAcquire(OPEN_TICKS);
+        circuitBreaker.onCallCompleted(0, true);
+        circuitBreaker.tryAcquire(OPEN_TICKS);
+        circuitBreaker.tryAcquire(OPEN_TICKS * 3);
+        circuitBreaker.onCallCompleted(0, true);
+
+        assertThat(circuitBreaker.getTripsCount()).isEqualTo(3);
+        assertThat(circuitBreaker.tryAcquire(OPEN_TICKS * 3)).isFalse();
+        assertThat(circuitBreaker.tryAcquire(OPEN_TICKS * 7 - 1)).isFalse();
+        assertThat(circuitBreaker.tryAcquire(OPEN_TICKS * 7)).isTrue();
+    }
+
+    @Test
+    void sharedByPlaceholdersOfSameGroup() {
+        PlaceholderExpansion expansion = newExpansion();
+
+        PlaceholderCircuitBreaker player1 = expansion.acquireCircuitBreaker("player");
+        PlaceholderCircuitBreaker player2 = expansion.acquireCircuitBreaker("player");
+        PlaceholderCircuitBreaker server = expansion.acquireCircuitBreaker("server");
+
+        assertThat(player2).isSameAs(player1);
+        assertThat(server).isNotSameAs(player1);
+        assertThat(expansion.acquireCircuitBreaker(null)).isNotSameAs(player1);
+        assertThat(player1.getName()).isEqualTo("{HolographicDisplays/papi} (player)");
+        assertThat(expansion.getCircuitBreakers()).hasSize(3);
+    }
+
+    @Test
+    void sharedByPlaceholdersWithoutGroup() {
+        PlaceholderExpansion expansion = newExpansion();
+
+        PlaceholderCircuitBreaker first = expansion.acquireCircuitBreaker(null);
+        expansion.releaseCircuitBreaker(null);
+
+        assertThat(expansion.acquireCircuitBreaker(null)).isSameAs(first);
+        assertThat(first.getName()).isEqualTo("{HolographicDisplays/papi}");
+        assertThat(expansion.getCircuitBreakers()).containsExactly(first);
+    }
+
+    @Test
+    void groupRemovedWhenReleasedByAllPlaceholders() {
+        PlaceholderExpansion expansion = newExpansion();
+
+        PlaceholderCircuitBreaker player = expansion.acquireCircuitBreaker("player");
+        expansion.acquireCircuitBreaker("player");
+        expansion.releaseCircuitBreaker("player");
+        assertThat(expansion.getCircuitBreakers()).contains(player);
+
+        expansion.releaseCircuitBreaker("player");
+        assertThat(expansion.getCircuitBreakers()).hasSize(1).doesNotContain(player);
+        assertThat(expansion.acquireCircuitBreaker("player")).isNotSameAs(player);
+    }
+
+    private PlaceholderExpansion newExpansion() {
+        return new PlaceholderExpansion(Mocks.PLUGIN, "papi", PlaceholderRefreshMode.MAIN_THREAD) {
+
+            @Override
+            public boolean isIndividual() {
+                return true;
+            }
+
+            @Override
+            public @Nullable StandardPlaceholder createPlaceholder(String argument) {
+                return null;
+            }
+
+        };
+    }
+
+    private void completeCalls(int count, boolean failed) {
+        for (int i = 0; i < count; i++) {
+            circuitBreaker.onCallCompleted(0, failed);
+        }
+    }
+
+}
@@ -65,6 +65,20 @@ class StringWithPlaceholdersTest {
         assertThat(s.replacePlaceholders(null, (player, occurrence) -> null)).isEqualTo(input);
     }
 
+    @Test
+    void sharedInstances() {
+        StringWithPlaceholders s1 = StringWithPlaceholders.of("{p} a {q: arg}");
+        StringWithPlaceholders s2 = StringWithPlaceholders.of("{p} a {q: arg}");
+        StringWithPlaceholders s3 = StringWithPlaceholders.of("{q: arg}");
+        assertThat(s1).isSameAs(s2);
+        assertThat(s1).isNotSameAs(StringWithPlaceholders.withEscapes("{p} a {q: arg}"));
+
+        List<PlaceholderOccurrence> placeholders = new ArrayList<>();
+        s1.anyPlaceholderMatch(occurrence -> !placeholders.add(occurrence));
+        s3.anyPlaceholderMatch(occurrence -> !placeholders.add(occurrence));
+        assertThat(placeholders.get(1)).isSameAs(placeholders.get(2));
+    }
+
     @ParameterizedTest(name = "[{index}] {0} -> {1}, {2}, {3}")
     @MethodSource("parsingTestArguments")
     void parsing(String input, String expectedPluginName, String expectedIdentifier, String expectedArgument) {
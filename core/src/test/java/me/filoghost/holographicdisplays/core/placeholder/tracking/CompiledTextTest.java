@@ -0,0 +1,502 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.placeholder.tracking;
+
+import me.filoghost.holographicdisplays.api.placeholder.GlobalPlaceholder;
+import me.filoghost.holographicdisplays.api.placeholder.GlobalPlaceholderReplaceFunction;
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderInvalidator;
+import me.filoghost.holographicdisplays.api.placeholder.PlaceholderRefreshMode;
+import me.filoghost.holographicdisplays.core.placeholder.BatchedIndividualPlaceholder;
+import me.filoghost.holographicdisplays.core.placeholder.IndividualPlaceholderBatcher;
+import me.filoghost.holographicdisplays.core.placeholder.parsing.StringWithPlaceholders;
+import me.filoghost.holographicdisplays.core.placeholder.registry.PlaceholderRegistry;
+import me.filoghost.holographicdisplays.core.profiling.TickProfiler;
+import me.filoghost.holographicdisplays.core.test.Mocks;
+import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
+import me.filoghost.holographicdisplays.core.tick.PlayerSlotRegistry;
+import me.filoghost.holographicdisplays.core.tick.TickClock;
+import me.filoghost.holographicdisplays.nms.common.PacketSink;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CompiledTextTest {
+
+    private PlaceholderRegistry placeholderRegistry;
+    private TickClock tickClock;
+    private ActivePlaceholderTracker placeholderTracker;
+
+    @BeforeEach
+    void beforeEach() {
+        Mocks.prepareEnvironment();
+        placeholderRegistry = new PlaceholderRegistry();
+        tickClock = new TickClock();
+        placeholderTracker = new ActivePlaceholderTracker(placeholderRegistry, tickClock, new TickProfiler());
+    }
+
+    @Test
+    void replacement() {
+        registerPlaceholder("test", "value");
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{test} and {test}"));
+
+        assertThat(replace(compiledText)).isEqualTo("value and value");
+    }
+
+    @Test
+    void rebindAfterRegistryChange() {
+        registerPlaceholder("test", "old");
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{test}"));
+        assertThat(replace(compiledText)).isEqualTo("old");
+
+        registerPlaceholder("test", "new");
+        placeholderTracker.clearOutdatedEntries();
+
+        assertThat(replace(compiledText)).isEqualTo("new");
+    }
+
+    @Test
+    void unrelatedRegistryChangeKeepsBinding() {
+        AtomicInteger invocations = new AtomicInteger();
+        placeholderRegistry.registerGlobalPlaceholder(
+                Mocks.PLUGIN, "test", 100, argument -> "value" + invocations.incrementAndGet(), PlaceholderRefreshMode.MAIN_THREAD);
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{test}"));
+        ComposedText composedText = new ComposedText();
+        compiledText.update(null, composedText);
+
+        registerPlaceholder("other", "value");
+        placeholderTracker.clearOutdatedEntries();
+        compiledText.update(null, composedText);
+
+        assertThat(composedText.getText()).isEqualTo("value1");
+        assertThat(invocations).hasValue(1);
+    }
+
+    @Test
+    void individualPlaceholdersCheckedAgainAfterRegistryChange() {
+        registerPlaceholder("test", "value");
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{test}"));
+        assertThat(compiledText.containsIndividualPlaceholders()).isFalse();
+
+        placeholderRegistry.registerIndividualPlaceholder(
+                Mocks.PLUGIN, "test", 1, (player, argument) -> "value", PlaceholderRefreshMode.MAIN_THREAD);
+        placeholderTracker.clearOutdatedEntries();
+
+        assertThat(compiledText.containsIndividualPlaceholders()).isTrue();
+    }
+
+    @Test
+    void unknownPlaceholder() {
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{unknown}"));
+
+        assertThat(replace(compiledText)).isEqualTo("{unknown}");
+    }
+
+    @Test
+    void composeOnlyWhenChanged() {
+        registerPlaceholder("test", "value");
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{test}"));
+        ComposedText composedText = new ComposedText();
+
+        assertThat(compiledText.update(null, composedText)).isTrue();
+        assertThat(compiledText.update(null, composedText)).isFalse();
+        assertThat(composedText.getText()).isEqualTo("value");
+    }
+
+    @Test
+    void pushPlaceholderRefreshedOnlyWhenInvalidated() {
+        AtomicInteger invocations = new AtomicInteger();
+        PlaceholderInvalidator invalidator = placeholderRegistry.registerGlobalPushPlaceholder(
+                Mocks.PLUGIN, "test", argument -> "value" + invocations.incrementAndGet());
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{test}"));
+        ComposedText composedText = new ComposedText();
+
+        for (int i = 0; i < 100; i++) {
+            compiledText.update(null, composedText);
+            tickClock.incrementTick();
+            placeholderTracker.advanceTimers();
+        }
+        assertThat(composedText.getText()).isEqualTo("value1");
+
+        invalidator.invalidate();
+        invalidator.invalidate();
+
+        assertThat(compiledText.update(null, composedText)).isTrue();
+        assertThat(compiledText.update(null, composedText)).isFalse();
+        assertThat(composedText.getText()).isEqualTo("value2");
+    }
+
+    @Test
+    void individualReplacementRemovedWhenSlotReused() {
+        placeholderRegistry.registerIndividualPlaceholder(
+                Mocks.PLUGIN, "name", 100, (player, argument) -> player.getName(), PlaceholderRefreshMode.MAIN_THREAD);
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{name}"));
+        PlayerSlotRegistry playerSlotRegistry = new PlayerSlotRegistry();
+
+        CachedPlayer player1 = playerSlotRegistry.register(mockPlayer("Player1"), mock(PacketSink.class));
+        ComposedText composedText1 = new ComposedText();
+        compiledText.update(player1, composedText1);
+        assertThat(composedText1.getText()).isEqualTo("Player1");
+
+        placeholderTracker.removePlayer(player1);
+        playerSlotRegistry.unregister(player1);
+        CachedPlayer player2 = playerSlotRegistry.register(mockPlayer("Player2"), mock(PacketSink.class));
+        ComposedText composedText2 = new ComposedText();
+        compiledText.update(player2, composedText2);
+
+        assertThat(player2.getSlot()).isEqualTo(player1.getSlot());
+        assertThat(composedText2.getText()).isEqualTo("Player2");
+        assertThat(placeholderTracker.getIndividualReplacementHoldersCount()).containsEntry("name", 1);
+    }
+
+    @Test
+    void partitionedReplacementComputedOncePerKey() {
+        AtomicInteger invocations = new AtomicInteger();
+        placeholderRegistry.registerPartitionedPlaceholder(
+                Mocks.PLUGIN, "group", 100, (Player player) -> player.getName().substring(0, 1),
+                (String group, String argument) -> group + invocations.incrementAndGet(), PlaceholderRefreshMode.MAIN_THREAD);
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{group}"));
+        PlayerSlotRegistry playerSlotRegistry = new PlayerSlotRegistry();
+
+        List<String> texts = new ArrayList<>();
+        for (String name : Arrays.asList("A1", "A2", "B1", "A3", "B2")) {
+            CachedPlayer player = playerSlotRegistry.register(mockPlayer(name), mock(PacketSink.class));
+            ComposedText composedText = new ComposedText();
+            compiledText.update(player, composedText);
+            texts.add(composedText.getText());
+        }
+
+        assertThat(texts).containsExactly("A1", "A1", "B2", "A1", "B2");
+        assertThat(invocations).hasValue(2);
+        assertThat(placeholderTracker.getIndividualReplacementHoldersCount()).containsEntry("group", 2);
+    }
+
+    @Test
+    void partitionRemovedWhenKeyChanges() {
+        placeholderRegistry.registerPartitionedPlaceholder(
+                Mocks.PLUGIN, "group", 100, (Player player) -> player.getName(),
+                (String group, String argument) -> group, PlaceholderRefreshMode.MAIN_THREAD);
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{group}"));
+        Player bukkitPlayer = mockPlayer("old");
+        CachedPlayer player = new PlayerSlotRegistry().register(bukkitPlayer, mock(PacketSink.class));
+        ComposedText composedText = new ComposedText();
+        compiledText.update(player, composedText);
+
+        when(bukkitPlayer.getName()).thenReturn("new");
+        advanceTicks(100);
+
+        assertThat(compiledText.update(player, composedText)).isTrue();
+        assertThat(composedText.getText()).isEqualTo("new");
+        assertThat(placeholderTracker.getIndividualReplacementHoldersCount()).containsEntry("group", 1);
+    }
+
+    @Test
+    void partitionKeyEvaluatedOnlyWhenRefreshDue() {
+        AtomicInteger keyInvocations = new AtomicInteger();
+        placeholderRegistry.registerPartitionedPlaceholder(
+                Mocks.PLUGIN, "group", 10, (Player player) -> {
+                    keyInvocations.incrementAndGet();
+                    return player.getName();
+                },
+                (String group, String argument) -> group, PlaceholderRefreshMode.MAIN_THREAD);
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{group}"));
+        Player bukkitPlayer = mockPlayer("old");
+        CachedPlayer player = new PlayerSlotRegistry().register(bukkitPlayer, mock(PacketSink.class));
+        ComposedText composedText = new ComposedText();
+
+        for (int i = 0; i < 9; i++) {
+            compiledText.update(player, composedText);
+            advanceTicks(1);
+        }
+        when(bukkitPlayer.getName()).thenReturn("new");
+        compiledText.update(player, composedText);
+
+        assertThat(keyInvocations).hasValue(1);
+        assertThat(composedText.getText()).isEqualTo("old");
+
+        advanceTicks(1);
+        compiledText.update(player, composedText);
+
+        assertThat(keyInvocations).hasValue(2);
+        assertThat(composedText.getText()).isEqualTo("new");
+    }
+
+    @Test
+    void partitionKeyEvaluatedAgainOnWorldChange() {
+        placeholderRegistry.registerPartitionedPlaceholder(
+                Mocks.PLUGIN, "world", 100, (Player player) -> player.getName(),
+                (String key, String argument) -> key, PlaceholderRefreshMode.MAIN_THREAD);
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{world}"));
+        Player bukkitPlayer = mockPlayer("old");
+        CachedPlayer player = mock(CachedPlayer.class);
+        when(player.getBukkitPlayer()).thenReturn(bukkitPlayer);
+        when(player.getLocation()).thenReturn(new Location(mock(World.class), 0, 0, 0));
+        ComposedText composedText = new ComposedText();
+        compiledText.update(player, composedText);
+
+        when(bukkitPlayer.getName()).thenReturn("new");
+        compiledText.update(player, composedText);
+        assertThat(composedText.getText()).isEqualTo("old");
+
+        when(player.getLocation()).thenReturn(new Location(mock(World.class), 0, 0, 0));
+        compiledText.update(player, composedText);
+        assertThat(composedText.getText()).isEqualTo("new");
+    }
+
+    @Test
+    void adaptiveRefreshIntervalGrowsWhileUnchanged() {
+        AtomicInteger invocations = new AtomicInteger();
+        AtomicReference<String> value = new AtomicReference<>("value");
+        placeholderRegistry.registerGlobalPlaceholder(Mocks.PLUGIN, "test", new GlobalPlaceholder() {
+
+            @Override
+            public int getRefreshIntervalTicks() {
+                return 1;
+            }
+
+            @Override
+            public int getMaxRefreshIntervalTicks() {
+                return 8;
+            }
+
+            @Override
+            public @Nullable String getReplacement(@Nullable String argument) {
+                invocations.incrementAndGet();
+                return value.get();
+            }
+
+        }, PlaceholderRefreshMode.MAIN_THREAD);
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{test}"));
+        ComposedText composedText = new ComposedText();
+
+        // Refreshed at the ticks 0, 1, 3, 7, 15 and 23
+        updateForTicks(compiledText, composedText, 30);
+        assertThat(invocations).hasValue(6);
+
+        // Refreshed at the tick 31, then at the ticks 32, 34 and 38 after the change
+        value.set("changed");
+        updateForTicks(compiledText, composedText, 10);
+        assertThat(invocations).hasValue(10);
+        assertThat(composedText.getText()).isEqualTo("changed");
+    }
+
+    @Test
+    void asyncPlaceholderEmptyUntilFirstRefresh() {
+        List<Runnable> submittedTasks = new ArrayList<>();
+        ActivePlaceholderTracker placeholderTracker = newTrackerWithExecutor(submittedTasks);
+        registerAsyncPlaceholder("test", argument -> "value");
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{test}"));
+        ComposedText composedText = new ComposedText();
+
+        compiledText.update(null, composedText);
+        assertThat(composedText.getText()).isEqualTo("");
+
+        submittedTasks.get(0).run();
+
+        assertThat(compiledText.update(null, composedText)).isTrue();
+        assertThat(composedText.getText()).isEqualTo("value");
+    }
+
+    @Test
+    void asyncRefreshRejectedByExecutor() {
+        PlaceholderRefreshExecutor refreshExecutor = mock(PlaceholderRefreshExecutor.class);
+        when(refreshExecutor.trySubmit(any())).thenReturn(null);
+        ActivePlaceholderTracker placeholderTracker = new ActivePlaceholderTracker(
+                placeholderRegistry, tickClock, new TickProfiler(), refreshExecutor);
+        AtomicInteger invocations = new AtomicInteger();
+        registerAsyncPlaceholder("test", argument -> "value" + invocations.incrementAndGet());
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{test}"));
+        ComposedText composedText = new ComposedText();
+
+        // The rejected refresh is not retried every tick, but only after the refresh interval
+        for (int i = 0; i < 10; i++) {
+            compiledText.update(null, composedText);
+            placeholderTracker.advanceTimers();
+            tickClock.incrementTick();
+        }
+
+        assertThat(composedText.getText()).isEqualTo("");
+        assertThat(invocations).hasValue(0);
+        verify(refreshExecutor, times(1)).trySubmit(any());
+    }
+
+    @Test
+    void asyncRefreshCancelledBeforeStart() {
+        List<Runnable> submittedTasks = new ArrayList<>();
+        ActivePlaceholderTracker placeholderTracker = newTrackerWithExecutor(submittedTasks);
+        AtomicInteger invocations = new AtomicInteger();
+        registerAsyncPlaceholder("test", argument -> "old" + invocations.incrementAndGet());
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{test}"));
+        ComposedText composedText = new ComposedText();
+        compiledText.update(null, composedText);
+
+        registerAsyncPlaceholder("test", argument -> "new");
+        placeholderTracker.clearOutdatedEntries();
+        submittedTasks.get(0).run();
+        compiledText.update(null, composedText);
+        submittedTasks.get(1).run();
+        compiledText.update(null, composedText);
+
+        assertThat(invocations).hasValue(0);
+        assertThat(composedText.getText()).isEqualTo("new");
+    }
+
+    @Test
+    void asyncRefreshCancelledWhileRunning() {
+        List<Runnable> submittedTasks = new ArrayList<>();
+        ActivePlaceholderTracker placeholderTracker = newTrackerWithExecutor(submittedTasks);
+        registerAsyncPlaceholder("test", argument -> {
+            // The placeholder is replaced while the old one is computing the replacement
+            registerAsyncPlaceholder("test", newArgument -> "new");
+            placeholderTracker.clearOutdatedEntries();
+            return "old";
+        });
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{test}"));
+        ComposedText composedText = new ComposedText();
+        compiledText.update(null, composedText);
+
+        submittedTasks.get(0).run();
+        compiledText.update(null, composedText);
+        assertThat(composedText.getText()).isEqualTo("");
+
+        submittedTasks.get(1).run();
+        compiledText.update(null, composedText);
+        assertThat(composedText.getText()).isEqualTo("new");
+    }
+
+    @Test
+    void batchedPlaceholdersRefreshedTogetherWhenDue() {
+        AtomicInteger separateInvocations = new AtomicInteger();
+        List<List<String>> batches = new ArrayList<>();
+        IndividualPlaceholderBatcher batcher = (player, placeholders) -> {
+            List<String> batch = new ArrayList<>();
+            List<String> replacements = new ArrayList<>();
+            for (BatchedIndividualPlaceholder placeholder : placeholders) {
+                String name = ((TestBatchedPlaceholder) placeholder).name;
+                batch.add(name);
+                replacements.add(name + "-batch");
+            }
+            batches.add(batch);
+            return replacements;
+        };
+        placeholderRegistry.registerIndividualPlaceholderFactory(Mocks.PLUGIN, "batched", argument ->
+                new TestBatchedPlaceholder(argument, argument.equals("c") ? 20 : 10, batcher, separateInvocations),
+                PlaceholderRefreshMode.MAIN_THREAD);
+        CompiledText compiledText = placeholderTracker.compile(StringWithPlaceholders.of("{batched: a} {batched: b} {batched: c}"));
+        CachedPlayer player = new PlayerSlotRegistry().register(mockPlayer("Player"), mock(PacketSink.class));
+        ComposedText composedText = new ComposedText();
+
+        // Refreshed separately at the tick 0, then together at the tick 10 (only "a" and "b" are due) and 20
+        for (int i = 0; i <= 20; i++) {
+            placeholderTracker.refreshBatchedPlaceholders();
+            compiledText.update(player, composedText);
+            placeholderTracker.advanceTimers();
+            tickClock.incrementTick();
+        }
+
+        assertThat(separateInvocations).hasValue(3);
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder("a", "b");
+        assertThat(batches.get(1)).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(composedText.getText()).isEqualTo("a-batch b-batch c-batch");
+    }
+
+    private void updateForTicks(CompiledText compiledText, ComposedText composedText, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            compiledText.update(null, composedText);
+            placeholderTracker.advanceTimers();
+            tickClock.incrementTick();
+        }
+    }
+
+    private void advanceTicks(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            placeholderTracker.advanceTimers();
+            tickClock.incrementTick();
+        }
+    }
+
+    private ActivePlaceholderTracker newTrackerWithExecutor(List<Runnable> submittedTasks) {
+        PlaceholderRefreshExecutor refreshExecutor = mock(PlaceholderRefreshExecutor.class);
+        when(refreshExecutor.trySubmit(any())).thenAnswer(invocation -> {
+            submittedTasks.add(invocation.getArgument(0));
+            return mock(Future.class);
+        });
+        return new ActivePlaceholderTracker(placeholderRegistry, tickClock, new TickProfiler(), refreshExecutor);
+    }
+
+    private Player mockPlayer(String name) {
+        Player player = mock(Player.class);
+        when(player.getName()).thenReturn(name);
+        return player;
+    }
+
+    private String replace(CompiledText compiledText) {
+        ComposedText composedText = new ComposedText();
+        compiledText.update(null, composedText);
+        return composedText.getText();
+    }
+
+    private void registerPlaceholder(String identifier, String replacement) {
+        placeholderRegistry.registerGlobalPlaceholder(
+                Mocks.PLUGIN, identifier, 1, argument -> replacement, PlaceholderRefreshMode.MAIN_THREAD);
+    }
+
+    private void registerAsyncPlaceholder(String identifier, GlobalPlaceholderReplaceFunction replaceFunction) {
+        placeholderRegistry.registerGlobalPlaceholder(Mocks.PLUGIN, identifier, 100, replaceFunction, PlaceholderRefreshMode.ASYNC);
+    }
+
+
+    private static class TestBatchedPlaceholder implements BatchedIndividualPlaceholder {
+
+        private final String name;
+        private final int refreshIntervalTicks;
+        private final IndividualPlaceholderBatcher batcher;
+        private final AtomicInteger separateInvocations;
+
+        TestBatchedPlaceholder(
+                String name,
+                int refreshIntervalTicks,
+                IndividualPlaceholderBatcher batcher,
+                AtomicInteger separateInvocations) {
+            this.name = name;
+            this.refreshIntervalTicks = refreshIntervalTicks;
+            this.batcher = batcher;
+            this.separateInvocations = separateInvocations;
+        }
+
+        @Override
+        public int getRefreshIntervalTicks() {
+            return refreshIntervalTicks;
+        }
+
+        @Override
+        public @Nullable String getReplacement(@NotNull Player player, @Nullable String argument) {
+            separateInvocations.incrementAndGet();
+            return name;
+        }
+
+        @Override
+        public @Nullable IndividualPlaceholderBatcher getBatcher() {
+            return batcher;
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.profiling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RollingTimingsTest {
+
+    @Test
+    void empty() {
+        RollingTimings timings = new RollingTimings(10);
+
+        assertThat(timings.getSampleCount()).isZero();
+        assertThat(timings.getAverageNanos()).isZero();
+        assertThat(timings.getPercentileNanos(99)).isZero();
+        assertThat(timings.getMaxNanos()).isZero();
+    }
+
+    @Test
+    void statistics() {
+        RollingTimings timings = new RollingTimings(100);
+        for (int i = 1; i <= 100; i++) {
+            timings.addSample(i);
+        }
+
+        assertThat(timings.getSampleCount()).isEqualTo(100);
+        assertThat(timings.getAverageNanos()).isEqualTo(50); // 50.5 rounded down
+        assertThat(timings.getPercentileNanos(99)).isEqualTo(99);
+        assertThat(timings.getPercentileNanos(50)).isEqualTo(50);
+        assertThat(timings.getMaxNanos()).isEqualTo(100);
+    }
+
+    @Test
+    void oldestSamplesAreReplaced() {
+        RollingTimings timings = new RollingTimings(3);
+        timings.addSample(1000);
+        timings.addSample(10);
+        timings.addSample(20);
+        timings.addSample(30);
+
+        assertThat(timings.getSampleCount()).isEqualTo(3);
+        assertThat(timings.getAverageNanos()).isEqualTo(20);
+        assertThat(timings.getMaxNanos()).isEqualTo(30);
+    }
+
+}
@@ -7,26 +7,34 @@ package me.filoghost.holographicdisplays.core.test;
 
 import me.filoghost.holographicdisplays.nms.common.NMSManager;
 import me.filoghost.holographicdisplays.nms.common.PacketListener;
+import me.filoghost.holographicdisplays.nms.common.PacketSink;
 import me.filoghost.holographicdisplays.nms.common.entity.ClickableNMSPacketEntity;
 import me.filoghost.holographicdisplays.nms.common.entity.ItemNMSPacketEntity;
 import me.filoghost.holographicdisplays.nms.common.entity.TextNMSPacketEntity;
 import org.bukkit.entity.Player;
 
+import static org.mockito.Mockito.*;
+
 public class TestNMSManager implements NMSManager {
 
     @Override
     public TextNMSPacketEntity newTextPacketEntity() {
-        return null;
+        return mock(TextNMSPacketEntity.class, RETURNS_MOCKS);
     }
 
     @Override
     public ItemNMSPacketEntity newItemPacketEntity() {
-        return null;
+        return mock(ItemNMSPacketEntity.class, RETURNS_MOCKS);
     }
 
     @Override
     public ClickableNMSPacketEntity newClickablePacketEntity() {
-        return null;
+        return mock(ClickableNMSPacketEntity.class, RETURNS_MOCKS);
+    }
+
+    @Override
+    public PacketSink newPacketSink(Player player) {
+        return () -> { };
     }
 
     @Override
@@ -8,6 +8,7 @@ package me.filoghost.holographicdisplays.core.test;
 import me.filoghost.holographicdisplays.core.api.v2.V2HologramManager;
 import me.filoghost.holographicdisplays.core.listener.LineClickListener;
 import me.filoghost.holographicdisplays.core.placeholder.tracking.ActivePlaceholderTracker;
+import me.filoghost.holographicdisplays.core.tick.PlayerSlotRegistry;
 import me.filoghost.holographicdisplays.core.tick.TickClock;
 import me.filoghost.holographicdisplays.core.tracking.LineTrackerManager;
 
@@ -20,7 +21,8 @@ public class TestV2HologramManager extends V2HologramManager {
                 new TestNMSManager(),
                 mock(ActivePlaceholderTracker.class),
                 new LineClickListener(),
-                new TickClock()));
+                new TickClock(),
+                new PlayerSlotRegistry()));
     }
 
 }
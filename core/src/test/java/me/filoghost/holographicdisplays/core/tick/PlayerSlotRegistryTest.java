@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.tick;
+
+import me.filoghost.holographicdisplays.nms.common.PacketSink;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PlayerSlotRegistryTest {
+
+    private final PlayerSlotRegistry playerSlotRegistry = new PlayerSlotRegistry();
+
+    @Test
+    void slotsAreReused() {
+        CachedPlayer player1 = register();
+        CachedPlayer player2 = register();
+        CachedPlayer player3 = register();
+        assertThat(player1.getSlot()).isEqualTo(0);
+        assertThat(player2.getSlot()).isEqualTo(1);
+        assertThat(player3.getSlot()).isEqualTo(2);
+
+        playerSlotRegistry.unregister(player2);
+        CachedPlayer player4 = register();
+
+        assertThat(player4.getSlot()).isEqualTo(1);
+        assertThat(playerSlotRegistry.getBySlot(1)).isSameAs(player4);
+        assertThat(playerSlotRegistry.getOnlinePlayers()).containsExactlyInAnyOrder(player1, player3, player4);
+    }
+
+    @Test
+    void lookupAfterUnregister() {
+        CachedPlayer player1 = register();
+        CachedPlayer player2 = register();
+
+        playerSlotRegistry.unregister(player1);
+
+        assertThat(playerSlotRegistry.get(player1.getBukkitPlayer())).isNull();
+        assertThat(playerSlotRegistry.get(player2.getBukkitPlayer())).isSameAs(player2);
+        assertThat(playerSlotRegistry.getOnlinePlayers()).containsExactly(player2);
+    }
+
+    private CachedPlayer register() {
+        return playerSlotRegistry.register(mock(Player.class), mock(PacketSink.class));
+    }
+
+}
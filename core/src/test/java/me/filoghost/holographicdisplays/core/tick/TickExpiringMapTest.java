@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.tick;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TickExpiringMapTest {
+
+    private TickClock tickClock;
+    private TickTimerWheel timerWheel;
+    private List<String> removedKeys;
+    private TickExpiringMap<String, TestValue> map;
+
+    @BeforeEach
+    void beforeEach() {
+        tickClock = new TickClock();
+        timerWheel = new TickTimerWheel(tickClock);
+        removedKeys = new ArrayList<>();
+        map = new TickExpiringMap<>(timerWheel, 10, (key, value) -> removedKeys.add(key));
+    }
+
+    @Test
+    void unusedValueExpires() {
+        TestValue value = new TestValue();
+        map.put("key", value);
+
+        advanceTicks(9);
+        assertThat(map.get("key")).isSameAs(value);
+
+        advanceTicks(1);
+        assertThat(map.get("key")).isNull();
+        assertThat(value.removed).isTrue();
+        assertThat(removedKeys).containsExactly("key");
+    }
+
+    @Test
+    void usedValueIsKept() {
+        TestValue usedValue = new TestValue();
+        TestValue unusedValue = new TestValue();
+        map.put("used", usedValue);
+        map.put("unused", unusedValue);
+
+        for (int i = 0; i < 100; i++) {
+            usedValue.onUse(tickClock.getCurrentTick());
+            advanceTicks(1);
+        }
+
+        assertThat(map.get("used")).isSameAs(usedValue);
+        assertThat(usedValue.removed).isFalse();
+        assertThat(removedKeys).containsExactly("unused");
+    }
+
+    @Test
+    void removedValueIsNoLongerPostponed() {
+        TestValue value = new TestValue();
+        map.put("key", value);
+        map.remove("key");
+
+        value.onUse(tickClock.getCurrentTick());
+        advanceTicks(20);
+
+        assertThat(removedKeys).containsExactly("key");
+    }
+
+    private void advanceTicks(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            tickClock.incrementTick();
+            timerWheel.advance();
+        }
+    }
+
+
+    private static class TestValue extends TickExpiringValue {
+
+        private boolean removed;
+
+        @Override
+        protected void onRemoval() {
+            removed = true;
+        }
+
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.tick;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TickTimerWheelTest {
+
+    private TickClock tickClock;
+    private TickTimerWheel timerWheel;
+
+    @BeforeEach
+    void beforeEach() {
+        tickClock = new TickClock();
+        timerWheel = new TickTimerWheel(tickClock);
+    }
+
+    @Test
+    void notifiedAtDeadline() {
+        List<Long> deadlines = new ArrayList<>();
+        long[] delays = {1, 5, 63, 64, 65, 4095, 4096, 5000, 300_000, 20_000_000};
+        for (long delay : delays) {
+            timerWheel.schedule(new RecordingTimer(deadlines), delay);
+        }
+
+        advanceTicks(20_000_000);
+
+        assertThat(deadlines).containsExactly(1L, 5L, 63L, 64L, 65L, 4095L, 4096L, 5000L, 300_000L, 20_000_000L);
+    }
+
+    @Test
+    void pastDeadline() {
+        advanceTicks(10);
+        List<Long> deadlines = new ArrayList<>();
+        timerWheel.schedule(new RecordingTimer(deadlines), 3);
+
+        advanceTicks(1);
+
+        assertThat(deadlines).containsExactly(11L);
+    }
+
+    @Test
+    void cancelAndReschedule() {
+        List<Long> deadlines = new ArrayList<>();
+        RecordingTimer cancelledTimer = new RecordingTimer(deadlines);
+        RecordingTimer rescheduledTimer = new RecordingTimer(deadlines);
+        timerWheel.schedule(cancelledTimer, 10);
+        timerWheel.schedule(rescheduledTimer, 10);
+
+        timerWheel.cancel(cancelledTimer);
+        timerWheel.schedule(rescheduledTimer, 100);
+        advanceTicks(200);
+
+        assertThat(cancelledTimer.isScheduled()).isFalse();
+        assertThat(deadlines).containsExactly(100L);
+    }
+
+    @Test
+    void cancelFromTimerOfSameTick() {
+        List<TickTimer> notifiedTimers = new ArrayList<>();
+        TickTimer[] timers = new TickTimer[2];
+        for (int i = 0; i < timers.length; i++) {
+            int otherIndex = 1 - i;
+            timers[i] = new TickTimer() {
+                @Override
+                protected void onDeadline() {
+                    notifiedTimers.add(this);
+                    timerWheel.cancel(timers[otherIndex]);
+                }
+            };
+            timerWheel.schedule(timers[i], 10);
+        }
+
+        advanceTicks(20);
+
+        // Whichever is notified first, the other must not be notified after being cancelled
+        assertThat(notifiedTimers).hasSize(1);
+    }
+
+    private void advanceTicks(long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            tickClock.incrementTick();
+            timerWheel.advance();
+        }
+    }
+
+
+    private class RecordingTimer extends TickTimer {
+
+        private final List<Long> deadlines;
+
+        private RecordingTimer(List<Long> deadlines) {
+            this.deadlines = deadlines;
+        }
+
+        @Override
+        protected void onDeadline() {
+            deadlines.add(tickClock.getCurrentTick());
+        }
+
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.tracking;
+
+import me.filoghost.holographicdisplays.api.hologram.Hologram;
+import me.filoghost.holographicdisplays.api.hologram.VisibilitySettings.Visibility;
+import me.filoghost.holographicdisplays.api.hologram.line.HologramLine;
+import me.filoghost.holographicdisplays.api.hologram.line.ItemHologramLine;
+import me.filoghost.holographicdisplays.api.hologram.line.TextHologramLine;
+import me.filoghost.holographicdisplays.core.tracking.TestTrackingEnvironment.TestPlayer;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HologramTrackerTest {
+
+    private final TestTrackingEnvironment environment = new TestTrackingEnvironment();
+
+    @Test
+    void nearbyPlayerMovingFarAway() {
+        Hologram hologram = environment.createHologram("world", 0, 0);
+        TextHologramLine line = hologram.getLines().appendText("text");
+        TestPlayer player = environment.createPlayer("world", 10, 10);
+        environment.tick();
+        assertThat(isViewer(line, player)).isTrue();
+
+        // Outside the cells around the hologram, where moved players are not distributed to its tracker
+        player.teleport("world", 1000, 1000);
+        environment.tick();
+
+        assertThat(isViewer(line, player)).isFalse();
+        assertThat(environment.getViewerMismatches()).isEmpty();
+    }
+
+    @Test
+    void nearbyPlayerChangingWorld() {
+        Hologram hologram = environment.createHologram("world", 0, 0);
+        TextHologramLine line = hologram.getLines().appendText("text");
+        TestPlayer player = environment.createPlayer("world", 10, 10);
+        environment.tick();
+
+        player.teleport("other", 10, 10);
+        environment.tick();
+
+        assertThat(isViewer(line, player)).isFalse();
+        assertThat(environment.getViewerMismatches()).isEmpty();
+    }
+
+    @Test
+    void lineRangesCheckedSeparately() {
+        Hologram hologram = environment.createHologram("world", 0, 0);
+        TextHologramLine textLine = hologram.getLines().appendText("text");
+        ItemHologramLine itemLine = hologram.getLines().appendItem(new ItemStack(Material.STONE));
+        TestPlayer player = environment.createPlayer("world", 0, 40);
+
+        environment.tick();
+
+        assertThat(isViewer(textLine, player)).isTrue();
+        assertThat(isViewer(itemLine, player)).isFalse();
+        assertThat(environment.getViewerMismatches()).isEmpty();
+    }
+
+    @Test
+    void visibilityChanges() {
+        Hologram hologram = environment.createHologram("world", 0, 0);
+        hologram.getLines().appendText("text");
+        hologram.getLines().appendItem(new ItemStack(Material.STONE));
+        TestPlayer player1 = environment.createPlayer("world", 5, 5);
+        TestPlayer player2 = environment.createPlayer("world", -5, -5);
+        environment.createPlayer("world", 200, 200);
+        environment.tick();
+
+        hologram.getVisibilitySettings().setGlobalVisibility(Visibility.HIDDEN);
+        environment.tick();
+        assertThat(environment.getViewerMismatches()).isEmpty();
+
+        hologram.getVisibilitySettings().setIndividualVisibility(player1.getBukkitPlayer(), Visibility.VISIBLE);
+        environment.tick();
+        assertThat(environment.getViewerMismatches()).isEmpty();
+
+        hologram.getVisibilitySettings().setGlobalVisibility(Visibility.VISIBLE);
+        hologram.getVisibilitySettings().setIndividualVisibility(player2.getBukkitPlayer(), Visibility.HIDDEN);
+        environment.tick();
+        assertThat(environment.getViewerMismatches()).isEmpty();
+    }
+
+    @Test
+    void lineRemovalShrinkingViewRange() {
+        Hologram hologram = environment.createHologram("world", 0, 0);
+        TextHologramLine textLine = hologram.getLines().appendText("text");
+        ItemHologramLine itemLine = hologram.getLines().appendItem(new ItemStack(Material.STONE));
+        TestPlayer player = environment.createPlayer("world", 40, 0);
+        environment.tick();
+
+        hologram.getLines().remove(textLine);
+        environment.tick();
+        assertThat(environment.getViewerMismatches()).isEmpty();
+
+        // The player must be tracked again when in range of the remaining line
+        for (double x = 40; x >= -40; x -= 4) {
+            player.teleport("world", x, 0);
+            environment.tick();
+            assertThat(environment.getViewerMismatches()).isEmpty();
+        }
+
+        player.teleport("world", 10, 0);
+        environment.tick();
+        assertThat(isViewer(itemLine, player)).isTrue();
+
+        player.teleport("world", 1000, 0);
+        environment.tick();
+        assertThat(isViewer(itemLine, player)).isFalse();
+    }
+
+    @Test
+    void hologramMovingAwayFromNearbyPlayers() {
+        Hologram hologram = environment.createHologram("world", 0, 0);
+        TextHologramLine line = hologram.getLines().appendText("text");
+        TestPlayer player = environment.createPlayer("world", 10, 10);
+        environment.tick();
+
+        hologram.setPosition("world", 1000, 0, 1000);
+        environment.tick();
+        assertThat(isViewer(line, player)).isFalse();
+
+        hologram.setPosition("world", 20, 0, 20);
+        environment.tick();
+        assertThat(isViewer(line, player)).isTrue();
+        assertThat(environment.getViewerMismatches()).isEmpty();
+    }
+
+    private boolean isViewer(HologramLine line, TestPlayer player) {
+        return environment.isViewer(line, player);
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.tracking;
+
+import me.filoghost.holographicdisplays.api.hologram.Hologram;
+import me.filoghost.holographicdisplays.core.tracking.TestTrackingEnvironment.TestPlayer;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LineTrackerGridTest {
+
+    private final TestTrackingEnvironment environment = new TestTrackingEnvironment();
+
+    @Test
+    void playerWalkingAcrossCellBoundaries() {
+        // Holograms near the borders of the cells, also with negative coordinates
+        for (double x : new double[] {-64.5, -0.5, 0, 63.9, 64}) {
+            addLines(environment.createHologram("world", x, x));
+        }
+        TestPlayer player = environment.createPlayer("world", -300, 0);
+
+        for (double x = -300; x <= 300; x += 3.7) {
+            player.teleport("world", x, x / 2);
+            environment.tick();
+            assertThat(environment.getViewerMismatches()).isEmpty();
+        }
+    }
+
+    @Test
+    void playersAroundHologram() {
+        addLines(environment.createHologram("world", 63.5, -0.5));
+        for (int offsetX = -3; offsetX <= 3; offsetX++) {
+            for (int offsetZ = -3; offsetZ <= 3; offsetZ++) {
+                // Distances just inside and outside the view ranges, in the 3x3 cells around the hologram and beyond
+                for (double distance : new double[] {15.9, 16.1, 63.9, 64.1}) {
+                    environment.createPlayer("world", 63.5 + offsetX * distance / 3, -0.5 + offsetZ * distance / 3);
+                }
+            }
+        }
+
+        environment.tick();
+
+        assertThat(environment.getViewerMismatches()).isEmpty();
+    }
+
+    @Test
+    void hologramMovingAcrossCellsAndWorlds() {
+        Hologram hologram = environment.createHologram("world", 0, 0);
+        addLines(hologram);
+        for (int x = -200; x <= 200; x += 25) {
+            environment.createPlayer("world", x, -x);
+            environment.createPlayer("other", x, x);
+        }
+        environment.tick();
+
+        for (double x = -200; x <= 200; x += 11.3) {
+            hologram.setPosition(x < 0 ? "world" : "other", x, 0, x);
+            environment.tick();
+            assertThat(environment.getViewerMismatches()).isEmpty();
+        }
+    }
+
+    @Test
+    void playerChangingWorld() {
+        addLines(environment.createHologram("world", 10, 10));
+        addLines(environment.createHologram("other", 10, 10));
+        TestPlayer player = environment.createPlayer("world", 10, 10);
+        environment.tick();
+
+        for (int i = 0; i < 4; i++) {
+            player.teleport(i % 2 == 0 ? "other" : "world", 10 + i, 10);
+            environment.tick();
+            assertThat(environment.getViewerMismatches()).isEmpty();
+        }
+    }
+
+    @Test
+    void randomMovements() {
+        Random random = new Random(0);
+        List<Hologram> holograms = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Hologram hologram = environment.createHologram(randomWorld(random), randomCoordinate(random), randomCoordinate(random));
+            addLines(hologram);
+            holograms.add(hologram);
+        }
+        List<TestPlayer> players = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            players.add(environment.createPlayer(randomWorld(random), randomCoordinate(random), randomCoordinate(random)));
+        }
+
+        for (int tick = 0; tick < 200; tick++) {
+            for (TestPlayer player : players) {
+                if (random.nextInt(3) == 0) {
+                    player.teleport(randomWorld(random), randomCoordinate(random), randomCoordinate(random));
+                }
+            }
+            if (random.nextInt(5) == 0) {
+                Hologram hologram = holograms.get(random.nextInt(holograms.size()));
+                hologram.setPosition(randomWorld(random), randomCoordinate(random), 0, randomCoordinate(random));
+            }
+
+            environment.tick();
+            assertThat(environment.getViewerMismatches()).isEmpty();
+        }
+    }
+
+    private static String randomWorld(Random random) {
+        return random.nextInt(10) == 0 ? "other" : "world";
+    }
+
+    private static double randomCoordinate(Random random) {
+        return (random.nextDouble() - 0.5) * 400;
+    }
+
+    private static void addLines(Hologram hologram) {
+        hologram.getLines().appendText("text");
+        hologram.getLines().appendItem(new ItemStack(Material.STONE));
+    }
+
+}
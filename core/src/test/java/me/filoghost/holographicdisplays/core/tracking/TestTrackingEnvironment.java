@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.core.tracking;
+
+import me.filoghost.holographicdisplays.api.hologram.Hologram;
+import me.filoghost.holographicdisplays.api.hologram.line.HologramLine;
+import me.filoghost.holographicdisplays.core.api.current.APIHologramManager;
+import me.filoghost.holographicdisplays.core.base.BaseHologram;
+import me.filoghost.holographicdisplays.core.base.BaseHologramLine;
+import me.filoghost.holographicdisplays.core.base.BaseItemHologramLine;
+import me.filoghost.holographicdisplays.core.base.BaseTextHologramLine;
+import me.filoghost.holographicdisplays.core.base.ImmutablePosition;
+import me.filoghost.holographicdisplays.core.listener.LineClickListener;
+import me.filoghost.holographicdisplays.core.placeholder.tracking.ActivePlaceholderTracker;
+import me.filoghost.holographicdisplays.core.test.Mocks;
+import me.filoghost.holographicdisplays.core.test.TestNMSManager;
+import me.filoghost.holographicdisplays.core.tick.CachedPlayer;
+import me.filoghost.holographicdisplays.core.tick.PlayerSlotRegistry;
+import me.filoghost.holographicdisplays.core.tick.TickClock;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+/*
+ * Runs the line trackers with mocked players, whose position is changed by the tests, and compares the viewers of each line
+ * with the ones found by checking the range of every player.
+ */
+class TestTrackingEnvironment {
+
+    private final Map<String, World> worlds;
+    private final PlayerSlotRegistry playerSlotRegistry;
+    private final RecordingLineTrackerManager lineTrackerManager;
+    private final APIHologramManager hologramManager;
+    private final List<TestPlayer> players;
+
+    TestTrackingEnvironment() {
+        Mocks.prepareEnvironment();
+        this.worlds = new HashMap<>();
+        this.playerSlotRegistry = mock(PlayerSlotRegistry.class);
+        this.lineTrackerManager = new RecordingLineTrackerManager(playerSlotRegistry);
+        this.hologramManager = new APIHologramManager(lineTrackerManager);
+        this.players = new ArrayList<>();
+    }
+
+    Hologram createHologram(String worldName, double x, double z) {
+        getWorld(worldName);
+        return hologramManager.createHologram(new ImmutablePosition(worldName, x, 0, z), Mocks.PLUGIN);
+    }
+
+    TestPlayer createPlayer(String worldName, double x, double z) {
+        TestPlayer player = new TestPlayer(players.size());
+        player.teleport(worldName, x, z);
+        players.add(player);
+        return player;
+    }
+
+    World getWorld(String worldName) {
+        return worlds.computeIfAbsent(worldName, name -> {
+            World world = mock(World.class);
+            when(world.getName()).thenReturn(name);
+            when(world.isChunkLoaded(anyInt(), anyInt())).thenReturn(true);
+            when(Mocks.SERVER.getWorld(name)).thenReturn(world);
+            return world;
+        });
+    }
+
+    /*
+     * Moves the players to their new positions and updates the trackers, like a server tick.
+     */
+    void tick() {
+        List<CachedPlayer> onlinePlayers = new ArrayList<>();
+        List<CachedPlayer> movedPlayers = new ArrayList<>();
+        for (TestPlayer player : players) {
+            if (player.onTick()) {
+                movedPlayers.add(player.cachedPlayer);
+            }
+            onlinePlayers.add(player.cachedPlayer);
+        }
+        lineTrackerManager.update(onlinePlayers, movedPlayers);
+    }
+
+    /*
+     * Returns a description of each line whose viewers are different from the players in range.
+     */
+    List<String> getViewerMismatches() {
+        List<String> mismatches = new ArrayList<>();
+        lineTrackerManager.lineTrackers.forEach((line, lineTracker) -> {
+            if (line.isDeleted()) {
+                return;
+            }
+            for (TestPlayer player : players) {
+                boolean expectedViewer = isInRange(line, lineTracker, player);
+                if (lineTracker.isViewer(player.bukkitPlayer) != expectedViewer) {
+                    mismatches.add("player " + player.cachedPlayer.getSlot() + " at " + player.location
+                            + (expectedViewer ? " should" : " should not") + " see " + line);
+                }
+            }
+        });
+        return mismatches;
+    }
+
+    private boolean isInRange(BaseHologramLine line, LineTracker<?> lineTracker, TestPlayer player) {
+        BaseHologram hologram = line.getHologram();
+        ImmutablePosition position = hologram.getPosition();
+        if (!hologram.isInLoadedChunk()
+                || player.location.getWorld() != hologram.getWorldIfLoaded()
+                || !hologram.getVisibilitySettings().isVisibleTo(player.bukkitPlayer)) {
+            return false;
+        }
+
+        double distance = Math.max(
+                Math.abs(player.location.getX() - position.getX()),
+                Math.abs(player.location.getZ() - position.getZ()));
+        return distance <= lineTracker.getViewRange();
+    }
+
+    boolean isViewer(HologramLine line, TestPlayer player) {
+        return lineTrackerManager.lineTrackers.get((BaseHologramLine) line).isViewer(player.bukkitPlayer);
+    }
+
+
+    class TestPlayer {
+
+        private final Player bukkitPlayer;
+        private final CachedPlayer cachedPlayer;
+        private Location location;
+        private Location nextLocation;
+        private boolean moved;
+
+        private TestPlayer(int slot) {
+            this.bukkitPlayer = mock(Player.class);
+            this.cachedPlayer = mock(CachedPlayer.class);
+            when(bukkitPlayer.getUniqueId()).thenReturn(UUID.randomUUID());
+            when(cachedPlayer.getSlot()).thenReturn(slot);
+            when(cachedPlayer.getBukkitPlayer()).thenReturn(bukkitPlayer);
+            when(cachedPlayer.getLocation()).thenAnswer(invocation -> location);
+            when(cachedPlayer.isMoved()).thenAnswer(invocation -> moved);
+            when(playerSlotRegistry.getBySlot(slot)).thenReturn(cachedPlayer);
+            when(playerSlotRegistry.get(bukkitPlayer)).thenReturn(cachedPlayer);
+        }
+
+        Player getBukkitPlayer() {
+            return bukkitPlayer;
+        }
+
+        /*
+         * The new position is seen by the trackers from the next tick.
+         */
+        void teleport(String worldName, double x, double z) {
+            nextLocation = new Location(getWorld(worldName), x, 0, z);
+        }
+
+        private boolean onTick() {
+            moved = location == null
+                    || nextLocation.getWorld() != location.getWorld()
+                    || nextLocation.getX() != location.getX()
+                    || nextLocation.getZ() != location.getZ();
+            location = nextLocation;
+            return moved;
+        }
+
+    }
+
+
+    private static class RecordingLineTrackerManager extends LineTrackerManager {
+
+        private final Map<BaseHologramLine, LineTracker<?>> lineTrackers;
+
+        private RecordingLineTrackerManager(PlayerSlotRegistry playerSlotRegistry) {
+            super(
+                    new TestNMSManager(),
+                    mock(ActivePlaceholderTracker.class),
+                    new LineClickListener(),
+                    new TickClock(),
+                    playerSlotRegistry);
+            this.lineTrackers = new LinkedHashMap<>();
+        }
+
+        @Override
+        public TextLineTracker startTracking(BaseTextHologramLine line) {
+            TextLineTracker lineTracker = super.startTracking(line);
+            lineTrackers.put(line, lineTracker);
+            return lineTracker;
+        }
+
+        @Override
+        public ItemLineTracker startTracking(BaseItemHologramLine line) {
+            ItemLineTracker lineTracker = super.startTracking(line);
+            lineTrackers.put(line, lineTracker);
+            return lineTracker;
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.nms.common;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+/**
+ * Packet sink that writes directly to the Netty channel of a player, instead of using the player connection, which
+ * would flush the channel after each packet.
+ * <p>
+ * Skipping the queue of the player connection does not reorder packets: the server only uses that queue while the
+ * channel is not open (in which case this sink drops the packets), otherwise it writes to the channel too. Writes from
+ * outside the event loop of the channel, like the ones of the main thread, are submitted as tasks to the event loop,
+ * which runs them in submission order, together with the writes of the server.
+ */
+public class ChannelPacketSink implements PacketSink {
+
+    private final Channel channel;
+    private boolean flushNeeded;
+
+    public ChannelPacketSink(Channel channel) {
+        this.channel = channel;
+    }
+
+    public void writePacket(Object packet) {
+        if (!channel.isOpen()) {
+            return;
+        }
+        channel.write(packet);
+        flushNeeded = true;
+    }
+
+    public void writeEncodedPacket(ByteBuf encodedPacket) {
+        if (!channel.isOpen()) {
+            encodedPacket.release();
+            return;
+        }
+        // The packet encoder lets buffers pass through unchanged
+        channel.write(encodedPacket);
+        flushNeeded = true;
+    }
+
+    @Override
+    public void flush() {
+        if (flushNeeded) {
+            flushNeeded = false;
+            channel.flush();
+        }
+    }
+
+}
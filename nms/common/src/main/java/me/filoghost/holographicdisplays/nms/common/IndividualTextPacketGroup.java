@@ -7,11 +7,10 @@ package me.filoghost.holographicdisplays.nms.common;
 
 import me.filoghost.holographicdisplays.nms.common.IndividualTextPacketGroupImpl.IndividualTextPacketGroup1;
 import me.filoghost.holographicdisplays.nms.common.IndividualTextPacketGroupImpl.IndividualTextPacketGroup2;
-import org.bukkit.entity.Player;
 
 public interface IndividualTextPacketGroup {
 
-    void sendTo(Player player, String text);
+    void sendTo(PacketSink packetSink, String text);
 
     static IndividualTextPacketGroup of(IndividualTextPacketGroupFactory packet) {
         return new IndividualTextPacketGroup1(packet);
@@ -11,5 +11,7 @@ public class NMSErrors {
             + " There is a small chance of entity ID conflicts, causing client-side issues on single entities.";
     public static final String EXCEPTION_ON_PACKET_READ = "Unexpected error while inspecting inbound network packet.";
     public static final String EXCEPTION_MODIFYING_CHANNEL_PIPELINE = "Unexpected error while modifying the channel pipeline.";
+    public static final String UNKNOWN_PACKET_ID = "Could not find the ID of a hologram packet, it will not be encoded once for all"
+            + " the players (shared-packet-encoding): ";
 
 }
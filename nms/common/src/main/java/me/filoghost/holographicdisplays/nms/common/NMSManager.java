@@ -18,6 +18,8 @@ public interface NMSManager {
 
     ClickableNMSPacketEntity newClickablePacketEntity();
 
+    PacketSink newPacketSink(Player player);
+
     void injectPacketListener(Player player, PacketListener packetListener);
 
     void uninjectPacketListener(Player player);
@@ -8,11 +8,10 @@ package me.filoghost.holographicdisplays.nms.common;
 import me.filoghost.holographicdisplays.nms.common.PacketGroupImpl.PacketGroup2;
 import me.filoghost.holographicdisplays.nms.common.PacketGroupImpl.PacketGroup4;
 import me.filoghost.holographicdisplays.nms.common.PacketGroupImpl.PacketGroup5;
-import org.bukkit.entity.Player;
 
 public interface PacketGroup {
 
-    void sendTo(Player player);
+    void sendTo(PacketSink packetSink);
 
     static PacketGroup of(PacketGroup packet1, PacketGroup packet2) {
         return new PacketGroup2(packet1, packet2);
@@ -5,8 +5,6 @@
  */
 package me.filoghost.holographicdisplays.nms.common;
 
-import org.bukkit.entity.Player;
-
 class PacketGroupImpl {
 
     static class PacketGroup2 implements PacketGroup {
@@ -20,9 +18,9 @@ class PacketGroupImpl {
         }
 
         @Override
-        public void sendTo(Player player) {
-            packet1.sendTo(player);
-            packet2.sendTo(player);
+        public void sendTo(PacketSink packetSink) {
+            packet1.sendTo(packetSink);
+            packet2.sendTo(packetSink);
         }
 
     }
@@ -42,11 +40,11 @@ class PacketGroupImpl {
         }
 
         @Override
-        public void sendTo(Player player) {
-            packet1.sendTo(player);
-            packet2.sendTo(player);
-            packet3.sendTo(player);
-            packet4.sendTo(player);
+        public void sendTo(PacketSink packetSink) {
+            packet1.sendTo(packetSink);
+            packet2.sendTo(packetSink);
+            packet3.sendTo(packetSink);
+            packet4.sendTo(packetSink);
         }
 
     }
@@ -68,12 +66,12 @@ class PacketGroupImpl {
         }
 
         @Override
-        public void sendTo(Player player) {
-            packet1.sendTo(player);
-            packet2.sendTo(player);
-            packet3.sendTo(player);
-            packet4.sendTo(player);
-            packet5.sendTo(player);
+        public void sendTo(PacketSink packetSink) {
+            packet1.sendTo(packetSink);
+            packet2.sendTo(packetSink);
+            packet3.sendTo(packetSink);
+            packet4.sendTo(packetSink);
+            packet5.sendTo(packetSink);
         }
 
     }
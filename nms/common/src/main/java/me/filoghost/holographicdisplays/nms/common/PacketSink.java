@@ -0,0 +1,16 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.nms.common;
+
+/**
+ * Outbound packet batch of a single player: packets are written to the connection as they are sent, but the connection
+ * is flushed only once when {@link #flush()} is called, instead of after each packet.
+ */
+public interface PacketSink {
+
+    void flush();
+
+}
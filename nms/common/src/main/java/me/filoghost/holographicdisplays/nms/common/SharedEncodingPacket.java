@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.nms.common;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import me.filoghost.fcommons.logging.Log;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A packet that, when enabled, is encoded only once into a buffer shared by all the recipients, instead of being encoded
+ * again by the connection of each player.
+ * <p>
+ * When enabled, packets can also be written directly as encoded packets while building them, without creating the packet
+ * objects. Both are disabled by default, because the packet listeners of other plugins don't see encoded packets.
+ * <p>
+ * Only the packet ID lookup, the serialization and the serializer type depend on the server version.
+ *
+ * @param <P> the type of the vanilla packets
+ * @param <S> the type of the vanilla packet serializer
+ */
+public abstract class SharedEncodingPacket<P, S extends ByteBuf> implements PacketGroup {
+
+    private static final int MAX_VAR_INT_LENGTH = 5;
+
+    // The ID of each packet type, found from the first vanilla packet created
+    private static final Map<Class<?>, Integer> PACKET_IDS = new HashMap<>();
+    private static final Set<Class<?>> UNKNOWN_PACKET_IDS = new HashSet<>();
+
+    private static boolean enabled;
+
+    private P rawPacket;
+
+    // Used only when the vanilla packet was not created, to decode it from the encoded packet if needed
+    private ByteBuf packetData;
+    private Function<S, P> packetDecoder;
+
+    private ByteBuf encodedPacket;
+    private boolean sentOnce;
+    private boolean encodingFailed;
+
+    public static void setEnabled(boolean enabled) {
+        SharedEncodingPacket.enabled = enabled;
+    }
+
+    @Override
+    public void sendTo(PacketSink packetSink) {
+        // Packet sinks are always created by the NMS manager
+        ChannelPacketSink channelPacketSink = (ChannelPacketSink) packetSink;
+
+        ByteBuf sharedEncodedPacket = getSharedEncodedPacket();
+        if (sharedEncodedPacket != null) {
+            channelPacketSink.writeEncodedPacket(sharedEncodedPacket);
+        } else {
+            channelPacketSink.writePacket(getRawPacket());
+        }
+    }
+
+    protected final void setRawPacket(P rawPacket) {
+        this.rawPacket = rawPacket;
+    }
+
+    /**
+     * With shared encoding enabled, the packet data is copied directly after the packet ID into the encoded packet, instead
+     * of creating the vanilla packet which would read the data and then write it again. The vanilla packet is created only
+     * if needed, for example when shared encoding is disabled after the packet is built.
+     * <p>
+     * Without shared encoding the vanilla packet is always created, since the encoded packet would skip the packet listeners
+     * of other plugins, which expect packet objects.
+     */
+    protected final void setPacketData(S packetData, Function<S, P> packetDecoder) {
+        Integer packetID = enabled ? PACKET_IDS.get(getClass()) : null;
+        if (packetID == null) {
+            this.rawPacket = packetDecoder.apply(packetData);
+            if (enabled) {
+                findPacketID();
+            }
+            return;
+        }
+
+        int dataLength = packetData.readableBytes();
+        ByteBuf encodedPacket = Unpooled.buffer(MAX_VAR_INT_LENGTH + dataLength);
+        writeVarInt(encodedPacket, packetID);
+        int dataIndex = encodedPacket.writerIndex();
+        encodedPacket.writeBytes(packetData, packetData.readerIndex(), dataLength);
+
+        this.packetData = encodedPacket.slice(dataIndex, dataLength);
+        this.packetDecoder = packetDecoder;
+        this.encodedPacket = encodedPacket;
+    }
+
+    protected final P getRawPacket() {
+        if (rawPacket == null) {
+            rawPacket = packetDecoder.apply(createSerializer(packetData.duplicate()));
+        }
+        return rawPacket;
+    }
+
+    private void findPacketID() {
+        if (UNKNOWN_PACKET_IDS.contains(getClass())) {
+            return;
+        }
+
+        Integer packetID = getPacketID(rawPacket);
+        if (packetID != null) {
+            PACKET_IDS.put(getClass(), packetID);
+        } else {
+            logUnknownPacketID(rawPacket);
+        }
+    }
+
+    private void logUnknownPacketID(P packet) {
+        // Log only once for each type, the packets are still sent normally
+        if (UNKNOWN_PACKET_IDS.add(getClass())) {
+            Log.warning(NMSErrors.UNKNOWN_PACKET_ID + packet.getClass().getName());
+        }
+    }
+
+    /**
+     * Returns a new reference to the shared encoded packet (which must be released by the receiver), or null if the packet
+     * should be sent normally.
+     */
+    private @Nullable ByteBuf getSharedEncodedPacket() {
+        if (!enabled || encodingFailed) {
+            return null;
+        }
+
+        if (encodedPacket == null) {
+            // Encoding happens in the main thread, do it only if the packet is actually sent to more than one player
+            if (!sentOnce) {
+                sentOnce = true;
+                return null;
+            }
+
+            ByteBuf buffer = Unpooled.buffer();
+            if (!encode(buffer)) {
+                encodingFailed = true;
+                return null;
+            }
+            encodedPacket = buffer;
+        }
+
+        // Equivalent to retainedDuplicate(), which is not available in the Netty version of older servers
+        return encodedPacket.duplicate().retain();
+    }
+
+    /**
+     * Writes the packet ID and the packet data, as the packet encoder of the connection would do. The following handlers
+     * (compression, length prefix and encryption) are still applied separately for each player.
+     */
+    private boolean encode(ByteBuf buffer) {
+        P packet = getRawPacket();
+        Integer packetID = getPacketID(packet);
+        if (packetID == null) {
+            logUnknownPacketID(packet);
+            return false;
+        }
+
+        writeVarInt(buffer, packetID);
+        return writePacket(packet, createSerializer(buffer));
+    }
+
+    private static void writeVarInt(ByteBuf buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer.writeByte(value);
+    }
+
+    /**
+     * Returns the ID of the packet in the play protocol, or null if not found.
+     */
+    protected abstract @Nullable Integer getPacketID(P packet);
+
+    /**
+     * Writes the packet data, returns false if it could not be written.
+     */
+    protected abstract boolean writePacket(P packet, S serializer);
+
+    protected abstract S createSerializer(ByteBuf buffer);
+
+}
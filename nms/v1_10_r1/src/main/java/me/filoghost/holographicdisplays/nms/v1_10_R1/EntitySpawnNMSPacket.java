@@ -7,13 +7,10 @@ package me.filoghost.holographicdisplays.nms.v1_10_R1;
 
 import me.filoghost.holographicdisplays.common.PositionCoordinates;
 import me.filoghost.holographicdisplays.nms.common.EntityID;
-import net.minecraft.server.v1_10_R1.Packet;
 import net.minecraft.server.v1_10_R1.PacketPlayOutSpawnEntity;
 
 class EntitySpawnNMSPacket extends VersionNMSPacket {
 
-    private final Packet<?> rawPacket;
-
     EntitySpawnNMSPacket(EntityID entityID, int entityTypeID, PositionCoordinates position, double positionOffsetY) {
         PacketByteBuffer packetByteBuffer = PacketByteBuffer.get();
 
@@ -42,12 +39,7 @@ class EntitySpawnNMSPacket extends VersionNMSPacket {
         packetByteBuffer.writeShort(0);
         packetByteBuffer.writeShort(0);
 
-        this.rawPacket = writeData(new PacketPlayOutSpawnEntity(), packetByteBuffer);
-    }
-
-    @Override
-    Packet<?> getRawPacket() {
-        return rawPacket;
+        setPacketData(packetByteBuffer, packetData -> writeData(new PacketPlayOutSpawnEntity(), packetData));
     }
 
 }
@@ -7,13 +7,10 @@ package me.filoghost.holographicdisplays.nms.v1_10_R1;
 
 import me.filoghost.holographicdisplays.common.PositionCoordinates;
 import me.filoghost.holographicdisplays.nms.common.EntityID;
-import net.minecraft.server.v1_10_R1.Packet;
 import net.minecraft.server.v1_10_R1.PacketPlayOutEntityTeleport;
 
 class EntityTeleportNMSPacket extends VersionNMSPacket {
 
-    private final Packet<?> rawPacket;
-
     EntityTeleportNMSPacket(EntityID entityID, PositionCoordinates position, double positionOffsetY) {
         PacketByteBuffer packetByteBuffer = PacketByteBuffer.get();
 
@@ -31,12 +28,7 @@ class EntityTeleportNMSPacket extends VersionNMSPacket {
         // On ground
         packetByteBuffer.writeBoolean(false);
 
-        this.rawPacket = writeData(new PacketPlayOutEntityTeleport(), packetByteBuffer);
-    }
-
-    @Override
-    Packet<?> getRawPacket() {
-        return rawPacket;
+        setPacketData(packetByteBuffer, packetData -> writeData(new PacketPlayOutEntityTeleport(), packetData));
     }
 
 }
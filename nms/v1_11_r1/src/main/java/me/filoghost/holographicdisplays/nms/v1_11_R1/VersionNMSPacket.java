@@ -5,25 +5,41 @@
  */
 package me.filoghost.holographicdisplays.nms.v1_11_R1;
 
-import me.filoghost.holographicdisplays.nms.common.PacketGroup;
+import io.netty.buffer.ByteBuf;
+import me.filoghost.holographicdisplays.nms.common.SharedEncodingPacket;
+import net.minecraft.server.v1_11_R1.EnumProtocol;
+import net.minecraft.server.v1_11_R1.EnumProtocolDirection;
 import net.minecraft.server.v1_11_R1.Packet;
-import org.bukkit.craftbukkit.v1_11_R1.entity.CraftPlayer;
-import org.bukkit.entity.Player;
+import net.minecraft.server.v1_11_R1.PacketDataSerializer;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 
-abstract class VersionNMSPacket implements PacketGroup {
+abstract class VersionNMSPacket extends SharedEncodingPacket<Packet<?>, PacketDataSerializer> {
 
     @Override
-    public void sendTo(Player player) {
-        ((CraftPlayer) player).getHandle().playerConnection.sendPacket(getRawPacket());
+    protected @Nullable Integer getPacketID(Packet<?> packet) {
+        return EnumProtocol.PLAY.a(EnumProtocolDirection.CLIENTBOUND, packet);
     }
 
-    abstract Packet<?> getRawPacket();
+    @Override
+    protected boolean writePacket(Packet<?> packet, PacketDataSerializer serializer) {
+        try {
+            packet.b(serializer);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    protected PacketDataSerializer createSerializer(ByteBuf buffer) {
+        return new PacketDataSerializer(buffer);
+    }
 
-    protected static <T extends Packet<?>> T writeData(T packet, PacketByteBuffer packetByteBuffer) {
+    protected static <T extends Packet<?>> T writeData(T packet, PacketDataSerializer packetData) {
         try {
-            packet.a(packetByteBuffer);
+            packet.a(packetData);
             return packet;
         } catch (IOException e) {
             // Never thrown by the implementations
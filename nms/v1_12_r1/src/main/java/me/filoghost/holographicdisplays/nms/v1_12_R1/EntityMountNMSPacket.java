@@ -6,25 +6,17 @@
 package me.filoghost.holographicdisplays.nms.v1_12_R1;
 
 import me.filoghost.holographicdisplays.nms.common.EntityID;
-import net.minecraft.server.v1_12_R1.Packet;
 import net.minecraft.server.v1_12_R1.PacketPlayOutMount;
 
 class EntityMountNMSPacket extends VersionNMSPacket {
 
-    private final Packet<?> rawPacket;
-
     EntityMountNMSPacket(EntityID vehicleEntityID, EntityID passengerEntityID) {
         PacketByteBuffer packetByteBuffer = PacketByteBuffer.get();
 
         packetByteBuffer.writeVarInt(vehicleEntityID.getNumericID());
         packetByteBuffer.writeVarIntArray(passengerEntityID.getNumericID());
 
-        this.rawPacket = writeData(new PacketPlayOutMount(), packetByteBuffer);
-    }
-
-    @Override
-    Packet<?> getRawPacket() {
-        return rawPacket;
+        setPacketData(packetByteBuffer, packetData -> writeData(new PacketPlayOutMount(), packetData));
     }
 
 }
@@ -6,20 +6,12 @@
 package me.filoghost.holographicdisplays.nms.v1_13_R2;
 
 import me.filoghost.holographicdisplays.nms.common.EntityID;
-import net.minecraft.server.v1_13_R2.Packet;
 import net.minecraft.server.v1_13_R2.PacketPlayOutEntityMetadata;
 
 class EntityMetadataNMSPacket extends VersionNMSPacket {
 
-    private final Packet<?> rawPacket;
-
     private EntityMetadataNMSPacket(PacketByteBuffer packetByteBuffer) {
-        this.rawPacket = writeData(new PacketPlayOutEntityMetadata(), packetByteBuffer);
-    }
-
-    @Override
-    Packet<?> getRawPacket() {
-        return rawPacket;
+        setPacketData(packetByteBuffer, packetData -> writeData(new PacketPlayOutEntityMetadata(), packetData));
     }
 
     public static DataWatcherPacketBuilder<EntityMetadataNMSPacket> builder(EntityID entityID) {
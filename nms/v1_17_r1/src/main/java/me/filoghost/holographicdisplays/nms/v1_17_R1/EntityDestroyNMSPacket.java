@@ -6,24 +6,16 @@
 package me.filoghost.holographicdisplays.nms.v1_17_R1;
 
 import me.filoghost.holographicdisplays.nms.common.EntityID;
-import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.PacketPlayOutEntityDestroy;
 
 class EntityDestroyNMSPacket extends VersionNMSPacket {
 
-    private final Packet<?> rawPacket;
-
     EntityDestroyNMSPacket(EntityID entityID) {
         PacketByteBuffer packetByteBuffer = PacketByteBuffer.get();
 
         packetByteBuffer.writeVarInt(entityID.getNumericID());
 
-        this.rawPacket = new PacketPlayOutEntityDestroy(packetByteBuffer);
-    }
-
-    @Override
-    Packet<?> getRawPacket() {
-        return rawPacket;
+        setPacketData(packetByteBuffer, PacketPlayOutEntityDestroy::new);
     }
 
 }
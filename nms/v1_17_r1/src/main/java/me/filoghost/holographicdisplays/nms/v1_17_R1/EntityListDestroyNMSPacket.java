@@ -6,19 +6,16 @@
 package me.filoghost.holographicdisplays.nms.v1_17_R1;
 
 import me.filoghost.holographicdisplays.nms.common.EntityID;
-import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.PacketPlayOutEntityDestroy;
 
 class EntityListDestroyNMSPacket extends VersionNMSPacket {
 
-    private final Packet<?> rawPacket;
-
     EntityListDestroyNMSPacket(EntityID entityID) {
         PacketByteBuffer packetByteBuffer = PacketByteBuffer.get();
 
         packetByteBuffer.writeVarIntArray(entityID.getNumericID());
 
-        this.rawPacket = new PacketPlayOutEntityDestroy(packetByteBuffer);
+        setPacketData(packetByteBuffer, PacketPlayOutEntityDestroy::new);
     }
 
     EntityListDestroyNMSPacket(EntityID entityID1, EntityID entityID2) {
@@ -26,12 +23,7 @@ class EntityListDestroyNMSPacket extends VersionNMSPacket {
 
         packetByteBuffer.writeVarIntArray(entityID1.getNumericID(), entityID2.getNumericID());
 
-        this.rawPacket = new PacketPlayOutEntityDestroy(packetByteBuffer);
-    }
-
-    @Override
-    Packet<?> getRawPacket() {
-        return rawPacket;
+        setPacketData(packetByteBuffer, PacketPlayOutEntityDestroy::new);
     }
 
 }
@@ -11,11 +11,13 @@ import io.netty.channel.ChannelPipeline;
 import me.filoghost.fcommons.logging.ErrorCollector;
 import me.filoghost.fcommons.logging.Log;
 import me.filoghost.fcommons.reflection.ReflectField;
+import me.filoghost.holographicdisplays.nms.common.ChannelPacketSink;
 import me.filoghost.holographicdisplays.nms.common.EntityID;
 import me.filoghost.holographicdisplays.nms.common.FallbackEntityIDGenerator;
 import me.filoghost.holographicdisplays.nms.common.NMSErrors;
 import me.filoghost.holographicdisplays.nms.common.NMSManager;
 import me.filoghost.holographicdisplays.nms.common.PacketListener;
+import me.filoghost.holographicdisplays.nms.common.PacketSink;
 import me.filoghost.holographicdisplays.nms.common.entity.ClickableNMSPacketEntity;
 import me.filoghost.holographicdisplays.nms.common.entity.ItemNMSPacketEntity;
 import me.filoghost.holographicdisplays.nms.common.entity.TextNMSPacketEntity;
@@ -70,6 +72,11 @@ public class VersionNMSManager implements NMSManager {
         return new VersionClickableNMSPacketEntity(newEntityID());
     }
 
+    @Override
+    public PacketSink newPacketSink(Player player) {
+        return new ChannelPacketSink(getChannel(player));
+    }
+
     @Override
     public void injectPacketListener(Player player, PacketListener packetListener) {
         modifyPipeline(player, (ChannelPipeline pipeline) -> {
@@ -91,14 +98,18 @@ public class VersionNMSManager implements NMSManager {
         });
     }
 
+    private Channel getChannel(Player player) {
+        PlayerConnection playerConnection = ((CraftPlayer) player).getHandle().b;
+        NetworkManager networkManager = playerConnection.a();
+        return networkManager.m;
+    }
+
     /*
      * Modifying the pipeline in the main thread can cause deadlocks, delays and other concurrency issues,
      * which can be avoided by using the event loop. Thanks to ProtocolLib for this insight.
      */
     private void modifyPipeline(Player player, Consumer<ChannelPipeline> pipelineModifierTask) {
-        PlayerConnection playerConnection = ((CraftPlayer) player).getHandle().b;
-        NetworkManager networkManager = playerConnection.a();
-        Channel channel = networkManager.m;
+        Channel channel = getChannel(player);
 
         channel.eventLoop().execute(() -> {
             if (!player.isOnline()) {
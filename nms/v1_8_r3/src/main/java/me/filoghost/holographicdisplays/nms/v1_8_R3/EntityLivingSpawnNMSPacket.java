@@ -19,10 +19,8 @@ class EntityLivingSpawnNMSPacket extends VersionNMSPacket {
     private static final ReflectField<DataWatcher> DATA_WATCHER_FIELD =
             ReflectField.lookup(DataWatcher.class, PacketPlayOutSpawnEntityLiving.class, "l");
 
-    private final Packet<?> rawPacket;
-
     private EntityLivingSpawnNMSPacket(Packet<?> rawPacket, DataWatcher dataWatcher) {
-        this.rawPacket = rawPacket;
+        setRawPacket(rawPacket);
         try {
             DATA_WATCHER_FIELD.set(rawPacket, dataWatcher);
         } catch (ReflectiveOperationException e) {
@@ -30,11 +28,6 @@ class EntityLivingSpawnNMSPacket extends VersionNMSPacket {
         }
     }
 
-    @Override
-    Packet<?> getRawPacket() {
-        return rawPacket;
-    }
-
     public static DataWatcherPacketBuilder<EntityLivingSpawnNMSPacket> builder(
             EntityID entityID, int entityTypeID, PositionCoordinates position, double positionOffsetY) {
         PacketByteBuffer packetByteBuffer = PacketByteBuffer.get();
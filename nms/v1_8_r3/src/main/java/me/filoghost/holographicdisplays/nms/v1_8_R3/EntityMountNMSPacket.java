@@ -6,13 +6,10 @@
 package me.filoghost.holographicdisplays.nms.v1_8_R3;
 
 import me.filoghost.holographicdisplays.nms.common.EntityID;
-import net.minecraft.server.v1_8_R3.Packet;
 import net.minecraft.server.v1_8_R3.PacketPlayOutAttachEntity;
 
 class EntityMountNMSPacket extends VersionNMSPacket {
 
-    private final Packet<?> rawPacket;
-
     EntityMountNMSPacket(EntityID vehicleEntityID, EntityID passengerEntityID) {
         PacketByteBuffer packetByteBuffer = PacketByteBuffer.get();
 
@@ -21,12 +18,7 @@ class EntityMountNMSPacket extends VersionNMSPacket {
 
         packetByteBuffer.writeByte(0); // Leash
 
-        this.rawPacket = writeData(new PacketPlayOutAttachEntity(), packetByteBuffer);
-    }
-
-    @Override
-    Packet<?> getRawPacket() {
-        return rawPacket;
+        setPacketData(packetByteBuffer, packetData -> writeData(new PacketPlayOutAttachEntity(), packetData));
     }
 
 }
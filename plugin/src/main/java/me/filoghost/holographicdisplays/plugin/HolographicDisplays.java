@@ -10,21 +10,21 @@ import me.filoghost.fcommons.FeatureSupport;
 import me.filoghost.fcommons.logging.ErrorCollector;
 import me.filoghost.fcommons.logging.Log;
 import me.filoghost.holographicdisplays.api.HolographicDisplaysAPI;
-import me.filoghost.holographicdisplays.api.Position;
 import me.filoghost.holographicdisplays.core.HolographicDisplaysCore;
 import me.filoghost.holographicdisplays.plugin.bridge.bungeecord.BungeeServerTracker;
 import me.filoghost.holographicdisplays.plugin.bridge.placeholderapi.PlaceholderAPIHook;
 import me.filoghost.holographicdisplays.plugin.commands.HologramCommandManager;
 import me.filoghost.holographicdisplays.plugin.commands.InternalHologramEditor;
 import me.filoghost.holographicdisplays.plugin.config.ConfigManager;
+import me.filoghost.holographicdisplays.plugin.config.HologramDatabaseWriter;
 import me.filoghost.holographicdisplays.plugin.config.InternalHologramConfig;
-import me.filoghost.holographicdisplays.plugin.config.InternalHologramLoadException;
+import me.filoghost.holographicdisplays.plugin.config.InternalHologramParser;
+import me.filoghost.holographicdisplays.plugin.config.InternalHologramParser.ParsedInternalHologram;
 import me.filoghost.holographicdisplays.plugin.config.Settings;
 import me.filoghost.holographicdisplays.plugin.config.upgrade.AnimationsLegacyUpgrade;
 import me.filoghost.holographicdisplays.plugin.config.upgrade.DatabaseLegacyUpgrade;
 import me.filoghost.holographicdisplays.plugin.config.upgrade.SymbolsLegacyUpgrade;
 import me.filoghost.holographicdisplays.plugin.internal.hologram.InternalHologram;
-import me.filoghost.holographicdisplays.plugin.internal.hologram.InternalHologramLine;
 import me.filoghost.holographicdisplays.plugin.internal.hologram.InternalHologramManager;
 import me.filoghost.holographicdisplays.plugin.internal.placeholder.AnimationPlaceholderFactory;
 import me.filoghost.holographicdisplays.plugin.internal.placeholder.DefaultPlaceholders;
@@ -47,6 +47,7 @@ public class HolographicDisplays extends FCommonsPlugin {
     private ConfigManager configManager;
     private BungeeServerTracker bungeeServerTracker;
     private InternalHologramManager internalHologramManager;
+    private HologramDatabaseWriter hologramDatabaseWriter;
     private InternalHologramEditor internalHologramEditor;
 
     @Override
@@ -83,6 +84,7 @@ public class HolographicDisplays extends FCommonsPlugin {
         configManager = new ConfigManager(getDataFolder().toPath());
         bungeeServerTracker = new BungeeServerTracker(this);
         internalHologramManager = new InternalHologramManager(api);
+        hologramDatabaseWriter = new HologramDatabaseWriter(this, configManager, internalHologramManager);
 
         // Run only once at startup, before loading the configuration
         new SymbolsLegacyUpgrade(configManager, errorCollector).tryRun();
@@ -93,8 +95,8 @@ public class HolographicDisplays extends FCommonsPlugin {
         load(errorCollector);
 
         // Commands
-        internalHologramEditor = new InternalHologramEditor(internalHologramManager, configManager);
-        new HologramCommandManager(this, internalHologramEditor).register(this);
+        internalHologramEditor = new InternalHologramEditor(internalHologramManager, configManager, hologramDatabaseWriter);
+        new HologramCommandManager(this, core, internalHologramEditor).register(this);
 
         // Setup external plugin hooks
         PlaceholderAPIHook.setup();
@@ -122,6 +124,8 @@ public class HolographicDisplays extends FCommonsPlugin {
     }
 
     public void load(ErrorCollector errorCollector) {
+        // Pending changes must be written before reading the database again
+        hologramDatabaseWriter.flush();
         internalHologramManager.deleteHolograms();
 
         configManager.reloadStaticReplacements(errorCollector);
@@ -132,24 +136,33 @@ public class HolographicDisplays extends FCommonsPlugin {
 
         bungeeServerTracker.restart(Settings.bungeeRefreshSeconds, TimeUnit.SECONDS);
 
-        // Load holograms from database
+        // Load holograms from database: they are parsed in parallel, then created on the main thread
         List<InternalHologramConfig> hologramConfigs = configManager.readHologramDatabase(errorCollector);
-        for (InternalHologramConfig hologramConfig : hologramConfigs) {
-            try {
-                List<InternalHologramLine> lines = hologramConfig.deserializeLines();
-                Position position = hologramConfig.deserializePosition();
-                InternalHologram hologram = internalHologramManager.createHologram(hologramConfig.getName(), position);
-                hologram.addLines(lines);
-            } catch (InternalHologramLoadException e) {
-                errorCollector.add(e, "error while loading hologram \"" + hologramConfig.getName() + "\"");
+        for (ParsedInternalHologram parsedHologram : InternalHologramParser.parseAll(hologramConfigs)) {
+            if (parsedHologram.getLoadException() != null) {
+                errorCollector.add(
+                        parsedHologram.getLoadException(),
+                        "error while loading hologram \"" + parsedHologram.getName() + "\"");
+                continue;
             }
+            InternalHologram hologram = internalHologramManager.createHologram(parsedHologram.getName(), parsedHologram.getPosition());
+            hologram.addLines(parsedHologram.getLines());
         }
 
         core.setSpaceBetweenHologramLines(Settings.spaceBetweenLines);
+        core.setSharedPacketEncoding(Settings.sharedPacketEncoding);
+        core.setPlaceholderCircuitBreaker(
+                Settings.circuitBreakerEnabled,
+                Settings.circuitBreakerBadCallsPercent,
+                Settings.circuitBreakerSlowCallMillis,
+                Settings.circuitBreakerOpenSeconds);
     }
 
     @Override
     public void onDisable() {
+        if (hologramDatabaseWriter != null) {
+            hologramDatabaseWriter.shutdown();
+        }
         core.disable();
     }
 
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.plugin.bridge.placeholderapi;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/*
+ * Replaces many PlaceholderAPI placeholders of a player with a single call, instead of parsing each one separately.
+ *
+ * The placeholders are joined with numbered markers, which are then searched in order in the result. Since a marker starts
+ * and ends with different characters, it can't be found across the end of a replacement and the start of the next marker:
+ * a replacement containing control characters is separated correctly, unless it contains a whole marker. If a marker is
+ * missing from the result, which should never happen, the placeholders must be replaced separately.
+ */
+class PlaceholderAPIBatcher {
+
+    private static final char MARKER_START = '\0';
+    private static final char MARKER_END = '\1';
+
+    private final BiFunction<Player, String, String> replaceFunction;
+
+    PlaceholderAPIBatcher(BiFunction<Player, String, String> replaceFunction) {
+        this.replaceFunction = replaceFunction;
+    }
+
+    static boolean isBatchable(String placeholder) {
+        // The placeholder is in the format "%content%", other percent signs would mix it with the adjacent markers
+        return placeholder.length() > 2
+                && placeholder.charAt(0) == '%'
+                && placeholder.indexOf('%', 1) == placeholder.length() - 1
+                && placeholder.indexOf(MARKER_START) < 0;
+    }
+
+    @Nullable List<String> replacePlaceholders(Player player, List<String> placeholders) {
+        StringBuilder combinedPlaceholders = new StringBuilder();
+        for (int i = 0; i < placeholders.size(); i++) {
+            if (i > 0) {
+                appendMarker(combinedPlaceholders, i);
+            }
+            combinedPlaceholders.append(placeholders.get(i));
+        }
+
+        String combinedReplacements = replaceFunction.apply(player, combinedPlaceholders.toString());
+
+        List<String> replacements = new ArrayList<>(placeholders.size());
+        StringBuilder marker = new StringBuilder();
+        int replacementStart = 0;
+        for (int i = 1; i < placeholders.size(); i++) {
+            marker.setLength(0);
+            appendMarker(marker, i);
+            int markerIndex = combinedReplacements.indexOf(marker.toString(), replacementStart);
+            if (markerIndex < 0) {
+                return null;
+            }
+            replacements.add(combinedReplacements.substring(replacementStart, markerIndex));
+            replacementStart = markerIndex + marker.length();
+        }
+        replacements.add(combinedReplacements.substring(replacementStart));
+        return replacements;
+    }
+
+    private static void appendMarker(StringBuilder builder, int index) {
+        builder.append(MARKER_START).append(index).append(MARKER_END);
+    }
+
+}
@@ -9,10 +9,14 @@ import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 public class PlaceholderAPIHook {
 
     private static boolean enabled;
+    private static PlaceholderAPIBatcher batcher;
 
     public static void setup() {
         if (!Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI")) {
@@ -20,6 +24,7 @@ public class PlaceholderAPIHook {
         }
 
         enabled = true;
+        batcher = new PlaceholderAPIBatcher(PlaceholderAPI::setPlaceholders);
     }
 
     public static @NotNull String replacePlaceholders(@NotNull Player player, @NotNull String text) {
@@ -30,6 +35,22 @@ public class PlaceholderAPIHook {
         return PlaceholderAPI.setPlaceholders(player, text);
     }
 
+    /*
+     * Replaces the placeholders in the format "%content%" with a single call, returning the replacements in the same order,
+     * or null if they must be replaced separately. Only the placeholders accepted by isBatchable() can be replaced together.
+     */
+    public static @Nullable List<String> replacePlaceholders(@NotNull Player player, @NotNull List<String> placeholders) {
+        if (!enabled) {
+            return null;
+        }
+
+        return batcher.replacePlaceholders(player, placeholders);
+    }
+
+    public static boolean isBatchable(@NotNull String placeholder) {
+        return PlaceholderAPIBatcher.isBatchable(placeholder);
+    }
+
     public static boolean isEnabled() {
         return enabled;
     }
@@ -9,6 +9,7 @@ import me.filoghost.fcommons.command.CommandContext;
 import me.filoghost.fcommons.command.sub.SubCommand;
 import me.filoghost.fcommons.command.sub.SubCommandContext;
 import me.filoghost.fcommons.command.sub.SubCommandManager;
+import me.filoghost.holographicdisplays.core.HolographicDisplaysCore;
 import me.filoghost.holographicdisplays.plugin.HolographicDisplays;
 import me.filoghost.holographicdisplays.plugin.commands.subs.AddLineCommand;
 import me.filoghost.holographicdisplays.plugin.commands.subs.AlignCommand;
@@ -23,6 +24,7 @@ import me.filoghost.holographicdisplays.plugin.commands.subs.InsertLineCommand;
 import me.filoghost.holographicdisplays.plugin.commands.subs.ListCommand;
 import me.filoghost.holographicdisplays.plugin.commands.subs.MoveHereCommand;
 import me.filoghost.holographicdisplays.plugin.commands.subs.NearCommand;
+import me.filoghost.holographicdisplays.plugin.commands.subs.ProfileCommand;
 import me.filoghost.holographicdisplays.plugin.commands.subs.QuickEditCommand;
 import me.filoghost.holographicdisplays.plugin.commands.subs.ReadImageCommand;
 import me.filoghost.holographicdisplays.plugin.commands.subs.ReadTextCommand;
@@ -53,7 +55,10 @@ public class HologramCommandManager extends SubCommandManager {
     private final List<HologramSubCommand> subCommands;
     private final HelpCommand helpCommand;
 
-    public HologramCommandManager(HolographicDisplays holographicDisplays, InternalHologramEditor hologramEditor) {
+    public HologramCommandManager(
+            HolographicDisplays holographicDisplays,
+            HolographicDisplaysCore core,
+            InternalHologramEditor hologramEditor) {
         setName("holograms");
         this.pluginVersion = holographicDisplays.getDescription().getVersion();
         this.helpCommand = new HelpCommand(this);
@@ -78,7 +83,8 @@ public class HologramCommandManager extends SubCommandManager {
         subCommands.add(new ReadImageCommand(hologramEditor));
         subCommands.add(new InfoCommand(this, hologramEditor));
 
-        subCommands.add(new DebugCommand());
+        subCommands.add(new ProfileCommand());
+        subCommands.add(new DebugCommand(core));
         subCommands.add(helpCommand);
     }
 
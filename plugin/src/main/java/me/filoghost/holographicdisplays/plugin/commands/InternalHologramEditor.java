@@ -10,6 +10,7 @@ import me.filoghost.fcommons.command.validation.CommandException;
 import me.filoghost.fcommons.command.validation.CommandValidate;
 import me.filoghost.holographicdisplays.api.Position;
 import me.filoghost.holographicdisplays.plugin.config.ConfigManager;
+import me.filoghost.holographicdisplays.plugin.config.HologramDatabaseWriter;
 import me.filoghost.holographicdisplays.plugin.config.InternalHologramLineParser;
 import me.filoghost.holographicdisplays.plugin.config.InternalHologramLoadException;
 import me.filoghost.holographicdisplays.plugin.event.InternalHologramChangeEvent.ChangeType;
@@ -30,10 +31,15 @@ public class InternalHologramEditor {
 
     private final InternalHologramManager internalHologramManager;
     private final ConfigManager configManager;
+    private final HologramDatabaseWriter hologramDatabaseWriter;
 
-    public InternalHologramEditor(InternalHologramManager internalHologramManager, ConfigManager configManager) {
+    public InternalHologramEditor(
+            InternalHologramManager internalHologramManager,
+            ConfigManager configManager,
+            HologramDatabaseWriter hologramDatabaseWriter) {
         this.internalHologramManager = internalHologramManager;
         this.configManager = configManager;
+        this.hologramDatabaseWriter = hologramDatabaseWriter;
     }
 
     public InternalHologramLine parseHologramLine(String serializedLine) throws CommandException {
@@ -80,7 +86,7 @@ public class InternalHologramEditor {
     }
 
     public void saveChanges(InternalHologram hologram, ChangeType changeType) {
-        configManager.saveHologramDatabase(internalHologramManager.getHolograms());
+        hologramDatabaseWriter.markChanged(hologram);
         hologram.callChangeEvent(changeType);
     }
 
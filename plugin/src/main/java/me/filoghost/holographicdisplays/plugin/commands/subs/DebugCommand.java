@@ -5,22 +5,90 @@
  */
 package me.filoghost.holographicdisplays.plugin.commands.subs;
 
+import com.google.common.cache.CacheStats;
 import me.filoghost.fcommons.command.sub.SubCommandContext;
+import me.filoghost.holographicdisplays.core.HolographicDisplaysCore;
+import me.filoghost.holographicdisplays.core.placeholder.PlaceholderCircuitBreaker;
+import me.filoghost.holographicdisplays.core.placeholder.parsing.ParsingCache;
 import me.filoghost.holographicdisplays.plugin.commands.HologramSubCommand;
 import me.filoghost.holographicdisplays.plugin.format.ColorScheme;
+import me.filoghost.holographicdisplays.plugin.format.DisplayFormat;
 import org.bukkit.command.CommandSender;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+
 public class DebugCommand extends HologramSubCommand {
 
-    public DebugCommand() {
+    private static final int MAX_DISPLAYED_PLACEHOLDERS = 10;
+
+    private final HolographicDisplaysCore core;
+
+    public DebugCommand(HolographicDisplaysCore core) {
         super("debug");
+        this.core = core;
         setShowInHelpCommand(false);
         setDescription("Displays information useful for debugging.");
     }
 
     @Override
     public void execute(CommandSender sender, String[] args, SubCommandContext context) {
-        sender.sendMessage(ColorScheme.ERROR + "This command is currently unused.");
+        DisplayFormat.sendTitle(sender, "Debug");
+        sender.sendMessage(ColorScheme.PRIMARY + "Parsing cache " + ColorScheme.SECONDARY + "(" + ParsingCache.getSize() + " entries)");
+        sendCacheStats(sender, "Texts", ParsingCache.getStringsStats());
+        sendCacheStats(sender, "Placeholders", ParsingCache.getPlaceholdersStats());
+        sendIndividualPlaceholders(sender);
+        sendCircuitBreakers(sender);
+    }
+
+    private void sendIndividualPlaceholders(CommandSender sender) {
+        Map<String, Integer> replacementHoldersCount = core.getIndividualReplacementHoldersCount();
+        int totalCount = 0;
+        for (int count : replacementHoldersCount.values()) {
+            totalCount += count;
+        }
+
+        sender.sendMessage("");
+        sender.sendMessage(ColorScheme.PRIMARY + "Individual placeholders " + ColorScheme.SECONDARY
+                + "(" + replacementHoldersCount.size() + " in use, " + totalCount + " replacements)");
+
+        // Show the placeholders with the most replacements first
+        List<Entry<String, Integer>> entries = new ArrayList<>(replacementHoldersCount.entrySet());
+        entries.sort(Comparator.comparingInt((Entry<String, Integer> entry) -> entry.getValue()).reversed());
+        for (int i = 0; i < entries.size() && i < MAX_DISPLAYED_PLACEHOLDERS; i++) {
+            Entry<String, Integer> entry = entries.get(i);
+            sender.sendMessage(ColorScheme.SECONDARY_DARK + "- " + ColorScheme.SECONDARY_BOLD + "{" + entry.getKey() + "}"
+                    + ColorScheme.SECONDARY_DARK + " replacements: " + ColorScheme.SECONDARY + entry.getValue());
+        }
+    }
+
+    private void sendCircuitBreakers(CommandSender sender) {
+        List<PlaceholderCircuitBreaker> circuitBreakers = core.getTrippedPlaceholderCircuitBreakers();
+
+        sender.sendMessage("");
+        sender.sendMessage(ColorScheme.PRIMARY + "Placeholder circuit breakers " + ColorScheme.SECONDARY
+                + "(" + circuitBreakers.size() + " tripped)");
+
+        for (PlaceholderCircuitBreaker circuitBreaker : circuitBreakers) {
+            sender.sendMessage(ColorScheme.SECONDARY_DARK + "- " + ColorScheme.SECONDARY_BOLD + circuitBreaker.getName()
+                    + ColorScheme.SECONDARY_DARK + " state: " + ColorScheme.SECONDARY
+                    + circuitBreaker.getState().name().toLowerCase(Locale.ROOT).replace('_', '-')
+                    + ColorScheme.SECONDARY_DARK + ", trips: " + ColorScheme.SECONDARY + circuitBreaker.getTripsCount()
+                    + ColorScheme.SECONDARY_DARK + ", skipped calls: " + ColorScheme.SECONDARY + circuitBreaker.getRejectedCallsCount());
+        }
+    }
+
+    private void sendCacheStats(CommandSender sender, String name, CacheStats stats) {
+        sender.sendMessage(ColorScheme.SECONDARY_DARK + "- " + ColorScheme.SECONDARY_BOLD + name
+                + ColorScheme.SECONDARY_DARK + " hits: " + ColorScheme.SECONDARY + stats.hitCount()
+                + ColorScheme.SECONDARY_DARK + ", misses: " + ColorScheme.SECONDARY + stats.missCount()
+                + ColorScheme.SECONDARY_DARK + ", hit rate: " + ColorScheme.SECONDARY
+                + String.format(Locale.ROOT, "%.1f%%", stats.hitRate() * 100)
+                + ColorScheme.SECONDARY_DARK + ", evictions: " + ColorScheme.SECONDARY + stats.evictionCount());
     }
 
 }
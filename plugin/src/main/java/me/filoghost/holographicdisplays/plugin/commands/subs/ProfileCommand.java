@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.plugin.commands.subs;
+
+import me.filoghost.fcommons.command.sub.SubCommandContext;
+import me.filoghost.fcommons.command.validation.CommandException;
+import me.filoghost.fcommons.command.validation.CommandValidate;
+import me.filoghost.holographicdisplays.api.HolographicDisplaysAPI;
+import me.filoghost.holographicdisplays.api.profiling.TickPhase;
+import me.filoghost.holographicdisplays.api.profiling.TickProfile;
+import me.filoghost.holographicdisplays.api.profiling.TimingStatistics;
+import me.filoghost.holographicdisplays.plugin.commands.HologramSubCommand;
+import me.filoghost.holographicdisplays.plugin.format.ColorScheme;
+import me.filoghost.holographicdisplays.plugin.format.DisplayFormat;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map.Entry;
+
+public class ProfileCommand extends HologramSubCommand {
+
+    private static final int MAX_DISPLAYED_PLUGINS = 10;
+
+    public ProfileCommand() {
+        super("profile");
+        setDescription("Displays the time spent in each tick by holograms and placeholders.");
+    }
+
+    @Override
+    public void execute(CommandSender sender, String[] args, SubCommandContext context) throws CommandException {
+        TickProfile tickProfile = HolographicDisplaysAPI.getTickProfile();
+        CommandValidate.check(tickProfile.getSampleTicks() > 0, "No ticks were recorded yet, try again later.");
+
+        DisplayFormat.sendTitle(sender, "Tick profile " + ColorScheme.SECONDARY + "(last " + tickProfile.getSampleTicks() + " ticks)");
+        sendTimings(sender, "Total", tickProfile.getTotalTimings());
+        for (TickPhase phase : TickPhase.values()) {
+            sendTimings(sender, formatPhaseName(phase), tickProfile.getPhaseTimings(phase));
+        }
+
+        List<Entry<String, TimingStatistics>> placeholderTimings = new ArrayList<>(tickProfile.getPlaceholderTimingsByPlugin().entrySet());
+        if (!placeholderTimings.isEmpty()) {
+            sendPlaceholderTimings(sender, placeholderTimings);
+        }
+
+        // Async placeholders are computed on separate threads, outside the tick
+        DisplayFormat.sendTip(sender, "The time of async placeholders is not included, since they don't run during the tick.");
+    }
+
+    private void sendPlaceholderTimings(CommandSender sender, List<Entry<String, TimingStatistics>> placeholderTimings) {
+        // Show the slowest plugins first
+        placeholderTimings.sort(Comparator.comparingLong(
+                (Entry<String, TimingStatistics> entry) -> entry.getValue().getAverageNanos()).reversed());
+
+        sender.sendMessage("");
+        sender.sendMessage(ColorScheme.PRIMARY + "Placeholders by plugin:");
+        for (int i = 0; i < placeholderTimings.size() && i < MAX_DISPLAYED_PLUGINS; i++) {
+            Entry<String, TimingStatistics> entry = placeholderTimings.get(i);
+            sendTimings(sender, entry.getKey(), entry.getValue());
+        }
+        if (placeholderTimings.size() > MAX_DISPLAYED_PLUGINS) {
+            sender.sendMessage(ColorScheme.SECONDARY_DARK + "... and " + (placeholderTimings.size() - MAX_DISPLAYED_PLUGINS) + " more");
+        }
+
+        DisplayFormat.sendTip(sender, "PlaceholderAPI placeholders are included in the time of Holographic Displays.");
+    }
+
+    private void sendTimings(CommandSender sender, String name, TimingStatistics timings) {
+        sender.sendMessage(ColorScheme.SECONDARY_DARK + "- " + ColorScheme.SECONDARY_BOLD + name
+                + ColorScheme.SECONDARY_DARK + " avg: " + ColorScheme.SECONDARY + formatMillis(timings.getAverageNanos())
+                + ColorScheme.SECONDARY_DARK + ", p99: " + ColorScheme.SECONDARY + formatMillis(timings.getPercentile99Nanos())
+                + ColorScheme.SECONDARY_DARK + ", max: " + ColorScheme.SECONDARY + formatMillis(timings.getMaxNanos()));
+    }
+
+    private String formatPhaseName(TickPhase phase) {
+        String name = phase.name().toLowerCase(Locale.ROOT).replace('_', ' ');
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3fms", nanos / 1_000_000.0);
+    }
+
+}
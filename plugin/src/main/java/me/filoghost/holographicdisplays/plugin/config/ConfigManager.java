@@ -5,6 +5,7 @@
  */
 package me.filoghost.holographicdisplays.plugin.config;
 
+import me.filoghost.fcommons.Preconditions;
 import me.filoghost.fcommons.collection.CollectionUtils;
 import me.filoghost.fcommons.config.BaseConfigManager;
 import me.filoghost.fcommons.config.Config;
@@ -22,32 +23,36 @@ import me.filoghost.fcommons.config.mapped.MappedConfigLoader;
 import me.filoghost.fcommons.logging.ErrorCollector;
 import me.filoghost.fcommons.logging.Log;
 import me.filoghost.holographicdisplays.plugin.format.DisplayFormat;
-import me.filoghost.holographicdisplays.plugin.internal.hologram.InternalHologram;
 import me.filoghost.holographicdisplays.plugin.internal.placeholder.AnimationPlaceholder;
 import me.filoghost.holographicdisplays.plugin.internal.placeholder.AnimationPlaceholderFactory;
 import me.filoghost.holographicdisplays.plugin.util.FileUtils;
 
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class ConfigManager extends BaseConfigManager {
 
     private final MappedConfigLoader<SettingsModel> mainConfigLoader;
     private final ConfigLoader databaseConfigLoader;
+    private final Path binaryDatabaseFile;
     private final ConfigLoader staticReplacementsConfigLoader;
 
     public ConfigManager(Path rootDataFolder) {
         super(rootDataFolder);
         this.mainConfigLoader = getMappedConfigLoader("config.yml", SettingsModel.class);
         this.databaseConfigLoader = getConfigLoader("database.yml");
+        this.binaryDatabaseFile = rootDataFolder.resolve("database.dat");
         this.staticReplacementsConfigLoader = getConfigLoader("custom-placeholders.yml");
     }
 
@@ -64,7 +69,73 @@ public class ConfigManager extends BaseConfigManager {
         Settings.load(mainConfig, errorCollector);
     }
 
+    /*
+     * Holograms are read from the file of the format selected in the configuration. If only the file of the other format
+     * exists, the format was just changed and the holograms are converted, unless some of them could not be read.
+     */
     public List<InternalHologramConfig> readHologramDatabase(ErrorCollector errorCollector) {
+        Path yamlFile = databaseConfigLoader.getFile();
+
+        if (Settings.binaryDatabase) {
+            if (!Files.isRegularFile(binaryDatabaseFile) && Files.isRegularFile(yamlFile)) {
+                return convertHologramDatabase(yamlFile, this::readYamlHologramDatabase, errorCollector);
+            }
+            return readHologramDatabase(binaryDatabaseFile, this::readBinaryHologramDatabase, errorCollector);
+
+        } else {
+            if (!Files.isRegularFile(yamlFile) && Files.isRegularFile(binaryDatabaseFile)) {
+                return convertHologramDatabase(binaryDatabaseFile, this::readBinaryHologramDatabase, errorCollector);
+            }
+            return readHologramDatabase(yamlFile, this::readYamlHologramDatabase, errorCollector);
+        }
+    }
+
+    private List<InternalHologramConfig> readHologramDatabase(
+            Path databaseFile,
+            Function<ErrorCollector, List<InternalHologramConfig>> databaseReader,
+            ErrorCollector errorCollector) {
+        int previousErrorsCount = errorCollector.getErrorsCount();
+        List<InternalHologramConfig> hologramConfigs = databaseReader.apply(errorCollector);
+
+        // The holograms that could not be read would be lost the next time the database is saved
+        if (errorCollector.getErrorsCount() > previousErrorsCount && Files.isRegularFile(databaseFile)) {
+            try {
+                copyToBackupsFolder(databaseFile);
+            } catch (IOException e) {
+                errorCollector.add(e, "error while copying file \"" + formatPath(databaseFile) + "\""
+                        + " to \"" + formatPath(getBackupsFolder()) + "\"");
+            }
+        }
+        return hologramConfigs;
+    }
+
+    private List<InternalHologramConfig> convertHologramDatabase(
+            Path otherFormatDatabaseFile,
+            Function<ErrorCollector, List<InternalHologramConfig>> otherFormatDatabaseReader,
+            ErrorCollector errorCollector) {
+        Path databaseFile = getHologramDatabaseFile();
+        int previousErrorsCount = errorCollector.getErrorsCount();
+        List<InternalHologramConfig> hologramConfigs = otherFormatDatabaseReader.apply(errorCollector);
+
+        if (errorCollector.getErrorsCount() > previousErrorsCount) {
+            // The file is kept until the holograms are saved in the new format, then it's moved to the backups folder
+            errorCollector.add("the holograms database file \"" + formatPath(otherFormatDatabaseFile) + "\""
+                    + " was not converted to \"" + formatPath(databaseFile) + "\" because of the previous errors");
+            return hologramConfigs;
+        }
+
+        try {
+            writeHologramDatabase(hologramConfigs);
+            Log.info("Converted " + hologramConfigs.size() + " holograms from \"" + formatPath(otherFormatDatabaseFile) + "\""
+                    + " to \"" + formatPath(databaseFile) + "\".");
+        } catch (ConfigException | IOException e) {
+            errorCollector.add(e, "error while converting holograms database file \"" + formatPath(otherFormatDatabaseFile) + "\""
+                    + " to \"" + formatPath(databaseFile) + "\"");
+        }
+        return hologramConfigs;
+    }
+
+    private List<InternalHologramConfig> readYamlHologramDatabase(ErrorCollector errorCollector) {
         Config config;
         try {
             config = databaseConfigLoader.init();
@@ -84,7 +155,61 @@ public class ConfigManager extends BaseConfigManager {
         return hologramConfigs;
     }
 
-    public void saveHologramDatabase(List<InternalHologram> holograms) {
+    private List<InternalHologramConfig> readBinaryHologramDatabase(ErrorCollector errorCollector) {
+        if (!Files.isRegularFile(binaryDatabaseFile)) {
+            return Collections.emptyList();
+        }
+
+        try {
+            return BinaryHologramDatabase.read(binaryDatabaseFile, errorCollector);
+        } catch (IOException e) {
+            errorCollector.add(e, "error while reading holograms database file \"" + formatPath(binaryDatabaseFile) + "\"");
+            return Collections.emptyList();
+        }
+    }
+
+    /*
+     * Can be called from any thread.
+     */
+    public void saveHologramDatabase(List<InternalHologramConfig> hologramConfigs) {
+        try {
+            writeHologramDatabase(hologramConfigs);
+        } catch (ConfigException | IOException e) {
+            Log.severe("Error while saving holograms database file \"" + formatPath(getHologramDatabaseFile()) + "\"", e);
+        }
+    }
+
+    /*
+     * The file is first written to a temporary file and then moved, so that the database is never left partially written.
+     * The file of the other format is no longer up to date once the database is saved, and it's moved to the backups folder.
+     */
+    private void writeHologramDatabase(List<InternalHologramConfig> hologramConfigs) throws ConfigException, IOException {
+        Path databaseFile = getHologramDatabaseFile();
+        Path otherFormatDatabaseFile = Settings.binaryDatabase ? databaseConfigLoader.getFile() : binaryDatabaseFile;
+        Path tempFile = databaseFile.resolveSibling(databaseFile.getFileName() + ".tmp");
+
+        if (Settings.binaryDatabase) {
+            Files.write(tempFile, BinaryHologramDatabase.write(hologramConfigs));
+        } else {
+            getConfigLoader(tempFile).save(toYamlHologramDatabase(hologramConfigs));
+        }
+
+        try {
+            Files.move(tempFile, databaseFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, databaseFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        if (Files.isRegularFile(otherFormatDatabaseFile)) {
+            moveToBackupsFolder(otherFormatDatabaseFile);
+        }
+    }
+
+    private Path getHologramDatabaseFile() {
+        return Settings.binaryDatabase ? binaryDatabaseFile : databaseConfigLoader.getFile();
+    }
+
+    private Config toYamlHologramDatabase(List<InternalHologramConfig> hologramConfigs) {
         Config config = new Config();
         config.setHeader(
                 "",
@@ -92,16 +217,10 @@ public class ConfigManager extends BaseConfigManager {
                 ""
         );
 
-        for (InternalHologram hologram : holograms) {
-            InternalHologramConfig hologramConfig = new InternalHologramConfig(hologram);
-            config.setConfigSection(hologram.getName(), hologramConfig.getSerializedConfigSection());
-        }
-
-        try {
-            databaseConfigLoader.save(config);
-        } catch (ConfigException e) {
-            Log.severe("Error while saving holograms database file \"" + formatPath(databaseConfigLoader.getFile()) + "\"", e);
+        for (InternalHologramConfig hologramConfig : hologramConfigs) {
+            config.setConfigSection(hologramConfig.getName(), hologramConfig.getSerializedConfigSection());
         }
+        return config;
     }
 
     public AnimationPlaceholderFactory loadAnimations(ErrorCollector errorCollector) {
@@ -158,6 +277,67 @@ public class ConfigManager extends BaseConfigManager {
         StaticReplacements.load(staticReplacementsConfig, errorCollector);
     }
 
+    public Path getBackupsFolder() {
+        return getRootDataFolder().resolve("old-files");
+    }
+
+    public void copyToBackupsFolder(Path file) throws IOException {
+        Files.copy(file, createBackupFile(file));
+    }
+
+    public void moveToBackupsFolder(Path file) throws IOException {
+        Files.move(file, createBackupFile(file));
+    }
+
+    private synchronized Path createBackupFile(Path file) throws IOException {
+        Path backupsFolder = getBackupsFolder();
+        Preconditions.checkArgument(file.startsWith(getRootDataFolder()), "file is outside data folder");
+        Preconditions.checkArgument(!file.startsWith(backupsFolder), "file is inside backups folder");
+
+        Path pathFromRootDataFolderToFile = file.subpath(getRootDataFolder().getNameCount(), file.getNameCount());
+        Path backupFile = backupsFolder.resolve(pathFromRootDataFolderToFile);
+
+        // Find the first available destination file if already existing
+        int copyIndex = 1;
+        while (Files.isRegularFile(backupFile)) {
+            backupFile = getAlternativeCopyFile(backupFile, copyIndex);
+            copyIndex++;
+        }
+
+        Files.createDirectories(backupFile.getParent());
+
+        Path readMeFile = backupsFolder.resolve("README.txt");
+        if (!Files.isRegularFile(readMeFile)) {
+            try {
+                Files.write(readMeFile, Collections.singletonList(
+                        "This folder is used to backup configuration files before automatically upgrading or replacing them."
+                ));
+            } catch (IOException ignore) {
+                // The file is not important
+            }
+        }
+
+        return backupFile;
+    }
+
+    private Path getAlternativeCopyFile(Path file, int copyIndex) {
+        String fileName = file.getFileName().toString();
+        int extensionBeginIndex = fileName.lastIndexOf('.');
+        String fileNameWithoutExtension;
+        String extensionWithSeparator;
+
+        if (extensionBeginIndex >= 0) {
+            fileNameWithoutExtension = fileName.substring(0, extensionBeginIndex);
+            extensionWithSeparator = fileName.substring(extensionBeginIndex);
+        } else {
+            fileNameWithoutExtension = fileName;
+            extensionWithSeparator = "";
+        }
+
+        // Insert the copy index before the extension
+        return file.resolveSibling(fileNameWithoutExtension + " (" + copyIndex + ")" + extensionWithSeparator);
+    }
+
     public Path getAnimationsFolder() {
         return getRootDataFolder().resolve("animations");
     }
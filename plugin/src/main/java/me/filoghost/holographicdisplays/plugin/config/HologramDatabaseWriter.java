@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.plugin.config;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import me.filoghost.fcommons.logging.Log;
+import me.filoghost.holographicdisplays.plugin.internal.hologram.InternalHologram;
+import me.filoghost.holographicdisplays.plugin.internal.hologram.InternalHologramManager;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Saves the holograms database in the background: changes made in the same tick are coalesced, only the changed holograms
+ * are serialized again (on the main thread) and the file is written by a separate thread.
+ */
+public class HologramDatabaseWriter {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final Plugin plugin;
+    private final ConfigManager configManager;
+    private final InternalHologramManager internalHologramManager;
+    private final ExecutorService writeExecutor;
+
+    // Only accessed from the main thread
+    private final Set<InternalHologram> changedHolograms;
+    private Map<InternalHologram, InternalHologramConfig> serializedHolograms;
+    private boolean saveScheduled;
+
+    // Only the most recent snapshot needs to be written, older ones are replaced if not written yet
+    private final AtomicReference<List<InternalHologramConfig>> pendingSnapshot;
+
+    public HologramDatabaseWriter(Plugin plugin, ConfigManager configManager, InternalHologramManager internalHologramManager) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+        this.internalHologramManager = internalHologramManager;
+        this.writeExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("Holographic Displays Database Writer")
+                .build());
+        this.changedHolograms = new HashSet<>();
+        this.serializedHolograms = new HashMap<>();
+        this.pendingSnapshot = new AtomicReference<>();
+    }
+
+    public void markChanged(InternalHologram hologram) {
+        changedHolograms.add(hologram);
+
+        if (!saveScheduled) {
+            saveScheduled = true;
+            Bukkit.getScheduler().runTask(plugin, this::saveScheduledChanges);
+        }
+    }
+
+    private void saveScheduledChanges() {
+        // The changes may have been already saved by a flush before the scheduled task runs
+        if (saveScheduled) {
+            saveChanges();
+        }
+    }
+
+    private void saveChanges() {
+        saveScheduled = false;
+
+        List<InternalHologram> holograms = internalHologramManager.getHolograms();
+        Map<InternalHologram, InternalHologramConfig> newSerializedHolograms = new HashMap<>();
+        List<InternalHologramConfig> snapshot = new ArrayList<>(holograms.size());
+
+        // Deleted holograms are discarded, since they are no longer returned by the manager
+        for (InternalHologram hologram : holograms) {
+            InternalHologramConfig hologramConfig = serializedHolograms.get(hologram);
+            if (hologramConfig == null || changedHolograms.contains(hologram)) {
+                hologramConfig = new InternalHologramConfig(hologram);
+            }
+            newSerializedHolograms.put(hologram, hologramConfig);
+            snapshot.add(hologramConfig);
+        }
+
+        serializedHolograms = newSerializedHolograms;
+        changedHolograms.clear();
+
+        if (pendingSnapshot.getAndSet(snapshot) == null) {
+            writeExecutor.execute(this::writePendingSnapshot);
+        }
+    }
+
+    private void writePendingSnapshot() {
+        List<InternalHologramConfig> snapshot = pendingSnapshot.getAndSet(null);
+        if (snapshot != null) {
+            configManager.saveHologramDatabase(snapshot);
+        }
+    }
+
+    /**
+     * Blocks until all the changes are written, for example before reading the file again.
+     */
+    public void flush() {
+        saveScheduledChanges();
+
+        try {
+            writeExecutor.submit(() -> { }).get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            Log.severe("Error while waiting for the holograms database to be saved", e);
+        }
+    }
+
+    public void shutdown() {
+        saveScheduledChanges();
+
+        writeExecutor.shutdown();
+        try {
+            if (!writeExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Log.severe("Timed out while saving the holograms database, the latest changes may be lost");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
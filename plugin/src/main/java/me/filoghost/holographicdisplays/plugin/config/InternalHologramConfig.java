@@ -9,8 +9,10 @@ import me.filoghost.fcommons.collection.CollectionUtils;
 import me.filoghost.fcommons.config.ConfigSection;
 import me.filoghost.fcommons.config.exception.ConfigValueException;
 import me.filoghost.holographicdisplays.api.Position;
+import me.filoghost.holographicdisplays.plugin.config.InternalHologramLineParser.PendingLine;
 import me.filoghost.holographicdisplays.plugin.internal.hologram.InternalHologram;
 import me.filoghost.holographicdisplays.plugin.internal.hologram.InternalHologramLine;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,11 +28,14 @@ public class InternalHologramConfig {
     }
 
     public InternalHologramConfig(InternalHologram hologram) {
-        this.name = hologram.getName();
+        this(hologram.getName(), serializeLines(hologram), hologram.getPosition());
+    }
+
+    public InternalHologramConfig(String name, List<String> serializedLines, Position position) {
+        this.name = name;
         this.configSection = new ConfigSection();
 
-        List<String> serializedLines = serializeLines(hologram);
-        ConfigSection positionConfigSection = serializePosition(hologram.getPosition());
+        ConfigSection positionConfigSection = serializePosition(position);
 
         configSection.setStringList("lines", serializedLines);
         configSection.setConfigSection("position", positionConfigSection);
@@ -44,21 +49,28 @@ public class InternalHologramConfig {
         return configSection;
     }
 
-    private List<String> serializeLines(InternalHologram hologram) {
+    private static List<String> serializeLines(InternalHologram hologram) {
         return CollectionUtils.toArrayList(hologram.getLines(), InternalHologramLine::getSerializedString);
     }
 
-    public List<InternalHologramLine> deserializeLines() throws InternalHologramLoadException {
-        List<String> serializedLines = configSection.getStringList("lines");
+    public @Nullable List<String> getSerializedLines() {
+        return configSection.getStringList("lines");
+    }
+
+    /*
+     * Can be called from any thread, the lines are then created on the main thread.
+     */
+    List<PendingLine> deserializeLines() throws InternalHologramLoadException {
+        List<String> serializedLines = getSerializedLines();
 
         if (serializedLines == null || serializedLines.size() == 0) {
             throw new InternalHologramLoadException("at least one line is required");
         }
 
-        List<InternalHologramLine> lines = new ArrayList<>();
+        List<PendingLine> lines = new ArrayList<>();
         for (String serializedLine : serializedLines) {
             try {
-                lines.add(InternalHologramLineParser.parseLine(serializedLine));
+                lines.add(InternalHologramLineParser.parseLineSyntax(serializedLine));
             } catch (InternalHologramLoadException e) {
                 // Rethrow with more details
                 throw new InternalHologramLoadException("invalid line: " + e.getMessage(), e);
@@ -67,7 +79,7 @@ public class InternalHologramConfig {
         return lines;
     }
 
-    private ConfigSection serializePosition(Position position) {
+    private static ConfigSection serializePosition(Position position) {
         ConfigSection positionConfigSection = new ConfigSection();
         positionConfigSection.setString("world", position.getWorldName());
         positionConfigSection.setDouble("x", position.getX());
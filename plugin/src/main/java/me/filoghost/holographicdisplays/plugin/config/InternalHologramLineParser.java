@@ -18,6 +18,7 @@ import me.filoghost.holographicdisplays.core.placeholder.parsing.StringWithPlace
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
 
@@ -26,21 +27,29 @@ public class InternalHologramLineParser {
     private static final String ICON_PREFIX = "icon:";
 
     public static InternalHologramLine parseLine(String serializedLine) throws InternalHologramLoadException {
+        return parseLineSyntax(serializedLine).createLine();
+    }
+
+    /*
+     * Parses the line without using the Bukkit API, so that it can be called from any thread. The line is then created on the
+     * main thread, since creating items and applying their NBT data is not thread-safe.
+     */
+    static PendingLine parseLineSyntax(String serializedLine) throws InternalHologramLoadException {
         if (serializedLine.toLowerCase(Locale.ROOT).startsWith(ICON_PREFIX)) {
             String serializedIcon = serializedLine.substring(ICON_PREFIX.length());
-            ItemStack icon = parseItemStack(serializedIcon);
-            return new ItemInternalHologramLine(serializedLine, icon);
+            ItemSyntax iconSyntax = parseItemSyntax(serializedIcon);
+            return () -> new ItemInternalHologramLine(serializedLine, createItemStack(iconSyntax));
 
         } else {
             String displayText = DisplayFormat.apply(serializedLine, false);
             // Apply colors only outside placeholders
             displayText = StringWithPlaceholders.withEscapes(displayText).replaceStrings(Colors::colorize);
-            return new TextInternalHologramLine(serializedLine, displayText);
+            InternalHologramLine textLine = new TextInternalHologramLine(serializedLine, displayText);
+            return () -> textLine;
         }
     }
 
-    @SuppressWarnings("deprecation")
-    private static ItemStack parseItemStack(String serializedItem) throws InternalHologramLoadException {
+    private static ItemSyntax parseItemSyntax(String serializedItem) throws InternalHologramLoadException {
         serializedItem = serializedItem.trim();
 
         // Parse json
@@ -74,20 +83,30 @@ public class InternalHologramLineParser {
             materialName = basicItemData;
         }
 
-        Material material = MaterialsHelper.matchMaterial(materialName);
-        if (material == null) {
-            throw new InternalHologramLoadException("\"" + materialName + "\" is not a valid material");
-        }
-
-        ItemStack itemStack = new ItemStack(material, 1, dataValue);
-
         if (nbtString != null) {
             try {
                 // Check NBT syntax validity before applying it
                 MojangsonParser.parse(nbtString);
-                Bukkit.getUnsafe().modifyItemStack(itemStack, nbtString);
             } catch (MojangsonParseException e) {
                 throw new InternalHologramLoadException("invalid NBT data, " + e.getMessage());
+            }
+        }
+
+        return new ItemSyntax(materialName, dataValue, nbtString);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static ItemStack createItemStack(ItemSyntax itemSyntax) throws InternalHologramLoadException {
+        Material material = MaterialsHelper.matchMaterial(itemSyntax.materialName);
+        if (material == null) {
+            throw new InternalHologramLoadException("\"" + itemSyntax.materialName + "\" is not a valid material");
+        }
+
+        ItemStack itemStack = new ItemStack(material, 1, itemSyntax.dataValue);
+
+        if (itemSyntax.nbtString != null) {
+            try {
+                Bukkit.getUnsafe().modifyItemStack(itemStack, itemSyntax.nbtString);
             } catch (Exception e) {
                 throw new InternalHologramLoadException("unexpected exception while parsing NBT data", e);
             }
@@ -96,4 +115,26 @@ public class InternalHologramLineParser {
         return itemStack;
     }
 
+
+    interface PendingLine {
+
+        InternalHologramLine createLine() throws InternalHologramLoadException;
+
+    }
+
+
+    private static class ItemSyntax {
+
+        private final String materialName;
+        private final short dataValue;
+        private final @Nullable String nbtString;
+
+        private ItemSyntax(String materialName, short dataValue, @Nullable String nbtString) {
+            this.materialName = materialName;
+            this.dataValue = dataValue;
+            this.nbtString = nbtString;
+        }
+
+    }
+
 }
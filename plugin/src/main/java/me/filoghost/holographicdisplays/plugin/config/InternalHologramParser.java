@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.plugin.config;
+
+import me.filoghost.holographicdisplays.api.Position;
+import me.filoghost.holographicdisplays.plugin.config.InternalHologramLineParser.PendingLine;
+import me.filoghost.holographicdisplays.plugin.internal.hologram.InternalHologramLine;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/*
+ * Parses the holograms loaded from the database in parallel, since parsing the lines (especially the NBT syntax of items) can
+ * be slow with many holograms. Only the syntax is parsed in parallel: the items are then created on the calling thread, since
+ * the Bukkit API is not thread-safe.
+ */
+public class InternalHologramParser {
+
+    // Below this amount, the overhead of starting the threads is not worth it
+    private static final int MIN_HOLOGRAMS_PER_THREAD = 64;
+
+    public static List<ParsedInternalHologram> parseAll(List<InternalHologramConfig> hologramConfigs) {
+        List<PendingHologram> pendingHolograms = parseAllSyntax(hologramConfigs);
+
+        List<ParsedInternalHologram> parsedHolograms = new ArrayList<>(pendingHolograms.size());
+        for (PendingHologram pendingHologram : pendingHolograms) {
+            parsedHolograms.add(pendingHologram.createParsedHologram());
+        }
+        return parsedHolograms;
+    }
+
+    private static List<PendingHologram> parseAllSyntax(List<InternalHologramConfig> hologramConfigs) {
+        int parallelism = Math.min(
+                Runtime.getRuntime().availableProcessors(),
+                hologramConfigs.size() / MIN_HOLOGRAMS_PER_THREAD);
+
+        if (parallelism <= 1) {
+            return parseRange(hologramConfigs, 0, hologramConfigs.size());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Callable<List<PendingHologram>>> tasks = new ArrayList<>(parallelism);
+            int chunkSize = (hologramConfigs.size() + parallelism - 1) / parallelism;
+            for (int start = 0; start < hologramConfigs.size(); start += chunkSize) {
+                int chunkStart = start;
+                int chunkEnd = Math.min(start + chunkSize, hologramConfigs.size());
+                tasks.add(() -> parseRange(hologramConfigs, chunkStart, chunkEnd));
+            }
+
+            // Chunks are joined in order, to keep the same order of the database
+            List<PendingHologram> pendingHolograms = new ArrayList<>(hologramConfigs.size());
+            for (Future<List<PendingHologram>> chunkResult : pool.invokeAll(tasks)) {
+                pendingHolograms.addAll(chunkResult.get());
+            }
+            return pendingHolograms;
+
+        } catch (InterruptedException e) {
+            // Fallback: never return partial results, or the missing holograms would be deleted with the next save
+            Thread.currentThread().interrupt();
+            return parseRange(hologramConfigs, 0, hologramConfigs.size());
+        } catch (ExecutionException e) {
+            // Should never happen, parsing errors are returned in the results
+            throw new RuntimeException("unexpected exception while parsing holograms", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<PendingHologram> parseRange(List<InternalHologramConfig> hologramConfigs, int start, int end) {
+        PendingHologram[] pendingHolograms = new PendingHologram[end - start];
+        for (int i = start; i < end; i++) {
+            pendingHolograms[i - start] = parseSyntax(hologramConfigs.get(i));
+        }
+        return Arrays.asList(pendingHolograms);
+    }
+
+    private static PendingHologram parseSyntax(InternalHologramConfig hologramConfig) {
+        try {
+            List<PendingLine> pendingLines = hologramConfig.deserializeLines();
+            Position position = hologramConfig.deserializePosition();
+            return new PendingHologram(hologramConfig.getName(), position, pendingLines, null);
+        } catch (InternalHologramLoadException e) {
+            return new PendingHologram(hologramConfig.getName(), null, null, e);
+        }
+    }
+
+
+    private static class PendingHologram {
+
+        private final String name;
+        private final Position position;
+        private final List<PendingLine> pendingLines;
+        private final InternalHologramLoadException loadException;
+
+        private PendingHologram(
+                String name,
+                Position position,
+                List<PendingLine> pendingLines,
+                InternalHologramLoadException loadException) {
+            this.name = name;
+            this.position = position;
+            this.pendingLines = pendingLines;
+            this.loadException = loadException;
+        }
+
+        private ParsedInternalHologram createParsedHologram() {
+            if (loadException != null) {
+                return new ParsedInternalHologram(name, null, null, loadException);
+            }
+
+            List<InternalHologramLine> lines = new ArrayList<>(pendingLines.size());
+            for (PendingLine pendingLine : pendingLines) {
+                try {
+                    lines.add(pendingLine.createLine());
+                } catch (InternalHologramLoadException e) {
+                    InternalHologramLoadException lineLoadException =
+                            new InternalHologramLoadException("invalid line: " + e.getMessage(), e);
+                    return new ParsedInternalHologram(name, null, null, lineLoadException);
+                }
+            }
+            return new ParsedInternalHologram(name, position, Collections.unmodifiableList(lines), null);
+        }
+
+    }
+
+
+    public static class ParsedInternalHologram {
+
+        private final String name;
+        private final Position position;
+        private final List<InternalHologramLine> lines;
+        private final InternalHologramLoadException loadException;
+
+        private ParsedInternalHologram(
+                String name,
+                Position position,
+                List<InternalHologramLine> lines,
+                InternalHologramLoadException loadException) {
+            this.name = name;
+            this.position = position;
+            this.lines = lines;
+            this.loadException = loadException;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Position getPosition() {
+            return position;
+        }
+
+        public List<InternalHologramLine> getLines() {
+            return lines;
+        }
+
+        public @Nullable InternalHologramLoadException getLoadException() {
+            return loadException;
+        }
+
+    }
+
+}
@@ -23,9 +23,16 @@ public class Settings {
     public static boolean quickEditCommands;
     public static DateTimeFormatter timeFormat;
     public static boolean updateNotification;
+    public static boolean sharedPacketEncoding;
+    public static boolean binaryDatabase;
 
     public static boolean placeholderAPIEnabled;
     public static int placeholderAPIDefaultRefreshInternalTicks;
+    public static int placeholderAPIMaxRefreshIntervalTicks;
+    public static boolean circuitBreakerEnabled;
+    public static int circuitBreakerBadCallsPercent;
+    public static int circuitBreakerSlowCallMillis;
+    public static int circuitBreakerOpenSeconds;
 
     public static String imageSymbol;
     public static String transparencySymbol;
@@ -45,9 +52,21 @@ public class Settings {
         quickEditCommands = config.quickEditCommands;
         timeFormat = parseTimeFormatter(config.timeFormat, config.timeZone, errorCollector);
         updateNotification = config.updateNotification;
+        sharedPacketEncoding = config.sharedPacketEncoding;
+        binaryDatabase = config.binaryDatabase;
 
         placeholderAPIEnabled = config.placeholderAPIEnabled;
         placeholderAPIDefaultRefreshInternalTicks = config.placeholderAPIDefaultRefreshIntervalTicks;
+        if (config.placeholderAPIAdaptiveRefreshEnabled) {
+            placeholderAPIMaxRefreshIntervalTicks = Math.max(
+                    config.placeholderAPIAdaptiveRefreshMaxIntervalTicks, placeholderAPIDefaultRefreshInternalTicks);
+        } else {
+            placeholderAPIMaxRefreshIntervalTicks = placeholderAPIDefaultRefreshInternalTicks;
+        }
+        circuitBreakerEnabled = config.circuitBreakerEnabled;
+        circuitBreakerBadCallsPercent = parseCircuitBreakerBadCallsPercent(config.circuitBreakerBadCallsPercent, errorCollector);
+        circuitBreakerSlowCallMillis = Math.max(config.circuitBreakerSlowCallMillis, 1);
+        circuitBreakerOpenSeconds = Math.max(config.circuitBreakerOpenSeconds, 1);
 
         imageSymbol = DisplayFormat.apply(config.imageRenderingSolidPixel);
         transparencySymbol = DisplayFormat.apply(config.imageRenderingTransparentPixel);
@@ -117,6 +136,16 @@ public class Settings {
         }
     }
 
+    private static int parseCircuitBreakerBadCallsPercent(int percent, ErrorCollector errorCollector) {
+        if (percent < 1 || percent > 100) {
+            errorCollector.add("the percentage of bad calls for the placeholders circuit breaker must be between 1 and 100,"
+                    + " using the default");
+            return 50;
+        } else {
+            return percent;
+        }
+    }
+
     private static ServerAddress parseServerAddress(String singleServer, ErrorCollector errorCollector) {
         String[] nameAndAddress = Strings.splitAndTrim(singleServer, ":", 2);
         if (nameAndAddress.length < 2) {
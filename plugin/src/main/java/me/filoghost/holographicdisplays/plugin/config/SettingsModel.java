@@ -27,6 +27,24 @@ public class SettingsModel implements MappedConfig {
     @Path("placeholders.PlaceholderAPI.default-refresh-interval-ticks")
     int placeholderAPIDefaultRefreshIntervalTicks = 200;
 
+    @Path("placeholders.PlaceholderAPI.adaptive-refresh.enabled")
+    boolean placeholderAPIAdaptiveRefreshEnabled = false;
+
+    @Path("placeholders.PlaceholderAPI.adaptive-refresh.max-interval-ticks")
+    int placeholderAPIAdaptiveRefreshMaxIntervalTicks = 1200;
+
+    @Path("placeholders.circuit-breaker.enabled")
+    boolean circuitBreakerEnabled = false;
+
+    @Path("placeholders.circuit-breaker.bad-calls-percent")
+    int circuitBreakerBadCallsPercent = 50;
+
+    @Path("placeholders.circuit-breaker.slow-call-millis")
+    int circuitBreakerSlowCallMillis = 20;
+
+    @Path("placeholders.circuit-breaker.open-seconds")
+    int circuitBreakerOpenSeconds = 10;
+
     @Path("image-rendering.solid-pixel")
     String imageRenderingSolidPixel = "\\u2588";
 
@@ -69,6 +87,13 @@ public class SettingsModel implements MappedConfig {
     @Path("update-notification")
     boolean updateNotification = true;
 
+    // Also enables writing the hologram packets directly as encoded packets, which other plugins can't listen to
+    @Path("shared-packet-encoding")
+    boolean sharedPacketEncoding = false;
+
+    @Path("binary-database")
+    boolean binaryDatabase = false;
+
     @Path("debug")
     boolean debug = false;
 
@@ -50,7 +50,7 @@ public class InternalHologram {
     public void setPosition(Position position) {
         checkNotDeleted();
         this.position = position;
-        updateRendering();
+        renderedHologram.setPosition(position);
     }
 
     public List<InternalHologramLine> getLines() {
@@ -60,38 +60,52 @@ public class InternalHologram {
     public void addLine(InternalHologramLine line) {
         checkNotDeleted();
         lines.add(line);
-        updateRendering();
+        line.appendTo(renderedHologram);
     }
 
     public void addLines(List<InternalHologramLine> lines) {
         checkNotDeleted();
         this.lines.addAll(lines);
-        updateRendering();
+        for (InternalHologramLine line : lines) {
+            line.appendTo(renderedHologram);
+        }
     }
 
     public void setLine(int index, InternalHologramLine line) {
         checkNotDeleted();
-        lines.set(index, line);
-        updateRendering();
+        InternalHologramLine previousLine = lines.set(index, line);
+        updateRenderedLine(index, previousLine, line);
     }
 
     public void setLines(List<InternalHologramLine> lines) {
         checkNotDeleted();
+        List<InternalHologramLine> previousLines = new ArrayList<>(this.lines);
         this.lines.clear();
         this.lines.addAll(lines);
-        updateRendering();
+
+        // Lines at the same index are updated in place, to avoid respawning the entities
+        int commonSize = Math.min(previousLines.size(), lines.size());
+        for (int i = 0; i < commonSize; i++) {
+            updateRenderedLine(i, previousLines.get(i), lines.get(i));
+        }
+        for (int i = previousLines.size() - 1; i >= commonSize; i--) {
+            renderedHologram.getLines().remove(i);
+        }
+        for (int i = commonSize; i < lines.size(); i++) {
+            lines.get(i).appendTo(renderedHologram);
+        }
     }
 
     public void insertLine(int beforeIndex, InternalHologramLine line) {
         checkNotDeleted();
         lines.add(beforeIndex, line);
-        updateRendering();
+        line.insertTo(renderedHologram, beforeIndex);
     }
 
     public void removeLine(int index) {
         checkNotDeleted();
         lines.remove(index);
-        updateRendering();
+        renderedHologram.getLines().remove(index);
     }
 
     void delete() {
@@ -101,11 +115,14 @@ public class InternalHologram {
         }
     }
 
-    private void updateRendering() {
-        renderedHologram.setPosition(position);
-        renderedHologram.getLines().clear();
-        for (InternalHologramLine serializedLine : lines) {
-            serializedLine.appendTo(renderedHologram);
+    private void updateRenderedLine(int index, InternalHologramLine previousLine, InternalHologramLine newLine) {
+        if (previousLine.getSerializedString().equals(newLine.getSerializedString())) {
+            return; // Nothing changed, avoid sending packets
+        }
+
+        if (!newLine.updateRendered(renderedHologram.getLines().get(index))) {
+            renderedHologram.getLines().remove(index);
+            newLine.insertTo(renderedHologram, index);
         }
     }
 
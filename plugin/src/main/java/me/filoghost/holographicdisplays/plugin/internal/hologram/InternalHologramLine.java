@@ -6,6 +6,7 @@
 package me.filoghost.holographicdisplays.plugin.internal.hologram;
 
 import me.filoghost.holographicdisplays.api.hologram.Hologram;
+import me.filoghost.holographicdisplays.api.hologram.line.HologramLine;
 
 public abstract class InternalHologramLine {
 
@@ -21,4 +22,11 @@ public abstract class InternalHologramLine {
 
     public abstract void appendTo(Hologram hologram);
 
+    public abstract void insertTo(Hologram hologram, int beforeIndex);
+
+    /**
+     * Updates the rendered line in place, if it has the same type. Returns false if the line must be replaced instead.
+     */
+    public abstract boolean updateRendered(HologramLine renderedLine);
+
 }
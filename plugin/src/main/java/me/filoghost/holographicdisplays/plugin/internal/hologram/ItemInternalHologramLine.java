@@ -6,6 +6,8 @@
 package me.filoghost.holographicdisplays.plugin.internal.hologram;
 
 import me.filoghost.holographicdisplays.api.hologram.Hologram;
+import me.filoghost.holographicdisplays.api.hologram.line.HologramLine;
+import me.filoghost.holographicdisplays.api.hologram.line.ItemHologramLine;
 import org.bukkit.inventory.ItemStack;
 
 public class ItemInternalHologramLine extends InternalHologramLine {
@@ -22,4 +24,19 @@ public class ItemInternalHologramLine extends InternalHologramLine {
         hologram.getLines().appendItem(itemStack);
     }
 
+    @Override
+    public void insertTo(Hologram hologram, int beforeIndex) {
+        hologram.getLines().insertItem(beforeIndex, itemStack);
+    }
+
+    @Override
+    public boolean updateRendered(HologramLine renderedLine) {
+        if (renderedLine instanceof ItemHologramLine) {
+            ((ItemHologramLine) renderedLine).setItemStack(itemStack);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
 }
@@ -6,6 +6,8 @@
 package me.filoghost.holographicdisplays.plugin.internal.hologram;
 
 import me.filoghost.holographicdisplays.api.hologram.Hologram;
+import me.filoghost.holographicdisplays.api.hologram.line.HologramLine;
+import me.filoghost.holographicdisplays.api.hologram.line.TextHologramLine;
 
 public class TextInternalHologramLine extends InternalHologramLine {
 
@@ -21,4 +23,19 @@ public class TextInternalHologramLine extends InternalHologramLine {
         hologram.getLines().appendText(text);
     }
 
+    @Override
+    public void insertTo(Hologram hologram, int beforeIndex) {
+        hologram.getLines().insertText(beforeIndex, text);
+    }
+
+    @Override
+    public boolean updateRendered(HologramLine renderedLine) {
+        if (renderedLine instanceof TextHologramLine) {
+            ((TextHologramLine) renderedLine).setText(text);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
 }
@@ -7,14 +7,22 @@ package me.filoghost.holographicdisplays.plugin.internal.placeholder;
 
 import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholder;
 import me.filoghost.holographicdisplays.api.placeholder.IndividualPlaceholderFactory;
+import me.filoghost.holographicdisplays.core.placeholder.BatchedIndividualPlaceholder;
+import me.filoghost.holographicdisplays.core.placeholder.GroupedIndividualPlaceholder;
+import me.filoghost.holographicdisplays.core.placeholder.IndividualPlaceholderBatcher;
 import me.filoghost.holographicdisplays.plugin.bridge.placeholderapi.PlaceholderAPIHook;
 import me.filoghost.holographicdisplays.plugin.config.Settings;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class PlaceholderAPIPlaceholderFactory implements IndividualPlaceholderFactory {
 
+    private static final IndividualPlaceholderBatcher BATCHER = new PlaceholderAPIPlaceholderBatcher();
+
     @Override
     public @Nullable IndividualPlaceholder getPlaceholder(@Nullable String argument) {
         if (!Settings.placeholderAPIEnabled) {
@@ -25,16 +33,20 @@ public class PlaceholderAPIPlaceholderFactory implements IndividualPlaceholderFa
             return null;
         }
 
-        return new PlaceholderAPIPlaceholder("%" + argument + "%");
+        return new PlaceholderAPIPlaceholder(argument);
     }
 
 
-    private static class PlaceholderAPIPlaceholder implements IndividualPlaceholder {
+    private static class PlaceholderAPIPlaceholder implements BatchedIndividualPlaceholder, GroupedIndividualPlaceholder {
 
         private final String content;
+        private final String expansionIdentifier;
+        private final boolean batchable;
 
-        PlaceholderAPIPlaceholder(String content) {
-            this.content = content;
+        PlaceholderAPIPlaceholder(String argument) {
+            this.content = "%" + argument + "%";
+            this.expansionIdentifier = getExpansionIdentifier(argument);
+            this.batchable = PlaceholderAPIHook.isBatchable(content);
         }
 
         @Override
@@ -42,6 +54,11 @@ public class PlaceholderAPIPlaceholderFactory implements IndividualPlaceholderFa
             return Settings.placeholderAPIDefaultRefreshInternalTicks;
         }
 
+        @Override
+        public int getMaxRefreshIntervalTicks() {
+            return Settings.placeholderAPIMaxRefreshIntervalTicks;
+        }
+
         @Override
         public @Nullable String getReplacement(@NotNull Player player, @Nullable String argument) {
             if (!PlaceholderAPIHook.isEnabled()) {
@@ -51,6 +68,43 @@ public class PlaceholderAPIPlaceholderFactory implements IndividualPlaceholderFa
             return PlaceholderAPIHook.replacePlaceholders(player, content);
         }
 
+        @Override
+        public @Nullable IndividualPlaceholderBatcher getBatcher() {
+            return batchable ? BATCHER : null;
+        }
+
+        @Override
+        public @NotNull String getCircuitBreakerGroup() {
+            // Placeholders of the same PlaceholderAPI expansion usually fail or are slow for the same reasons
+            return expansionIdentifier;
+        }
+
+        private static String getExpansionIdentifier(String argument) {
+            int separatorIndex = argument.indexOf('_');
+            return separatorIndex >= 0 ? argument.substring(0, separatorIndex) : argument;
+        }
+
+    }
+
+
+    /*
+     * Replaces the PlaceholderAPI placeholders of a player due in the same tick with a single call.
+     */
+    private static class PlaceholderAPIPlaceholderBatcher implements IndividualPlaceholderBatcher {
+
+        @Override
+        public @Nullable List<String> getReplacements(@NotNull Player player, @NotNull List<BatchedIndividualPlaceholder> placeholders) {
+            if (!PlaceholderAPIHook.isEnabled()) {
+                return null;
+            }
+
+            List<String> contents = new ArrayList<>(placeholders.size());
+            for (BatchedIndividualPlaceholder placeholder : placeholders) {
+                contents.add(((PlaceholderAPIPlaceholder) placeholder).content);
+            }
+            return PlaceholderAPIHook.replacePlaceholders(player, contents);
+        }
+
     }
 
 }
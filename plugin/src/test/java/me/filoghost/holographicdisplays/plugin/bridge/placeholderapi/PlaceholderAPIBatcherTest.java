@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.plugin.bridge.placeholderapi;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PlaceholderAPIBatcherTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    void replacedWithSingleCall() {
+        PlaceholderAPIBatcher batcher = newBatcher(mapOf("%a%", "1", "%b%", "2", "%c%", ""));
+
+        List<String> replacements = batcher.replacePlaceholders(mock(Player.class), Arrays.asList("%a%", "%b%", "%c%"));
+
+        assertThat(replacements).containsExactly("1", "2", "");
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    void replacementsContainingMarkerCharacters() {
+        PlaceholderAPIBatcher batcher = newBatcher(mapOf("%a%", "x\0" + "1", "%b%", "\0\1\0", "%c%", "2\0"));
+
+        List<String> replacements = batcher.replacePlaceholders(mock(Player.class), Arrays.asList("%a%", "%b%", "%c%"));
+
+        assertThat(replacements).containsExactly("x\0" + "1", "\0\1\0", "2\0");
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    void batchable() {
+        assertThat(PlaceholderAPIBatcher.isBatchable("%player_name%")).isTrue();
+        assertThat(PlaceholderAPIBatcher.isBatchable("%player_name% %player_health%")).isFalse();
+        assertThat(PlaceholderAPIBatcher.isBatchable("%100%%")).isFalse();
+        assertThat(PlaceholderAPIBatcher.isBatchable("%a\0b%")).isFalse();
+        assertThat(PlaceholderAPIBatcher.isBatchable("%%")).isFalse();
+    }
+
+    private PlaceholderAPIBatcher newBatcher(Map<String, String> replacements) {
+        BiFunction<Player, String, String> replaceFunction = (player, text) -> {
+            calls.add(text);
+            for (Entry<String, String> entry : replacements.entrySet()) {
+                text = text.replace(entry.getKey(), entry.getValue());
+            }
+            return text;
+        };
+        return new PlaceholderAPIBatcher(replaceFunction);
+    }
+
+    private static Map<String, String> mapOf(String... keysAndValues) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+}
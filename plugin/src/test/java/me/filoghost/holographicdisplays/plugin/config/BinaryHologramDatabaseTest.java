@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.plugin.config;
+
+import me.filoghost.holographicdisplays.api.Position;
+import me.filoghost.holographicdisplays.plugin.log.PrintableErrorCollector;
+import me.filoghost.holographicdisplays.plugin.test.Mocks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BinaryHologramDatabaseTest {
+
+    @TempDir
+    Path tempFolder;
+
+    private Path databaseFile;
+    private PrintableErrorCollector errorCollector;
+
+    @BeforeEach
+    void beforeEach() {
+        Mocks.prepareEnvironment();
+        databaseFile = tempFolder.resolve("database.dat");
+        errorCollector = new PrintableErrorCollector();
+    }
+
+    @Test
+    void roundTrip() throws Exception {
+        Files.write(databaseFile, BinaryHologramDatabase.write(Arrays.asList(
+                new InternalHologramConfig("first", Arrays.asList("Text line", "ICON: stone", "àèìòù"), Position.of("world", 1.5, 64, -20)),
+                new InternalHologramConfig("second", Collections.singletonList(""), Position.of("world_nether", 0, 0, 0))
+        )));
+
+        List<InternalHologramConfig> hologramConfigs = BinaryHologramDatabase.read(databaseFile, errorCollector);
+
+        assertThat(errorCollector.hasErrors()).isFalse();
+        assertThat(hologramConfigs).hasSize(2);
+        assertThat(hologramConfigs.get(0).getName()).isEqualTo("first");
+        assertThat(hologramConfigs.get(0).getSerializedLines()).containsExactly("Text line", "ICON: stone", "àèìòù");
+        assertThat(hologramConfigs.get(0).deserializePosition()).isEqualTo(Position.of("world", 1.5, 64, -20));
+        assertThat(hologramConfigs.get(1).getName()).isEqualTo("second");
+        assertThat(hologramConfigs.get(1).getSerializedLines()).containsExactly("");
+        assertThat(hologramConfigs.get(1).deserializePosition()).isEqualTo(Position.of("world_nether", 0, 0, 0));
+    }
+
+    @Test
+    void emptyDatabase() throws Exception {
+        Files.write(databaseFile, BinaryHologramDatabase.write(Collections.emptyList()));
+
+        assertThat(BinaryHologramDatabase.read(databaseFile, errorCollector)).isEmpty();
+    }
+
+    @Test
+    void truncatedFile() throws Exception {
+        byte[] bytes = BinaryHologramDatabase.write(Collections.singletonList(newHologramConfig("hologram")));
+        Files.write(databaseFile, Arrays.copyOf(bytes, bytes.length - 5));
+
+        assertThatThrownBy(() -> BinaryHologramDatabase.read(databaseFile, errorCollector))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("truncated");
+    }
+
+    @Test
+    void wrongMagicNumber() throws Exception {
+        byte[] bytes = BinaryHologramDatabase.write(Collections.singletonList(newHologramConfig("hologram")));
+        bytes[0] = 'X';
+        Files.write(databaseFile, bytes);
+
+        assertThatThrownBy(() -> BinaryHologramDatabase.read(databaseFile, errorCollector))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("not a holograms database");
+    }
+
+    @Test
+    void corruptedRecordSkipped() throws Exception {
+        byte[] bytes = BinaryHologramDatabase.write(Arrays.asList(newHologramConfig("first"), newHologramConfig("second")));
+        // Header (magic number, version and count) and record length, then the length of the first name
+        ByteBuffer.wrap(bytes).putInt(16, Integer.MAX_VALUE);
+        Files.write(databaseFile, bytes);
+
+        List<InternalHologramConfig> hologramConfigs = BinaryHologramDatabase.read(databaseFile, errorCollector);
+
+        assertThat(hologramConfigs).extracting(InternalHologramConfig::getName).containsExactly("second");
+        assertThat(errorCollector.getErrorsCount()).isEqualTo(1);
+    }
+
+    private InternalHologramConfig newHologramConfig(String name) {
+        return new InternalHologramConfig(name, Collections.singletonList("Text line"), Position.of("world", 0, 0, 0));
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.plugin.config;
+
+import me.filoghost.holographicdisplays.api.Position;
+import me.filoghost.holographicdisplays.plugin.internal.hologram.InternalHologram;
+import me.filoghost.holographicdisplays.plugin.internal.hologram.InternalHologramManager;
+import me.filoghost.holographicdisplays.plugin.test.Mocks;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HologramDatabaseWriterTest {
+
+    private List<Runnable> scheduledTasks;
+    private List<InternalHologram> holograms;
+    private ConfigManager configManager;
+    private HologramDatabaseWriter hologramDatabaseWriter;
+
+    @BeforeEach
+    void beforeEach() {
+        Mocks.prepareEnvironment();
+        scheduledTasks = new ArrayList<>();
+        BukkitScheduler scheduler = mock(BukkitScheduler.class);
+        when(scheduler.runTask(any(Plugin.class), any(Runnable.class))).thenAnswer(invocation -> {
+            scheduledTasks.add(invocation.getArgument(1));
+            return mock(BukkitTask.class);
+        });
+        when(Mocks.SERVER.getScheduler()).thenReturn(scheduler);
+
+        holograms = new ArrayList<>();
+        InternalHologramManager internalHologramManager = mock(InternalHologramManager.class);
+        when(internalHologramManager.getHolograms()).thenReturn(holograms);
+        configManager = mock(ConfigManager.class);
+        hologramDatabaseWriter = new HologramDatabaseWriter(Mocks.PLUGIN, configManager, internalHologramManager);
+    }
+
+    @AfterEach
+    void afterEach() {
+        hologramDatabaseWriter.shutdown();
+    }
+
+    @Test
+    void changesInSameTickCoalesced() {
+        InternalHologram hologram1 = addHologram("hologram1");
+        InternalHologram hologram2 = addHologram("hologram2");
+
+        hologramDatabaseWriter.markChanged(hologram1);
+        hologramDatabaseWriter.markChanged(hologram2);
+        hologramDatabaseWriter.markChanged(hologram1);
+        assertThat(scheduledTasks).hasSize(1);
+
+        runScheduledTasks();
+        hologramDatabaseWriter.flush();
+
+        assertThat(getSavedDatabases()).singleElement().satisfies(hologramConfigs -> assertThat(hologramConfigs)
+                .extracting(InternalHologramConfig::getName)
+                .containsExactly("hologram1", "hologram2"));
+    }
+
+    @Test
+    void onlyChangedHologramsSerializedAgain() {
+        InternalHologram hologram1 = addHologram("hologram1");
+        InternalHologram hologram2 = addHologram("hologram2");
+        hologramDatabaseWriter.markChanged(hologram1);
+        runScheduledTasks();
+        hologramDatabaseWriter.flush();
+
+        hologramDatabaseWriter.markChanged(hologram2);
+        runScheduledTasks();
+        hologramDatabaseWriter.flush();
+
+        List<List<InternalHologramConfig>> savedDatabases = getSavedDatabases();
+        assertThat(savedDatabases).hasSize(2);
+        assertThat(savedDatabases.get(1).get(0)).isSameAs(savedDatabases.get(0).get(0));
+        assertThat(savedDatabases.get(1).get(1)).isNotSameAs(savedDatabases.get(0).get(1));
+    }
+
+    @Test
+    void flushOnReloadWritesScheduledChanges() {
+        InternalHologram hologram = addHologram("hologram");
+        hologramDatabaseWriter.markChanged(hologram);
+
+        // The scheduled task did not run yet
+        hologramDatabaseWriter.flush();
+        assertThat(getSavedDatabases()).hasSize(1);
+
+        // The changes were already saved by the flush
+        runScheduledTasks();
+        hologramDatabaseWriter.flush();
+        assertThat(getSavedDatabases()).hasSize(1);
+    }
+
+    @Test
+    void shutdownOnDisableWritesScheduledChanges() {
+        InternalHologram hologram = addHologram("hologram");
+        hologramDatabaseWriter.markChanged(hologram);
+
+        hologramDatabaseWriter.shutdown();
+
+        assertThat(getSavedDatabases()).singleElement().satisfies(hologramConfigs -> assertThat(hologramConfigs)
+                .extracting(InternalHologramConfig::getName)
+                .containsExactly("hologram"));
+    }
+
+    private InternalHologram addHologram(String name) {
+        InternalHologram hologram = mock(InternalHologram.class);
+        when(hologram.getName()).thenReturn(name);
+        when(hologram.getLines()).thenReturn(Collections.emptyList());
+        Position position = mock(Position.class);
+        when(position.getWorldName()).thenReturn("world");
+        when(hologram.getPosition()).thenReturn(position);
+        holograms.add(hologram);
+        return hologram;
+    }
+
+    private void runScheduledTasks() {
+        List<Runnable> tasks = new ArrayList<>(scheduledTasks);
+        scheduledTasks.clear();
+        for (Runnable task : tasks) {
+            task.run();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<InternalHologramConfig>> getSavedDatabases() {
+        ArgumentCaptor<List<InternalHologramConfig>> captor = ArgumentCaptor.forClass(List.class);
+        verify(configManager, atLeast(0)).saveHologramDatabase(captor.capture());
+        return captor.getAllValues();
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.holographicdisplays.plugin.config;
+
+import me.filoghost.holographicdisplays.api.Position;
+import me.filoghost.holographicdisplays.plugin.config.InternalHologramParser.ParsedInternalHologram;
+import me.filoghost.holographicdisplays.plugin.internal.hologram.ItemInternalHologramLine;
+import me.filoghost.holographicdisplays.plugin.internal.hologram.TextInternalHologramLine;
+import me.filoghost.holographicdisplays.plugin.test.Mocks;
+import org.bukkit.UnsafeValues;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InternalHologramParserTest {
+
+    private Set<Thread> itemModifyingThreads;
+
+    @BeforeEach
+    void beforeEach() {
+        Mocks.prepareEnvironment();
+        itemModifyingThreads = ConcurrentHashMap.newKeySet();
+        UnsafeValues unsafeValues = mock(UnsafeValues.class);
+        when(unsafeValues.modifyItemStack(any(ItemStack.class), anyString())).thenAnswer(invocation -> {
+            itemModifyingThreads.add(Thread.currentThread());
+            return invocation.getArgument(0);
+        });
+        when(Mocks.SERVER.getUnsafe()).thenReturn(unsafeValues);
+    }
+
+    @Test
+    void itemsCreatedOnCallingThread() {
+        // Enough holograms to be parsed in parallel
+        List<InternalHologramConfig> hologramConfigs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            hologramConfigs.add(newHologramConfig("hologram" + i, "Text " + i, "ICON: stone {display:{Name:\"Icon " + i + "\"}}"));
+        }
+
+        List<ParsedInternalHologram> parsedHolograms = InternalHologramParser.parseAll(hologramConfigs);
+
+        assertThat(itemModifyingThreads).containsExactly(Thread.currentThread());
+        assertThat(parsedHolograms).hasSize(1000);
+        for (int i = 0; i < 1000; i++) {
+            ParsedInternalHologram parsedHologram = parsedHolograms.get(i);
+            assertThat(parsedHologram.getLoadException()).isNull();
+            assertThat(parsedHologram.getName()).isEqualTo("hologram" + i);
+            assertThat(parsedHologram.getLines()).hasSize(2);
+            assertThat(parsedHologram.getLines().get(0)).isInstanceOf(TextInternalHologramLine.class);
+            assertThat(parsedHologram.getLines().get(1)).isInstanceOf(ItemInternalHologramLine.class);
+        }
+    }
+
+    @Test
+    void invalidLinesReported() {
+        List<ParsedInternalHologram> parsedHolograms = InternalHologramParser.parseAll(Arrays.asList(
+                newHologramConfig("invalidNBT", "ICON: stone {display:{Name:}"),
+                newHologramConfig("invalidMaterial", "ICON: not_a_material"),
+                newHologramConfig("valid", "Text")
+        ));
+
+        assertThat(parsedHolograms).extracting(ParsedInternalHologram::getName).containsExactly("invalidNBT", "invalidMaterial", "valid");
+        assertThat(parsedHolograms.get(0).getLoadException()).hasMessageContaining("invalid NBT data");
+        assertThat(parsedHolograms.get(1).getLoadException()).hasMessageContaining("is not a valid material");
+        assertThat(parsedHolograms.get(2).getLoadException()).isNull();
+        assertThat(itemModifyingThreads).isEmpty();
+    }
+
+    private InternalHologramConfig newHologramConfig(String name, String... serializedLines) {
+        return new InternalHologramConfig(name, Arrays.asList(serializedLines), Position.of("world", 0, 0, 0));
+    }
+
+}